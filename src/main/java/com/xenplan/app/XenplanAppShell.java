@@ -2,6 +2,7 @@ package com.xenplan.app;
 
 import com.vaadin.flow.component.dependency.StyleSheet;
 import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
 import com.vaadin.flow.theme.Theme;
 import com.vaadin.flow.theme.lumo.Lumo;
 
@@ -9,5 +10,7 @@ import com.vaadin.flow.theme.lumo.Lumo;
 @Theme(variant = Lumo.DARK)
 
 @StyleSheet("css/styles.css")
+// Seat availability is pushed to open event pages
+@Push
 public class XenplanAppShell implements AppShellConfigurator {
 }
\ No newline at end of file
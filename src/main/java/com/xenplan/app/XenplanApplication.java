@@ -2,9 +2,11 @@ package com.xenplan.app;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 //import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
 
 @SpringBootApplication
+@EnableScheduling
 public class XenplanApplication {
 
     public static void main(String[] args) {
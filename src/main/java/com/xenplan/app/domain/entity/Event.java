@@ -2,10 +2,10 @@ package com.xenplan.app.domain.entity;
 
 import com.xenplan.app.domain.enums.EventCategory;
 import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -18,7 +18,10 @@ import java.math.BigDecimal;
         @Index(name = "idx_events_category", columnList = "category"),
         @Index(name = "idx_events_status", columnList = "status"),
         @Index(name = "idx_events_city", columnList = "city"),
-        @Index(name = "idx_events_start_date", columnList = "start_date")
+        @Index(name = "idx_events_start_date", columnList = "start_date"),
+        @Index(name = "idx_events_status_category_start", columnList = "status, category, start_date"),
+        @Index(name = "idx_events_status_city_start", columnList = "status, city, start_date"),
+        @Index(name = "idx_events_status_end_date", columnList = "status, end_date")
     }
 )
 @Getter @Setter
@@ -27,8 +30,7 @@ import java.math.BigDecimal;
 public class Event {
 
     @Id
-    @GeneratedValue
-    @UuidGenerator
+    @TimeOrderedUuid
     @Column(length = 36, nullable = false, updatable = false)
     private UUID id;
 
@@ -69,6 +71,10 @@ public class Event {
     @Column(name = "max_capacity", nullable = false)
     private Integer maxCapacity;
 
+    // Maintained only through conditional UPDATEs in EventRepository, never by entity flushes
+    @Column(name = "reserved_seats", nullable = false, updatable = false)
+    private Integer reservedSeats;
+
     @NotNull(message = "Unit price is required")
     @DecimalMin(value = "0.0", inclusive = true, message = "Unit price must be greater than or equal to 0")
     @Digits(integer = 8, fraction = 2, message = "Unit price must have at most 8 integer digits and 2 decimal places")
@@ -96,11 +102,19 @@ public class Event {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock for edits and status changes; the seat counter UPDATEs leave it alone
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     void onCreate() {
         this.createdAt = LocalDateTime.now();
         if (this.status == null) {
             this.status = EventStatus.DRAFT;
         }
+        if (this.reservedSeats == null) {
+            this.reservedSeats = 0;
+        }
     }
 }
@@ -0,0 +1,41 @@
+package com.xenplan.app.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of cancelling a cancelled event's reservations. Reservations are cancelled in ID order,
+ * a chunk per transaction; the last cancelled ID is the point the job resumes from after a restart.
+ */
+@Entity
+@Table(name = "event_cancellation_jobs")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class EventCancellationJob {
+
+    @Id
+    @Column(name = "event_id", length = 36, nullable = false, updatable = false)
+    private UUID eventId;
+
+    @Column(name = "last_reservation_id", length = 36)
+    private UUID lastReservationId;
+
+    @Builder.Default
+    @Column(name = "cancelled_reservations", nullable = false)
+    private Long cancelledReservations = 0L;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
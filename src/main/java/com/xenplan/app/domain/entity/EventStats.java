@@ -0,0 +1,39 @@
+package com.xenplan.app.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Seats sold and confirmed revenue of one event, kept up to date with every reservation change, so an
+ * organizer's best selling events are read from an index instead of grouping their whole history
+ */
+@Entity
+@Table(
+    name = "event_stats",
+    indexes = {
+        @Index(name = "idx_event_stats_organizer_sales", columnList = "organizer_id, revenue, seats_sold, event_id")
+    }
+)
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class EventStats {
+
+    @Id
+    @Column(name = "event_id", length = 36, nullable = false, updatable = false)
+    private UUID eventId;
+
+    @Column(name = "organizer_id", length = 36, nullable = false, updatable = false)
+    private UUID organizerId;
+
+    @Builder.Default
+    @Column(name = "seats_sold", nullable = false)
+    private Long seatsSold = 0L;
+
+    @Builder.Default
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal revenue = BigDecimal.ZERO;
+}
@@ -0,0 +1,59 @@
+package com.xenplan.app.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Counters of one organizer's events and of the reservations made for them, kept up to date with
+ * every state change
+ */
+@Entity
+@Table(name = "organizer_stats")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class OrganizerStats {
+
+    @Id
+    @Column(name = "organizer_id", length = 36, nullable = false, updatable = false)
+    private UUID organizerId;
+
+    @Builder.Default
+    @Column(name = "draft_events", nullable = false)
+    private Long draftEvents = 0L;
+
+    @Builder.Default
+    @Column(name = "published_events", nullable = false)
+    private Long publishedEvents = 0L;
+
+    @Builder.Default
+    @Column(name = "cancelled_events", nullable = false)
+    private Long cancelledEvents = 0L;
+
+    @Builder.Default
+    @Column(name = "finished_events", nullable = false)
+    private Long finishedEvents = 0L;
+
+    @Builder.Default
+    @Column(name = "pending_reservations", nullable = false)
+    private Long pendingReservations = 0L;
+
+    @Builder.Default
+    @Column(name = "confirmed_reservations", nullable = false)
+    private Long confirmedReservations = 0L;
+
+    @Builder.Default
+    @Column(name = "cancelled_reservations", nullable = false)
+    private Long cancelledReservations = 0L;
+
+    @Builder.Default
+    @Column(name = "reserved_seats", nullable = false)
+    private Long reservedSeats = 0L;
+
+    @Builder.Default
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal revenue = BigDecimal.ZERO;
+}
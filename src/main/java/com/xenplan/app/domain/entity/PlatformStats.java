@@ -0,0 +1,74 @@
+package com.xenplan.app.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * One shard of the platform-wide counters. State changes add their delta to a random shard, so
+ * concurrent transactions rarely wait on the same row; the platform totals are the sum of all shards.
+ */
+@Entity
+@Table(name = "platform_stats")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class PlatformStats {
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private Integer shard;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long admins = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long organizers = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long clients = 0L;
+
+    @Builder.Default
+    @Column(name = "active_users", nullable = false)
+    private Long activeUsers = 0L;
+
+    @Builder.Default
+    @Column(name = "draft_events", nullable = false)
+    private Long draftEvents = 0L;
+
+    @Builder.Default
+    @Column(name = "published_events", nullable = false)
+    private Long publishedEvents = 0L;
+
+    @Builder.Default
+    @Column(name = "cancelled_events", nullable = false)
+    private Long cancelledEvents = 0L;
+
+    @Builder.Default
+    @Column(name = "finished_events", nullable = false)
+    private Long finishedEvents = 0L;
+
+    @Builder.Default
+    @Column(name = "pending_reservations", nullable = false)
+    private Long pendingReservations = 0L;
+
+    @Builder.Default
+    @Column(name = "confirmed_reservations", nullable = false)
+    private Long confirmedReservations = 0L;
+
+    @Builder.Default
+    @Column(name = "cancelled_reservations", nullable = false)
+    private Long cancelledReservations = 0L;
+
+    @Builder.Default
+    @Column(name = "reserved_seats", nullable = false)
+    private Long reservedSeats = 0L;
+
+    @Builder.Default
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal revenue = BigDecimal.ZERO;
+}
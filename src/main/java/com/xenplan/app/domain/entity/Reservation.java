@@ -1,10 +1,10 @@
 package com.xenplan.app.domain.entity;
 
 import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.domain.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -13,9 +13,15 @@ import java.math.BigDecimal;
 @Entity
 @Table(
     name = "reservations",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_reservations_idempotency_key", columnNames = {"idempotency_key"})
+    },
     indexes = {
         @Index(name = "idx_reservations_code", columnList = "reservation_code"),
-        @Index(name = "idx_reservations_status", columnList = "status")
+        @Index(name = "idx_reservations_status", columnList = "status"),
+        @Index(name = "idx_reservations_event_position", columnList = "event_id, id"),
+        @Index(name = "idx_reservations_user_status", columnList = "user_id, status, total_amount"),
+        @Index(name = "idx_reservations_event_checked_in", columnList = "event_id, checked_in_at")
     }
 )
 @Getter @Setter
@@ -24,8 +30,7 @@ import java.math.BigDecimal;
 public class Reservation {
 
     @Id
-    @GeneratedValue
-    @UuidGenerator
+    @TimeOrderedUuid
     @Column(length = 36, nullable = false, updatable = false)
     private UUID id;
 
@@ -69,6 +74,20 @@ public class Reservation {
     @Column(length = 500)
     private String comment;
 
+    // Client-supplied key of the request that created this reservation, replays return this row
+    @Size(max = 64, message = "Idempotency key must not exceed 64 characters")
+    @Column(name = "idempotency_key", length = 64, updatable = false)
+    private String idempotencyKey;
+
+    // Set when the ticket is scanned at the door, written in batches by the check-in writer
+    @Column(name = "checked_in_at")
+    private LocalDateTime checkedInAt;
+
+    // Optimistic lock for status changes (confirm, cancel)
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     void onCreate() {
         this.reservationDate = LocalDateTime.now();
@@ -0,0 +1,22 @@
+package com.xenplan.app.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Next free block of the reservation code sequence. A single row, incremented once per block
+ * handed out to an application node.
+ */
+@Entity
+@Table(name = "reservation_code_counter")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class ReservationCodeCounter {
+
+    @Id
+    @Column(length = 30, nullable = false, updatable = false)
+    private String name;
+
+    @Column(name = "next_block", nullable = false)
+    private Long nextBlock;
+}
@@ -0,0 +1,27 @@
+package com.xenplan.app.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on a scheduled task shared by all application nodes. Only the node holding an unexpired
+ * lease runs the task; it renews the lease on every run and another node takes over once it lapses.
+ */
+@Entity
+@Table(name = "scheduler_leases")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 64, nullable = false, updatable = false)
+    private String name;
+
+    @Column(length = 100, nullable = false)
+    private String owner;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+}
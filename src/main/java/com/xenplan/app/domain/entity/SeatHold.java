@@ -0,0 +1,59 @@
+package com.xenplan.app.domain.entity;
+
+import com.xenplan.app.domain.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Short-lived lease on seats of an event during checkout. Held seats are included in the event's
+ * reserved seat counter until the hold is confirmed into a reservation, released or expires.
+ */
+@Entity
+@Table(
+    name = "seat_holds",
+    indexes = {
+        @Index(name = "idx_seat_holds_expires_at", columnList = "expires_at")
+    }
+)
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class SeatHold {
+
+    @Id
+    @TimeOrderedUuid
+    @Column(length = 36, nullable = false, updatable = false)
+    private UUID id;
+
+    @NotNull(message = "User is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @NotNull(message = "Event is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @NotNull(message = "Number of seats is required")
+    @Min(value = 1, message = "Number of seats must be at least 1")
+    @Max(value = 10, message = "Number of seats must not exceed 10")
+    @Column(name = "number_of_seats", nullable = false)
+    private Integer numberOfSeats;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @NotNull(message = "Expiry is required")
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -1,13 +1,13 @@
 package com.xenplan.app.domain.entity;
 
 import com.xenplan.app.domain.enums.Role;
+import com.xenplan.app.domain.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -27,8 +27,7 @@ import java.util.UUID;
 public class User {
 
     @Id
-    @GeneratedValue
-    @UuidGenerator
+    @TimeOrderedUuid
     @Column(length = 36, nullable = false, updatable = false)
     private UUID id;
 
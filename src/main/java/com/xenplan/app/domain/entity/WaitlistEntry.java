@@ -0,0 +1,61 @@
+package com.xenplan.app.domain.entity;
+
+import com.xenplan.app.domain.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * A user waiting for seats of a sold-out event. Entries are served first come first served by their
+ * creation time (ties broken by ID), so the head of an event's waitlist is read straight from the
+ * (event_id, created_at, id) index.
+ */
+@Entity
+@Table(
+    name = "waitlist_entries",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_waitlist_entries_event_user", columnNames = {"event_id", "user_id"})
+    },
+    indexes = {
+        @Index(name = "idx_waitlist_entries_event_created", columnList = "event_id, created_at, id")
+    }
+)
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class WaitlistEntry {
+
+    @Id
+    @TimeOrderedUuid
+    @Column(length = 36, nullable = false, updatable = false)
+    private UUID id;
+
+    @NotNull(message = "User is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @NotNull(message = "Event is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @NotNull(message = "Number of seats is required")
+    @Min(value = 1, message = "Number of seats must be at least 1")
+    @Max(value = 10, message = "Number of seats must not exceed 10")
+    @Column(name = "number_of_seats", nullable = false)
+    private Integer numberOfSeats;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void onCreate() {
+        // Microseconds, the precision the column keeps, so the position query compares stored values
+        this.createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,46 @@
+package com.xenplan.app.domain.event;
+
+import com.xenplan.app.domain.enums.EventStatus;
+
+import java.util.UUID;
+
+/**
+ * Application event published by EventService whenever an event is created, updated,
+ * deleted or changes status.
+ *
+ * @param eventId       the changed event, or null when several events changed at once
+ * @param status        the status after the change, or null when the event was deleted or the change
+ *                      happened on another node
+ * @param statusChanged whether the change moved the event into {@code status}, rather than editing it
+ */
+public record EventChangedEvent(UUID eventId, EventStatus status, boolean statusChanged) {
+
+    public EventChangedEvent(UUID eventId, EventStatus status) {
+        this(eventId, status, false);
+    }
+
+    /**
+     * The event was moved into a new status (published, cancelled)
+     */
+    public static EventChangedEvent statusChange(UUID eventId, EventStatus status) {
+        return new EventChangedEvent(eventId, status, true);
+    }
+
+    /**
+     * Several events changed in a single bulk operation
+     */
+    public static EventChangedEvent bulk(EventStatus status) {
+        return new EventChangedEvent(null, status, true);
+    }
+
+    /**
+     * Events were changed on another node of the cluster; which ones is not known
+     */
+    public static EventChangedEvent remote() {
+        return new EventChangedEvent(null, null, false);
+    }
+
+    public boolean isBulk() {
+        return eventId == null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.xenplan.app.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Application event published whenever seats are taken from or given back to an event's counter.
+ *
+ * @param eventId   the event whose availability changed
+ * @param seatDelta seats taken (positive) or given back (negative)
+ */
+public record SeatAvailabilityChangedEvent(UUID eventId, int seatDelta) {
+}
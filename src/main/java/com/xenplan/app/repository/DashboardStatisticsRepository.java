@@ -0,0 +1,55 @@
+package com.xenplan.app.repository;
+
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.repository.projection.EventSalesTotal;
+import com.xenplan.app.repository.projection.OrganizerStatisticRow;
+import com.xenplan.app.repository.projection.PlatformStatisticRow;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Aggregate queries spanning users, events and reservations
+ */
+public interface DashboardStatisticsRepository extends Repository<User, UUID> {
+
+    /**
+     * Users per role, events per status and reservations per status, grouped in the database
+     * and returned in a single round trip
+     */
+    @Query("SELECT 'USER' AS section, CAST(u.role AS String) AS groupKey, COUNT(u) AS itemCount, " +
+           "SUM(CASE WHEN u.active = true THEN 1L ELSE 0L END) AS detailCount, " +
+           "CAST(0 AS BigDecimal) AS amount FROM User u GROUP BY u.role " +
+           "UNION ALL " +
+           "SELECT 'EVENT', CAST(e.status AS String), COUNT(e), 0L, CAST(0 AS BigDecimal) " +
+           "FROM Event e GROUP BY e.status " +
+           "UNION ALL " +
+           "SELECT 'RESERVATION', CAST(r.status AS String), COUNT(r), SUM(CAST(r.numberOfSeats AS Long)), " +
+           "SUM(r.totalAmount) FROM Reservation r GROUP BY r.status")
+    List<PlatformStatisticRow> countPlatformStatistics();
+
+    /**
+     * Events per organizer and status, and reservations per organizer of their event and status
+     */
+    @Query("SELECT e.organizer.id AS organizerId, 'EVENT' AS section, CAST(e.status AS String) AS groupKey, " +
+           "COUNT(e) AS itemCount, 0L AS detailCount, CAST(0 AS BigDecimal) AS amount " +
+           "FROM Event e GROUP BY e.organizer.id, e.status " +
+           "UNION ALL " +
+           "SELECT r.event.organizer.id, 'RESERVATION', CAST(r.status AS String), COUNT(r), " +
+           "SUM(CAST(r.numberOfSeats AS Long)), SUM(r.totalAmount) " +
+           "FROM Reservation r GROUP BY r.event.organizer.id, r.status")
+    List<OrganizerStatisticRow> countOrganizerStatistics();
+
+    /**
+     * Seats of the PENDING and CONFIRMED reservations and confirmed revenue of every event
+     */
+    @Query("SELECT e.id AS eventId, e.organizer.id AS organizerId, " +
+           "COALESCE(SUM(CAST(r.numberOfSeats AS Long)), 0L) AS seatsSold, " +
+           "COALESCE(SUM(CASE WHEN r.status = com.xenplan.app.domain.enums.ReservationStatus.CONFIRMED " +
+           "THEN r.totalAmount ELSE 0 END), 0) AS revenue FROM Event e LEFT JOIN Reservation r " +
+           "ON r.event = e AND r.status <> com.xenplan.app.domain.enums.ReservationStatus.CANCELLED " +
+           "GROUP BY e.id, e.organizer.id")
+    List<EventSalesTotal> countEventSales();
+}
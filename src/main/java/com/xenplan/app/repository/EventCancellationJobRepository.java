@@ -0,0 +1,36 @@
+package com.xenplan.app.repository;
+
+import com.xenplan.app.domain.entity.EventCancellationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface EventCancellationJobRepository extends JpaRepository<EventCancellationJob, UUID> {
+
+    /**
+     * Jobs that still have reservations to cancel
+     */
+    List<EventCancellationJob> findByCompletedAtIsNull();
+
+    /**
+     * Record a cancelled chunk: the job resumes after its last reservation
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EventCancellationJob j SET j.lastReservationId = :lastReservationId, " +
+           "j.cancelledReservations = j.cancelledReservations + :cancelled WHERE j.eventId = :eventId")
+    int advance(@Param("eventId") UUID eventId,
+                @Param("lastReservationId") UUID lastReservationId,
+                @Param("cancelled") long cancelled);
+
+    /**
+     * Mark a job as done
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EventCancellationJob j SET j.completedAt = :completedAt WHERE j.eventId = :eventId")
+    int complete(@Param("eventId") UUID eventId, @Param("completedAt") LocalDateTime completedAt);
+}
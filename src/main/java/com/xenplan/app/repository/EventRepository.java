@@ -4,14 +4,24 @@ import com.xenplan.app.domain.entity.Event;
 import com.xenplan.app.domain.entity.User;
 import com.xenplan.app.domain.enums.EventCategory;
 import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.repository.projection.CategoryEventCount;
+import com.xenplan.app.repository.projection.CityEventCount;
+import com.xenplan.app.repository.projection.EventSeatAvailability;
+import com.xenplan.app.repository.projection.EventWatermark;
+import com.xenplan.app.repository.projection.OrganizerEventCount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface EventRepository extends JpaRepository<Event, UUID> {
+public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecificationExecutor<Event> {
     
     /**
      * Find all published events, ordered by start date ascending
@@ -41,9 +51,27 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
     List<Event> findByOrganizerIdOrderByCreatedAtDesc(UUID organizerId);
     
     /**
-     * Find events by status and end date before (for auto-marking FINISHED)
+     * Count events of a status that ended before the given time, per organizer
      */
-    List<Event> findByStatusInAndEndDateBefore(List<EventStatus> statuses, LocalDateTime endDate);
+    @Query("SELECT e.organizer.id AS organizerId, COUNT(e) AS eventCount FROM Event e " +
+           "WHERE e.status = :status AND e.endDate < :now GROUP BY e.organizer.id")
+    List<OrganizerEventCount> countEndedByOrganizer(@Param("status") EventStatus status,
+                                                    @Param("now") LocalDateTime now);
+
+    /**
+     * Find the organizer of an event without loading it
+     */
+    @Query("SELECT e.organizer.id FROM Event e WHERE e.id = :eventId")
+    Optional<UUID> findOrganizerIdById(@Param("eventId") UUID eventId);
+
+    /**
+     * Mark every event in one of the statuses that ended before the given time as FINISHED, in one statement;
+     * returns how many changed. The version is bumped so concurrent entity updates fail their optimistic check.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.status = com.xenplan.app.domain.enums.EventStatus.FINISHED, " +
+           "e.updatedAt = :now, e.version = e.version + 1 WHERE e.status IN :statuses AND e.endDate < :now")
+    int markFinished(@Param("statuses") Collection<EventStatus> statuses, @Param("now") LocalDateTime now);
     
     /**
      * Find all events with organizer eagerly loaded (for admin view)
@@ -55,5 +83,69 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
      * Find event by ID with organizer eagerly loaded (for event details view)
      */
     @Query("SELECT e FROM Event e LEFT JOIN FETCH e.organizer WHERE e.id = :eventId")
-    java.util.Optional<Event> findByIdWithOrganizer(UUID eventId);
+    Optional<Event> findByIdWithOrganizer(UUID eventId);
+    
+    /**
+     * Atomically reserve seats on a PUBLISHED event if capacity allows.
+     * Returns the number of updated rows (0 when the event is full or not PUBLISHED)
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.reservedSeats = e.reservedSeats + :seats " +
+           "WHERE e.id = :eventId AND e.status = com.xenplan.app.domain.enums.EventStatus.PUBLISHED " +
+           "AND e.reservedSeats + :seats <= e.maxCapacity")
+    int reserveSeats(@Param("eventId") UUID eventId, @Param("seats") int seats);
+    
+    /**
+     * Atomically give seats back to an event (e.g. when a reservation is cancelled)
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.reservedSeats = e.reservedSeats - :seats " +
+           "WHERE e.id = :eventId AND e.reservedSeats >= :seats")
+    int releaseSeats(@Param("eventId") UUID eventId, @Param("seats") int seats);
+    
+    /**
+     * Read the status of an event without loading it
+     */
+    @Query("SELECT e.status FROM Event e WHERE e.id = :eventId")
+    Optional<EventStatus> findStatusById(@Param("eventId") UUID eventId);
+    
+    /**
+     * Read the maintained seat counter of an event
+     */
+    @Query("SELECT e.reservedSeats FROM Event e WHERE e.id = :eventId")
+    Optional<Integer> findReservedSeatsById(@Param("eventId") UUID eventId);
+    
+    /**
+     * Read remaining capacity of an event from the maintained seat counter
+     */
+    @Query("SELECT e.maxCapacity - e.reservedSeats FROM Event e WHERE e.id = :eventId")
+    Optional<Integer> findAvailableSeatsById(@Param("eventId") UUID eventId);
+    
+    /**
+     * Read remaining capacity of several events in a single query
+     */
+    @Query("SELECT e.id AS eventId, e.maxCapacity - e.reservedSeats AS availableSeats " +
+           "FROM Event e WHERE e.id IN :eventIds")
+    List<EventSeatAvailability> findAvailableSeatsByIdIn(@Param("eventIds") Collection<UUID> eventIds);
+    
+    /**
+     * Count events of a status per city, ordered by city
+     */
+    @Query("SELECT e.city AS city, COUNT(e) AS eventCount FROM Event e " +
+           "WHERE e.status = :status GROUP BY e.city ORDER BY e.city")
+    List<CityEventCount> countByCity(@Param("status") EventStatus status);
+    
+    /**
+     * Count events of a status per category
+     */
+    @Query("SELECT e.category AS category, COUNT(e) AS eventCount FROM Event e " +
+           "WHERE e.status = :status GROUP BY e.category")
+    List<CategoryEventCount> countByCategory(@Param("status") EventStatus status);
+
+    /**
+     * Watermark of the events table; it moves with every committed change to an event, on any node.
+     * Seat counter UPDATEs leave the version alone, so bookings do not move it.
+     */
+    @Query("SELECT COUNT(e) AS eventCount, COALESCE(SUM(e.version), 0) AS versionSum FROM Event e")
+    EventWatermark findWatermark();
 }
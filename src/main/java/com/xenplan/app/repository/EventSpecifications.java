@@ -0,0 +1,49 @@
+package com.xenplan.app.repository;
+
+import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.service.EventSearchCriteria;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA specifications for {@link Event} searches
+ */
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    /**
+     * All non-null criteria combined with AND into a single WHERE clause
+     */
+    public static Specification<Event> matching(EventSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.status() != null) {
+                predicates.add(cb.equal(root.get("status"), criteria.status()));
+            }
+            if (criteria.category() != null) {
+                predicates.add(cb.equal(root.get("category"), criteria.category()));
+            }
+            if (criteria.city() != null) {
+                predicates.add(cb.equal(root.get("city"), criteria.city()));
+            }
+            if (criteria.startFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startDate"), criteria.startFrom()));
+            }
+            if (criteria.startTo() != null) {
+                predicates.add(cb.lessThan(root.get("startDate"), criteria.startTo()));
+            }
+            if (criteria.minPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("unitPrice"), criteria.minPrice()));
+            }
+            if (criteria.maxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("unitPrice"), criteria.maxPrice()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
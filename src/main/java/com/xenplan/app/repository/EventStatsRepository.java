@@ -0,0 +1,42 @@
+package com.xenplan.app.repository;
+
+import com.xenplan.app.domain.entity.EventStats;
+import com.xenplan.app.repository.projection.EventSalesRow;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface EventStatsRepository extends JpaRepository<EventStats, UUID> {
+
+    /**
+     * Add the seats and revenue of a delta to an event; returns 0 when the event has no row yet
+     */
+    @Modifying
+    @Query("UPDATE EventStats s SET " +
+           "s.seatsSold = s.seatsSold + :#{#delta.reservedSeats}, " +
+           "s.revenue = s.revenue + :#{#delta.revenue} " +
+           "WHERE s.eventId = :eventId")
+    int apply(@Param("eventId") UUID eventId, @Param("delta") StatsDelta delta);
+
+    /**
+     * An organizer's best selling events, by revenue then seats sold, read in the order of the
+     * (organizer_id, revenue, seats_sold, event_id) index
+     */
+    @Query("SELECT s.eventId AS eventId, e.title AS title, e.status AS status, s.seatsSold AS seatsSold, " +
+           "s.revenue AS revenue FROM EventStats s JOIN Event e ON e.id = s.eventId " +
+           "WHERE s.organizerId = :organizerId ORDER BY s.revenue DESC, s.seatsSold DESC, s.eventId DESC")
+    List<EventSalesRow> findTopByOrganizerId(@Param("organizerId") UUID organizerId, Limit limit);
+
+    /**
+     * Every event's counters, as unmanaged copies: the counters are changed by bulk UPDATEs, so
+     * managed rows would go stale in the persistence context of the reading transaction
+     */
+    @Query("SELECT NEW com.xenplan.app.domain.entity.EventStats(s.eventId, s.organizerId, s.seatsSold, s.revenue) " +
+           "FROM EventStats s")
+    List<EventStats> findAllCopies();
+}
@@ -0,0 +1,39 @@
+package com.xenplan.app.repository;
+
+import com.xenplan.app.domain.entity.OrganizerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface OrganizerStatsRepository extends JpaRepository<OrganizerStats, UUID> {
+
+    /**
+     * Add the event and reservation part of a delta to an organizer; returns 0 when the organizer has no row yet
+     */
+    @Modifying
+    @Query("UPDATE OrganizerStats s SET " +
+           "s.draftEvents = s.draftEvents + :#{#delta.draftEvents}, " +
+           "s.publishedEvents = s.publishedEvents + :#{#delta.publishedEvents}, " +
+           "s.cancelledEvents = s.cancelledEvents + :#{#delta.cancelledEvents}, " +
+           "s.finishedEvents = s.finishedEvents + :#{#delta.finishedEvents}, " +
+           "s.pendingReservations = s.pendingReservations + :#{#delta.pendingReservations}, " +
+           "s.confirmedReservations = s.confirmedReservations + :#{#delta.confirmedReservations}, " +
+           "s.cancelledReservations = s.cancelledReservations + :#{#delta.cancelledReservations}, " +
+           "s.reservedSeats = s.reservedSeats + :#{#delta.reservedSeats}, " +
+           "s.revenue = s.revenue + :#{#delta.revenue} " +
+           "WHERE s.organizerId = :organizerId")
+    int apply(@Param("organizerId") UUID organizerId, @Param("delta") StatsDelta delta);
+
+    /**
+     * Every organizer's counters, as unmanaged copies: the counters are changed by bulk UPDATEs, so
+     * managed rows would go stale in the persistence context of the reading transaction
+     */
+    @Query("SELECT NEW com.xenplan.app.domain.entity.OrganizerStats(s.organizerId, s.draftEvents, " +
+           "s.publishedEvents, s.cancelledEvents, s.finishedEvents, s.pendingReservations, " +
+           "s.confirmedReservations, s.cancelledReservations, s.reservedSeats, s.revenue) FROM OrganizerStats s")
+    List<OrganizerStats> findAllCopies();
+}
@@ -0,0 +1,42 @@
+package com.xenplan.app.repository;
+
+import com.xenplan.app.domain.entity.PlatformStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PlatformStatsRepository extends JpaRepository<PlatformStats, Integer> {
+
+    /**
+     * Add a delta to one shard; returns 0 when the shard row does not exist yet
+     */
+    @Modifying
+    @Query("UPDATE PlatformStats s SET " +
+           "s.admins = s.admins + :#{#delta.admins}, " +
+           "s.organizers = s.organizers + :#{#delta.organizers}, " +
+           "s.clients = s.clients + :#{#delta.clients}, " +
+           "s.activeUsers = s.activeUsers + :#{#delta.activeUsers}, " +
+           "s.draftEvents = s.draftEvents + :#{#delta.draftEvents}, " +
+           "s.publishedEvents = s.publishedEvents + :#{#delta.publishedEvents}, " +
+           "s.cancelledEvents = s.cancelledEvents + :#{#delta.cancelledEvents}, " +
+           "s.finishedEvents = s.finishedEvents + :#{#delta.finishedEvents}, " +
+           "s.pendingReservations = s.pendingReservations + :#{#delta.pendingReservations}, " +
+           "s.confirmedReservations = s.confirmedReservations + :#{#delta.confirmedReservations}, " +
+           "s.cancelledReservations = s.cancelledReservations + :#{#delta.cancelledReservations}, " +
+           "s.reservedSeats = s.reservedSeats + :#{#delta.reservedSeats}, " +
+           "s.revenue = s.revenue + :#{#delta.revenue} " +
+           "WHERE s.shard = :shard")
+    int apply(@Param("shard") int shard, @Param("delta") StatsDelta delta);
+
+    /**
+     * Sum of all shards, as an unmanaged copy: the counters are changed by bulk UPDATEs, so a managed
+     * row would go stale in the persistence context of the reading transaction
+     */
+    @Query("SELECT NEW com.xenplan.app.domain.entity.PlatformStats(0, SUM(s.admins), SUM(s.organizers), " +
+           "SUM(s.clients), SUM(s.activeUsers), SUM(s.draftEvents), SUM(s.publishedEvents), " +
+           "SUM(s.cancelledEvents), SUM(s.finishedEvents), SUM(s.pendingReservations), " +
+           "SUM(s.confirmedReservations), SUM(s.cancelledReservations), SUM(s.reservedSeats), SUM(s.revenue)) " +
+           "FROM PlatformStats s")
+    PlatformStats sumAll();
+}
@@ -0,0 +1,25 @@
+package com.xenplan.app.repository;
+
+import com.xenplan.app.domain.entity.ReservationCodeCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ReservationCodeCounterRepository extends JpaRepository<ReservationCodeCounter, String> {
+    
+    /**
+     * Advance the counter by one block (the row stays locked until the transaction ends)
+     */
+    @Modifying
+    @Query("UPDATE ReservationCodeCounter c SET c.nextBlock = c.nextBlock + 1 WHERE c.name = :name")
+    int incrementNextBlock(@Param("name") String name);
+    
+    /**
+     * Read the counter value
+     */
+    @Query("SELECT c.nextBlock FROM ReservationCodeCounter c WHERE c.name = :name")
+    Optional<Long> findNextBlockByName(@Param("name") String name);
+}
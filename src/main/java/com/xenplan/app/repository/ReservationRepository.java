@@ -3,13 +3,28 @@ package com.xenplan.app.repository;
 import com.xenplan.app.domain.entity.Reservation;
 import com.xenplan.app.domain.entity.User;
 import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.repository.projection.CheckInCodeRow;
+import com.xenplan.app.repository.projection.CheckInCount;
+import com.xenplan.app.repository.projection.ReservationExportRow;
+import com.xenplan.app.repository.projection.ReservationSeatTotal;
+import com.xenplan.app.repository.projection.ReservationStatusTotal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
     
@@ -29,6 +44,28 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
      */
     Optional<Reservation> findByReservationCode(String reservationCode);
     
+    /**
+     * Event of a reservation, without loading the reservation
+     */
+    @Query("SELECT r.event.id FROM Reservation r WHERE r.id = :reservationId")
+    Optional<UUID> findEventIdById(@Param("reservationId") UUID reservationId);
+
+    /**
+     * Find the reservation created by the request with this idempotency key
+     */
+    Optional<Reservation> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Find the reservations created by requests with any of these idempotency keys
+     */
+    List<Reservation> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+    
+    /**
+     * Return which of the given codes are already taken
+     */
+    @Query("SELECT r.reservationCode FROM Reservation r WHERE r.reservationCode IN :codes")
+    List<String> findExistingReservationCodes(@Param("codes") Collection<String> codes);
+    
     /**
      * Calculate total reserved seats for an event, excluding cancelled reservations
      */
@@ -39,8 +76,130 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
             @Param("status") ReservationStatus status
     );
     
+    /**
+     * Count a user's reservations per status with their total amount, grouped in the database
+     */
+    @Query("SELECT r.status AS status, COUNT(r) AS reservationCount, " +
+           "COALESCE(SUM(r.totalAmount), 0) AS totalAmount " +
+           "FROM Reservation r WHERE r.user.id = :userId GROUP BY r.status")
+    List<ReservationStatusTotal> sumByUserIdGroupByStatus(@Param("userId") UUID userId);
+    
     /**
      * Count reservations for an event
      */
     long countByEventId(UUID eventId);
+
+    /**
+     * Page through an event's reservations with their user, optionally of one status
+     */
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.user " +
+           "WHERE r.event.id = :eventId AND (:status IS NULL OR r.status = :status)")
+    Slice<Reservation> findByEventIdWithUser(@Param("eventId") UUID eventId,
+                                             @Param("status") ReservationStatus status,
+                                             Pageable pageable);
+
+    /**
+     * Stream an event's reservations with their user, optionally of one status, in booking order.
+     * Rows are fetched from the database a batch at a time and never become managed entities;
+     * the stream must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.reservationCode AS reservationCode, r.status AS status, r.numberOfSeats AS numberOfSeats, " +
+           "r.totalAmount AS totalAmount, r.reservationDate AS reservationDate, u.firstName AS firstName, " +
+           "u.lastName AS lastName, u.email AS email, r.comment AS comment " +
+           "FROM Reservation r JOIN r.user u " +
+           "WHERE r.event.id = :eventId AND (:status IS NULL OR r.status = :status) ORDER BY r.id")
+    Stream<ReservationExportRow> streamExportRowsByEventId(@Param("eventId") UUID eventId,
+                                                           @Param("status") ReservationStatus status);
+
+    /**
+     * Stream the codes of an event's CONFIRMED reservations with their check-in time; must be consumed
+     * and closed inside a transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.reservationCode AS reservationCode, r.checkedInAt AS checkedInAt FROM Reservation r " +
+           "WHERE r.event.id = :eventId AND r.status = com.xenplan.app.domain.enums.ReservationStatus.CONFIRMED")
+    Stream<CheckInCodeRow> streamCheckInCodesByEventId(@Param("eventId") UUID eventId);
+
+    /**
+     * Record the check-in of the given reservations that are not checked in yet, in one statement; returns how many.
+     * The version is bumped so a concurrent entity update cannot write the old value back.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.checkedInAt = :at, r.version = r.version + 1 " +
+           "WHERE r.reservationCode IN :codes AND r.checkedInAt IS NULL")
+    int markCheckedIn(@Param("codes") Collection<String> codes, @Param("at") LocalDateTime at);
+
+    /**
+     * Record the check-in of one CONFIRMED reservation of an event if it is not checked in yet; returns 1 when it was.
+     * The version is bumped so a concurrent entity update cannot write the old value back.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.checkedInAt = :at, r.version = r.version + 1 " +
+           "WHERE r.reservationCode = :code AND r.event.id = :eventId " +
+           "AND r.status = com.xenplan.app.domain.enums.ReservationStatus.CONFIRMED AND r.checkedInAt IS NULL")
+    int markCheckedIn(@Param("eventId") UUID eventId, @Param("code") String code, @Param("at") LocalDateTime at);
+
+    /**
+     * Count an event's CONFIRMED reservations and those of them checked in
+     */
+    @Query("SELECT COUNT(r) AS expected, COUNT(r.checkedInAt) AS checkedIn FROM Reservation r " +
+           "WHERE r.event.id = :eventId AND r.status = com.xenplan.app.domain.enums.ReservationStatus.CONFIRMED")
+    CheckInCount countCheckInsByEventId(@Param("eventId") UUID eventId);
+
+    /**
+     * Codes of an event's CONFIRMED reservations checked in at or after a time
+     */
+    @Query("SELECT r.reservationCode FROM Reservation r WHERE r.event.id = :eventId AND r.checkedInAt >= :since " +
+           "AND r.status = com.xenplan.app.domain.enums.ReservationStatus.CONFIRMED")
+    List<String> findCheckedInCodesByEventIdSince(@Param("eventId") UUID eventId,
+                                                  @Param("since") LocalDateTime since);
+
+    /**
+     * IDs of the next reservations of an event in a status, optionally only those made before a time
+     */
+    @Query("SELECT r.id FROM Reservation r WHERE r.event.id = :eventId AND r.status = :status " +
+           "AND (:reservedBefore IS NULL OR r.reservationDate < :reservedBefore) ORDER BY r.id")
+    List<UUID> findIdsByEventIdAndStatus(@Param("eventId") UUID eventId,
+                                         @Param("status") ReservationStatus status,
+                                         @Param("reservedBefore") LocalDateTime reservedBefore,
+                                         Limit limit);
+
+    /**
+     * IDs of an event's next reservations that are not cancelled, after the given one (from the start when null)
+     */
+    @Query("SELECT r.id FROM Reservation r WHERE r.event.id = :eventId " +
+           "AND r.status <> com.xenplan.app.domain.enums.ReservationStatus.CANCELLED " +
+           "AND (:afterId IS NULL OR r.id > :afterId) ORDER BY r.id")
+    List<UUID> findActiveIdsByEventIdAfter(@Param("eventId") UUID eventId,
+                                           @Param("afterId") UUID afterId,
+                                           Limit limit);
+
+    /**
+     * Count the given reservations of an event that are in a status, with their seats and amount
+     */
+    @Query("SELECT COUNT(r) AS reservationCount, COALESCE(SUM(r.numberOfSeats), 0) AS seatCount, " +
+           "COALESCE(SUM(r.totalAmount), 0) AS totalAmount " +
+           "FROM Reservation r WHERE r.id IN :ids AND r.event.id = :eventId AND r.status = :status")
+    ReservationSeatTotal sumSeatsByIdsAndEventIdAndStatus(@Param("ids") Collection<UUID> ids,
+                                                          @Param("eventId") UUID eventId,
+                                                          @Param("status") ReservationStatus status);
+
+    /**
+     * Move the given reservations of an event from one status to another in one statement; returns how many moved.
+     * The version is bumped so concurrent single-reservation updates fail their optimistic check.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :target, r.version = r.version + 1 " +
+           "WHERE r.id IN :ids AND r.event.id = :eventId AND r.status = :current")
+    int updateStatus(@Param("ids") Collection<UUID> ids,
+                     @Param("eventId") UUID eventId,
+                     @Param("current") ReservationStatus current,
+                     @Param("target") ReservationStatus target);
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.xenplan.app.repository;
+
+import com.xenplan.app.domain.entity.SeatHold;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface SeatHoldRepository extends JpaRepository<SeatHold, UUID> {
+    
+    /**
+     * Delete a hold; returns 0 when it was already confirmed, released or expired.
+     * Whoever deletes the row owns the held seats, so confirm and expiry can never both succeed.
+     */
+    @Modifying
+    @Query("DELETE FROM SeatHold h WHERE h.id = :holdId")
+    int deleteHold(@Param("holdId") UUID holdId);
+    
+    /**
+     * Find all holds with their event ID loaded (for scheduling expiry after a restart)
+     */
+    @Query("SELECT h FROM SeatHold h JOIN FETCH h.event")
+    List<SeatHold> findAllWithEvent();
+    
+    /**
+     * Find holds that expired before the given time, oldest first, with their event ID loaded
+     */
+    @Query("SELECT h FROM SeatHold h JOIN FETCH h.event WHERE h.expiresAt < :now ORDER BY h.expiresAt")
+    List<SeatHold> findExpiredWithEvent(@Param("now") LocalDateTime now, Limit limit);
+}
@@ -0,0 +1,114 @@
+package com.xenplan.app.repository;
+
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.domain.enums.Role;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Changes to apply to the maintained statistics counters in one UPDATE. A state change is recorded by
+ * taking the old state out and adding the new one, e.g. a confirmation is -1 PENDING, +1 CONFIRMED.
+ */
+@Getter
+public class StatsDelta {
+
+    private long admins;
+    private long organizers;
+    private long clients;
+    private long activeUsers;
+    private long draftEvents;
+    private long publishedEvents;
+    private long cancelledEvents;
+    private long finishedEvents;
+    private long pendingReservations;
+    private long confirmedReservations;
+    private long cancelledReservations;
+    private long reservedSeats;
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    /**
+     * Add (count 1) or take out (count -1) a user
+     */
+    public StatsDelta users(Role role, boolean active, long count) {
+        switch (role) {
+            case ADMIN -> admins += count;
+            case ORGANIZER -> organizers += count;
+            case CLIENT -> clients += count;
+        }
+        if (active) {
+            activeUsers += count;
+        }
+        return this;
+    }
+
+    /**
+     * Add to the number of active users only
+     */
+    public StatsDelta activeUsers(long count) {
+        activeUsers += count;
+        return this;
+    }
+
+    /**
+     * Add to the number of reserved seats only
+     */
+    public StatsDelta reservedSeats(long count) {
+        reservedSeats += count;
+        return this;
+    }
+
+    /**
+     * Add or take out events of a status
+     */
+    public StatsDelta events(EventStatus status, long count) {
+        switch (status) {
+            case DRAFT -> draftEvents += count;
+            case PUBLISHED -> publishedEvents += count;
+            case CANCELLED -> cancelledEvents += count;
+            case FINISHED -> finishedEvents += count;
+        }
+        return this;
+    }
+
+    /**
+     * Add or take out reservations of a status, with their seats and total amount (negative to take out).
+     * Seats count while the reservations are not cancelled, the amount only once they are confirmed.
+     */
+    public StatsDelta reservations(ReservationStatus status, long count, long seats, BigDecimal amount) {
+        switch (status) {
+            case PENDING -> pendingReservations += count;
+            case CONFIRMED -> confirmedReservations += count;
+            case CANCELLED -> cancelledReservations += count;
+        }
+        if (status != ReservationStatus.CANCELLED) {
+            reservedSeats += seats;
+        }
+        if (status == ReservationStatus.CONFIRMED) {
+            revenue = revenue.add(amount);
+        }
+        return this;
+    }
+
+    /**
+     * Move reservations from one status to another
+     */
+    public StatsDelta reservations(ReservationStatus from, ReservationStatus to, long count, long seats,
+                                   BigDecimal amount) {
+        return reservations(from, -count, -seats, amount.negate()).reservations(to, count, seats, amount);
+    }
+
+    /**
+     * Whether this changes any per-organizer counter (events or reservations)
+     */
+    public boolean touchesOrganizer() {
+        return draftEvents != 0 || publishedEvents != 0 || cancelledEvents != 0 || finishedEvents != 0
+                || pendingReservations != 0 || confirmedReservations != 0 || cancelledReservations != 0
+                || reservedSeats != 0 || revenue.signum() != 0;
+    }
+
+    public boolean isEmpty() {
+        return !touchesOrganizer() && admins == 0 && organizers == 0 && clients == 0 && activeUsers == 0;
+    }
+}
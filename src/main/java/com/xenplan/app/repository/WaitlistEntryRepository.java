@@ -0,0 +1,50 @@
+package com.xenplan.app.repository;
+
+import com.xenplan.app.domain.entity.WaitlistEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, UUID> {
+
+    /**
+     * First entries of an event's waitlist, in the order they joined
+     */
+    List<WaitlistEntry> findByEventIdOrderByCreatedAtAscIdAsc(UUID eventId, Limit limit);
+
+    /**
+     * Find a user's entry on an event's waitlist
+     */
+    Optional<WaitlistEntry> findByEventIdAndUserId(UUID eventId, UUID userId);
+
+    /**
+     * Number of entries that joined the event's waitlist before the given one
+     */
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.event.id = :eventId AND (w.createdAt < :createdAt " +
+           "OR (w.createdAt = :createdAt AND w.id < :entryId))")
+    long countAhead(@Param("eventId") UUID eventId,
+                    @Param("createdAt") LocalDateTime createdAt,
+                    @Param("entryId") UUID entryId);
+
+    /**
+     * Delete an entry; returns 0 when it was already promoted or withdrawn.
+     * Whoever deletes the row promotes it, so concurrent cancellations never promote an entry twice.
+     */
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.id = :entryId")
+    int deleteEntry(@Param("entryId") UUID entryId);
+
+    /**
+     * Delete an event's whole waitlist
+     */
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.event.id = :eventId")
+    int deleteEventEntries(@Param("eventId") UUID eventId);
+}
@@ -0,0 +1,13 @@
+package com.xenplan.app.repository.projection;
+
+import com.xenplan.app.domain.enums.EventCategory;
+
+/**
+ * Number of events in a category
+ */
+public interface CategoryEventCount {
+
+    EventCategory getCategory();
+
+    Long getEventCount();
+}
@@ -0,0 +1,13 @@
+package com.xenplan.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Code of a reservation admitted at the door, and when it was checked in (null if not yet)
+ */
+public interface CheckInCodeRow {
+
+    String getReservationCode();
+
+    LocalDateTime getCheckedInAt();
+}
@@ -0,0 +1,11 @@
+package com.xenplan.app.repository.projection;
+
+/**
+ * Confirmed tickets of an event, and how many of them are checked in
+ */
+public interface CheckInCount {
+
+    long getExpected();
+
+    long getCheckedIn();
+}
@@ -0,0 +1,11 @@
+package com.xenplan.app.repository.projection;
+
+/**
+ * Number of events in a city
+ */
+public interface CityEventCount {
+
+    String getCity();
+
+    Long getEventCount();
+}
@@ -0,0 +1,22 @@
+package com.xenplan.app.repository.projection;
+
+import com.xenplan.app.domain.enums.EventStatus;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Seats sold and revenue of a single event
+ */
+public interface EventSalesRow {
+
+    UUID getEventId();
+
+    String getTitle();
+
+    EventStatus getStatus();
+
+    Long getSeatsSold();
+
+    BigDecimal getRevenue();
+}
@@ -0,0 +1,19 @@
+package com.xenplan.app.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Seats of the PENDING and CONFIRMED reservations of an event and their confirmed revenue, counted
+ * from the reservations
+ */
+public interface EventSalesTotal {
+
+    UUID getEventId();
+
+    UUID getOrganizerId();
+
+    Long getSeatsSold();
+
+    BigDecimal getRevenue();
+}
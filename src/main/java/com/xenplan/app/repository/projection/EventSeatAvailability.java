@@ -0,0 +1,13 @@
+package com.xenplan.app.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Remaining capacity of a single event, read from the maintained seat counter
+ */
+public interface EventSeatAvailability {
+
+    UUID getEventId();
+
+    Integer getAvailableSeats();
+}
@@ -0,0 +1,12 @@
+package com.xenplan.app.repository.projection;
+
+/**
+ * Number of events and the sum of their versions. Every insert and delete changes the count and every
+ * edit or status change bumps a version, so any committed change to an event moves the watermark.
+ */
+public interface EventWatermark {
+
+    Long getEventCount();
+
+    Long getVersionSum();
+}
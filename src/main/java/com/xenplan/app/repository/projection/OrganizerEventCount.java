@@ -0,0 +1,13 @@
+package com.xenplan.app.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Number of events of an organizer
+ */
+public interface OrganizerEventCount {
+
+    UUID getOrganizerId();
+
+    Long getEventCount();
+}
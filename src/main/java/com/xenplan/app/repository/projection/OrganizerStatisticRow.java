@@ -0,0 +1,11 @@
+package com.xenplan.app.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * One group of an organizer's counts: events per status or reservations per status
+ */
+public interface OrganizerStatisticRow extends PlatformStatisticRow {
+
+    UUID getOrganizerId();
+}
@@ -0,0 +1,31 @@
+package com.xenplan.app.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * One group of a platform-wide count: users per role, events per status or reservations per status
+ */
+public interface PlatformStatisticRow {
+
+    /**
+     * USER, EVENT or RESERVATION
+     */
+    String getSection();
+
+    /**
+     * Role or status name of the group
+     */
+    String getGroupKey();
+
+    Long getItemCount();
+
+    /**
+     * Active users of the role, or seats of the reservations; 0 for events
+     */
+    Long getDetailCount();
+
+    /**
+     * Total amount of the reservations; 0 for users and events
+     */
+    BigDecimal getAmount();
+}
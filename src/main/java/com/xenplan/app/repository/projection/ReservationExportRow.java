@@ -0,0 +1,30 @@
+package com.xenplan.app.repository.projection;
+
+import com.xenplan.app.domain.enums.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One line of an event's attendee export: the reservation and who made it
+ */
+public interface ReservationExportRow {
+
+    String getReservationCode();
+
+    ReservationStatus getStatus();
+
+    Integer getNumberOfSeats();
+
+    BigDecimal getTotalAmount();
+
+    LocalDateTime getReservationDate();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    String getComment();
+}
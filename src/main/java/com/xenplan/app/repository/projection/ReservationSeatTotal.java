@@ -0,0 +1,15 @@
+package com.xenplan.app.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Number of reservations, the seats they hold and their total amount
+ */
+public interface ReservationSeatTotal {
+
+    Long getReservationCount();
+
+    Long getSeatCount();
+
+    BigDecimal getTotalAmount();
+}
@@ -0,0 +1,17 @@
+package com.xenplan.app.repository.projection;
+
+import com.xenplan.app.domain.enums.ReservationStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Number and total amount of the reservations in one status
+ */
+public interface ReservationStatusTotal {
+
+    ReservationStatus getStatus();
+
+    Long getReservationCount();
+
+    BigDecimal getTotalAmount();
+}
@@ -0,0 +1,23 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.entity.User;
+
+import java.util.UUID;
+
+public interface AdmissionService {
+    
+    /**
+     * Open the waiting room of a freshly published event
+     */
+    void openQueue(UUID eventId);
+    
+    /**
+     * Join (or look up) a user's place in the event's waiting room; always admitted when no queue is open
+     */
+    AdmissionTicket join(UUID eventId, User user);
+    
+    /**
+     * Ensure the user has been let into the event's booking flow (ConflictException otherwise)
+     */
+    void requireAdmission(UUID eventId, User user);
+}
@@ -0,0 +1,19 @@
+package com.xenplan.app.service;
+
+import java.time.Duration;
+
+/**
+ * A user's place in an event's waiting room
+ *
+ * @param admitted      whether the user may book now
+ * @param position      number of users admitted before this one (0 when admitted)
+ * @param estimatedWait time until the user is admitted (zero when admitted)
+ */
+public record AdmissionTicket(boolean admitted, long position, Duration estimatedWait) {
+
+    private static final AdmissionTicket ADMITTED = new AdmissionTicket(true, 0, Duration.ZERO);
+
+    public static AdmissionTicket admittedNow() {
+        return ADMITTED;
+    }
+}
@@ -0,0 +1,26 @@
+package com.xenplan.app.service;
+
+/**
+ * Outcome of scanning one ticket at the door
+ *
+ * @param outcome   outcome of the scan; null when only the counts are reported
+ * @param checkedIn tickets of the event checked in so far
+ * @param expected  tickets of the event that can be checked in
+ */
+public record CheckInResult(Outcome outcome, int checkedIn, int expected) {
+
+    public enum Outcome {
+        /** Valid ticket, let the holder in */
+        ADMITTED,
+        /** Valid ticket that was already scanned */
+        ALREADY_CHECKED_IN,
+        /** Reservation of this event that is not CONFIRMED */
+        NOT_CONFIRMED,
+        /** Malformed code, or no reservation of this event */
+        UNKNOWN_CODE
+    }
+
+    public boolean admitted() {
+        return outcome == Outcome.ADMITTED;
+    }
+}
@@ -0,0 +1,23 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.entity.User;
+
+import java.util.UUID;
+
+public interface CheckInService {
+
+    /**
+     * Load the event's confirmed tickets for scanning, if not loaded yet (event organizer or admin only)
+     */
+    CheckInResult openCheckIn(UUID eventId, User user);
+
+    /**
+     * Check a ticket in by its reservation code; duplicates and unknown codes are rejected
+     */
+    CheckInResult checkIn(UUID eventId, String reservationCode, User user);
+
+    /**
+     * Write pending check-ins and release the event's loaded tickets
+     */
+    void closeCheckIn(UUID eventId, User user);
+}
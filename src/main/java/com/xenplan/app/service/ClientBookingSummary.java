@@ -0,0 +1,30 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.enums.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Booking history of one client shown on their dashboard
+ *
+ * @param reservationsByStatus number of reservations per status (statuses without reservations are omitted)
+ * @param totalSpent           total amount of CONFIRMED reservations
+ */
+public record ClientBookingSummary(Map<ReservationStatus, Long> reservationsByStatus, BigDecimal totalSpent) {
+
+    public long totalBookings() {
+        return reservationsByStatus.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * PENDING and CONFIRMED reservations
+     */
+    public long activeBookings() {
+        return reservations(ReservationStatus.PENDING) + reservations(ReservationStatus.CONFIRMED);
+    }
+
+    public long reservations(ReservationStatus status) {
+        return reservationsByStatus.getOrDefault(status, 0L);
+    }
+}
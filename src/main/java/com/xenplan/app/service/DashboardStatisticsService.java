@@ -0,0 +1,9 @@
+package com.xenplan.app.service;
+
+public interface DashboardStatisticsService {
+
+    /**
+     * Current user, event and reservation counts of the whole platform
+     */
+    PlatformStatistics getPlatformStatistics();
+}
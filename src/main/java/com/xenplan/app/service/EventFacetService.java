@@ -0,0 +1,18 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.enums.EventCategory;
+
+import java.util.Map;
+
+public interface EventFacetService {
+    
+    /**
+     * Number of published events per city, ordered by city name
+     */
+    Map<String, Long> countPublishedByCity();
+    
+    /**
+     * Number of published events per category (categories without events are omitted)
+     */
+    Map<EventCategory, Long> countPublishedByCategory();
+}
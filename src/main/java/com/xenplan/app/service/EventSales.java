@@ -0,0 +1,15 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.enums.EventStatus;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Sales of one event shown on the organizer dashboard
+ *
+ * @param seatsSold seats held by PENDING and CONFIRMED reservations
+ * @param revenue   total amount of CONFIRMED reservations
+ */
+public record EventSales(UUID eventId, String title, EventStatus status, int seatsSold, BigDecimal revenue) {
+}
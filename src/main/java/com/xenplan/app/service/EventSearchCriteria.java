@@ -0,0 +1,26 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.enums.EventCategory;
+import com.xenplan.app.domain.enums.EventStatus;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Filters for event search. Every field is optional; null means "any".
+ *
+ * @param startFrom events starting at or after this time
+ * @param startTo   events starting strictly before this time
+ * @param minPrice  minimum unit price, inclusive
+ * @param maxPrice  maximum unit price, inclusive
+ */
+@Builder
+public record EventSearchCriteria(EventStatus status,
+                                  EventCategory category,
+                                  String city,
+                                  LocalDateTime startFrom,
+                                  LocalDateTime startTo,
+                                  BigDecimal minPrice,
+                                  BigDecimal maxPrice) {
+}
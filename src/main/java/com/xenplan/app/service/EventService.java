@@ -4,8 +4,12 @@ import com.xenplan.app.domain.entity.Event;
 import com.xenplan.app.domain.entity.User;
 import com.xenplan.app.domain.enums.EventCategory;
 import com.xenplan.app.domain.enums.EventStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -42,9 +46,14 @@ public interface EventService {
     Integer calculateAvailableSeats(UUID eventId);
     
     /**
-     * Auto-detect and mark FINISHED events (endDate < now)
+     * Calculate available seats for several events at once (unknown IDs are omitted)
      */
-    void markFinishedEvents();
+    Map<UUID, Integer> calculateAvailableSeats(Collection<UUID> eventIds);
+    
+    /**
+     * Auto-detect and mark FINISHED events (endDate < now); returns how many were marked
+     */
+    int markFinishedEvents();
     
     /**
      * Get event by ID
@@ -71,6 +80,16 @@ public interface EventService {
      */
     List<Event> findByCity(String city);
     
+    /**
+     * Get one page of events matching the criteria, ordered by start date, in a single query
+     */
+    Slice<Event> searchEvents(EventSearchCriteria criteria, Pageable pageable);
+    
+    /**
+     * Count events matching the criteria
+     */
+    long countEvents(EventSearchCriteria criteria);
+    
     /**
      * Get events by organizer
      */
@@ -80,5 +99,9 @@ public interface EventService {
      * Get events by organizer ID (more reliable with detached entities)
      */
     List<Event> findByOrganizerId(UUID organizerId);
+    
+    /**
+     * Get the event and reservation counts of an organizer with their best selling events
+     */
+    OrganizerStatistics getOrganizerStatistics(UUID organizerId, int topEvents);
 }
-
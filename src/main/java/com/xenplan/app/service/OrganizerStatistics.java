@@ -0,0 +1,36 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.enums.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts of one organizer's events and of the reservations made for them, shown on the organizer dashboard
+ *
+ * @param eventsByStatus       number of events per status (statuses without events are omitted)
+ * @param reservationsByStatus number of reservations per status (statuses without reservations are omitted)
+ * @param reservedSeats        seats held by PENDING and CONFIRMED reservations
+ * @param revenue              total amount of CONFIRMED reservations
+ * @param topEvents            best selling events, by revenue then seats sold
+ */
+public record OrganizerStatistics(Map<EventStatus, Long> eventsByStatus,
+                                  Map<ReservationStatus, Long> reservationsByStatus,
+                                  long reservedSeats,
+                                  BigDecimal revenue,
+                                  List<EventSales> topEvents) {
+
+    public long totalEvents() {
+        return eventsByStatus.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long events(EventStatus status) {
+        return eventsByStatus.getOrDefault(status, 0L);
+    }
+
+    public long reservations(ReservationStatus status) {
+        return reservationsByStatus.getOrDefault(status, 0L);
+    }
+}
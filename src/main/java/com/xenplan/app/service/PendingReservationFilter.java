@@ -0,0 +1,27 @@
+package com.xenplan.app.service;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Selects PENDING reservations of one event for bulk confirm or reject. Optional fields are null for "any".
+ *
+ * @param eventId        the event, required
+ * @param reservationIds only these reservations
+ * @param reservedBefore only reservations made strictly before this time
+ */
+@Builder
+public record PendingReservationFilter(UUID eventId,
+                                       Collection<UUID> reservationIds,
+                                       LocalDateTime reservedBefore) {
+
+    /**
+     * Every PENDING reservation of the event
+     */
+    public static PendingReservationFilter allOf(UUID eventId) {
+        return builder().eventId(eventId).build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.domain.enums.Role;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Platform-wide counts shown on the admin dashboard
+ *
+ * @param usersByRole          number of users per role (roles without users are omitted)
+ * @param activeUsers          number of users whose account is active
+ * @param eventsByStatus       number of events per status (statuses without events are omitted)
+ * @param reservationsByStatus number of reservations per status (statuses without reservations are omitted)
+ * @param reservedSeats        seats held by PENDING and CONFIRMED reservations
+ * @param revenue              total amount of CONFIRMED reservations
+ */
+public record PlatformStatistics(Map<Role, Long> usersByRole,
+                                 long activeUsers,
+                                 Map<EventStatus, Long> eventsByStatus,
+                                 Map<ReservationStatus, Long> reservationsByStatus,
+                                 long reservedSeats,
+                                 BigDecimal revenue) {
+
+    public long totalUsers() {
+        return usersByRole.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long totalEvents() {
+        return eventsByStatus.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long events(EventStatus status) {
+        return eventsByStatus.getOrDefault(status, 0L);
+    }
+
+    public long reservations(ReservationStatus status) {
+        return reservationsByStatus.getOrDefault(status, 0L);
+    }
+}
@@ -0,0 +1,23 @@
+package com.xenplan.app.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-run an idempotent insert once when a concurrent request with the same key wins the race.
+ * <p>
+ * The losing transaction is rolled back by the unique constraint. The second attempt runs in a fresh
+ * transaction, finds the winner's row in its idempotency lookup and returns it. Only replayed when the
+ * annotated method starts the transaction itself.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ReplayOnDuplicateKey {
+
+    /**
+     * Name of the unique constraint on the idempotency key
+     */
+    String constraint();
+}
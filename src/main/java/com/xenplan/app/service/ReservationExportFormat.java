@@ -0,0 +1,29 @@
+package com.xenplan.app.service;
+
+/**
+ * File formats an event's reservations can be exported in
+ */
+public enum ReservationExportFormat {
+
+    CSV("text/csv", "csv"),
+    /**
+     * One JSON object per line
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ReservationExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
@@ -1,9 +1,15 @@
 package com.xenplan.app.service;
 
 import com.xenplan.app.domain.entity.Reservation;
+import com.xenplan.app.domain.entity.SeatHold;
 import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.entity.WaitlistEntry;
 import com.xenplan.app.domain.enums.ReservationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +27,45 @@ public interface ReservationService {
      */
     Reservation createReservation(UUID eventId, Integer numberOfSeats, String comment, User user);
     
+    /**
+     * Create a reservation at most once per idempotency key: a replay with the same key
+     * returns the original reservation instead of booking again
+     */
+    Reservation createReservation(UUID eventId, Integer numberOfSeats, String comment, User user,
+                                  String idempotencyKey);
+    
+    /**
+     * Hold seats for a short time during checkout (same rules as createReservation).
+     * Held seats count against capacity until confirmed, released or expired.
+     */
+    SeatHold holdSeats(UUID eventId, Integer numberOfSeats, User user);
+    
+    /**
+     * Turn a seat hold into a PENDING reservation (only the user who placed the hold, before it expires).
+     * Confirming the same hold again returns the same reservation.
+     */
+    Reservation confirmSeatHold(UUID holdId, String comment, User user);
+    
+    /**
+     * Give the seats of a hold back (no-op if it was already confirmed, released or expired)
+     */
+    void releaseSeatHold(UUID holdId, User user);
+
+    /**
+     * Join a sold-out event's waitlist; seats are turned into a PENDING reservation when they free up
+     */
+    WaitlistEntry joinWaitlist(UUID eventId, Integer numberOfSeats, User user);
+
+    /**
+     * Leave an event's waitlist (no-op if the user is not on it)
+     */
+    void leaveWaitlist(UUID eventId, User user);
+
+    /**
+     * 1-based position of the user on an event's waitlist, if waiting
+     */
+    Optional<Long> getWaitlistPosition(UUID eventId, User user);
+    
     /**
      * Cancel a reservation only if >48 hours before event start
      */
@@ -31,11 +76,38 @@ public interface ReservationService {
      */
     void confirmReservation(UUID reservationId, User user);
     
+    /**
+     * Page through an event's reservations, optionally of one status (event organizer or admin only)
+     */
+    Slice<Reservation> getEventReservations(UUID eventId, ReservationStatus status, Pageable pageable, User user);
+
+    /**
+     * Stream an event's reservations, optionally of one status, to the output; returns how many were written
+     * (event organizer or admin only)
+     */
+    long exportEventReservations(UUID eventId, ReservationStatus status, ReservationExportFormat format, User user,
+                                 OutputStream output) throws IOException;
+
+    /**
+     * Confirm the PENDING reservations selected by the filter with set-based updates; returns how many
+     */
+    int confirmPendingReservations(PendingReservationFilter filter, User user);
+
+    /**
+     * Reject (cancel) the PENDING reservations selected by the filter and free their seats; returns how many
+     */
+    int rejectPendingReservations(PendingReservationFilter filter, User user);
+
     /**
      * Get all reservations for a user
      */
     List<Reservation> getReservationsByUser(User user);
 
+    /**
+     * Get a user's reservation counts per status and total spent, without loading the reservations
+     */
+    ClientBookingSummary getBookingSummary(User user);
+    
     /**
      * Get all reservations for a user with eager loading of related entities
      */
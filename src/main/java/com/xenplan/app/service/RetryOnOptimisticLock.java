@@ -0,0 +1,22 @@
+package com.xenplan.app.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-run a transactional read-modify-write when it loses an optimistic lock race.
+ * <p>
+ * Each attempt runs in a fresh transaction, so the method reads the winner's changes and applies its
+ * business rules again. Only retried when the annotated method starts the transaction itself.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RetryOnOptimisticLock {
+
+    /**
+     * Total number of attempts, including the first one
+     */
+    int maxAttempts() default 3;
+}
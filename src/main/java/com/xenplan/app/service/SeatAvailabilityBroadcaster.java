@@ -0,0 +1,14 @@
+package com.xenplan.app.service;
+
+import com.vaadin.flow.shared.Registration;
+
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+public interface SeatAvailabilityBroadcaster {
+
+    /**
+     * Receive an event's available seats after each change, at most once per push interval (called off the UI thread)
+     */
+    Registration subscribe(UUID eventId, IntConsumer listener);
+}
@@ -0,0 +1,253 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.Reservation;
+import com.xenplan.app.domain.entity.SeatHold;
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.event.EventChangedEvent;
+import com.xenplan.app.domain.exception.ConflictException;
+import com.xenplan.app.domain.exception.NotFoundException;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer reservation engine, enabled with {@code xenplan.reservations.engine=actor}.
+ * <p>
+ * Each event's seat state is owned by one actor: a mailbox drained by a virtual thread that only runs
+ * while there are messages. Reservations and cancellations for an event are processed one at a time by
+ * its actor, so they never wait on each other's row locks, while actors of different events run in
+ * parallel. The actor keeps the event's available seats in memory to turn away requests that cannot
+ * fit without a round trip; seats taken or given back outside the actor (holds, expiries) are picked up
+ * by re-reading the counter before rejecting. The conditional counter update in
+ * {@link ReservationServiceImpl} stays the final guard against overselling. Checkout seat holds go through
+ * the actor like reservations; the actor of an event that is finished, cancelled or deleted is dropped.
+ * <p>
+ * Every running actor holds a database connection while it processes a message, so at most
+ * {@code actor.max-running} actors (by default the connection pool size) process messages at once;
+ * the others wait with their mailboxes filling, instead of timing out on the pool.
+ * <p>
+ * Callers block until their message is processed, so this must not be called inside an open transaction.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "xenplan.reservations.engine", havingValue = "actor")
+public class ActorReservationService extends DelegatingReservationService {
+
+    private static final int UNKNOWN = -1;
+
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+
+    private final ConcurrentHashMap<UUID, EventActor> actors = new ConcurrentHashMap<>();
+    // Permits of actors draining their mailbox
+    private final Semaphore running;
+
+    public ActorReservationService(ReservationServiceImpl delegate, EventRepository eventRepository,
+                                   ReservationRepository reservationRepository,
+                                   @Value("${xenplan.reservations.actor.max-running:10}") int maxRunning) {
+        super(delegate);
+        this.eventRepository = eventRepository;
+        this.reservationRepository = reservationRepository;
+        this.running = new Semaphore(maxRunning);
+    }
+
+    @Override
+    public Reservation createReservation(UUID eventId, Integer numberOfSeats, String comment, User user,
+                                         String idempotencyKey) {
+        if (idempotencyKey != null) {
+            Optional<Reservation> original = delegate.findByIdempotencyKey(idempotencyKey, user);
+            if (original.isPresent()) {
+                // Replayed request: it took its seats the first time, so the actor's capacity check does not apply
+                return original.get();
+            }
+        }
+
+        return ask(eventId, actor -> actor.takeSeats(numberOfSeats,
+                () -> delegate.createReservation(eventId, numberOfSeats, comment, user, idempotencyKey)));
+    }
+
+    @Override
+    public SeatHold holdSeats(UUID eventId, Integer numberOfSeats, User user) {
+        return ask(eventId, actor -> actor.takeSeats(numberOfSeats,
+                () -> delegate.holdSeats(eventId, numberOfSeats, user)));
+    }
+
+    @Override
+    public void cancelReservation(UUID reservationId, User user) {
+        UUID eventId = reservationRepository.findEventIdById(reservationId)
+                .orElseThrow(() -> new NotFoundException("Reservation not found"));
+
+        ask(eventId, actor -> {
+            delegate.cancelReservation(reservationId, user);
+            // Seats given back; the lower count stays safe until the next rejection re-reads it
+            return null;
+        });
+    }
+
+    /**
+     * Forget cached seat state of events whose capacity or status changed, and retire the actors of events
+     * that can no longer be booked
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        boolean closed = change.status() == null || change.status() == EventStatus.FINISHED
+                || change.status() == EventStatus.CANCELLED;
+        if (change.isBulk()) {
+            // The changed events are not named, so each actor checks its own
+            actors.keySet().forEach(eventId -> tellIfPresent(eventId, actor -> {
+                actor.availableSeats = UNKNOWN;
+                if (closed && eventRepository.findStatusById(eventId).orElse(null) != EventStatus.PUBLISHED) {
+                    actor.retired = true;
+                }
+            }));
+        } else {
+            tellIfPresent(change.eventId(), actor -> {
+                actor.availableSeats = UNKNOWN;
+                actor.retired = closed;
+            });
+        }
+    }
+
+    /**
+     * Number of events that currently have an actor
+     */
+    int actorCount() {
+        return actors.size();
+    }
+
+    /**
+     * Run a message on the event's actor and wait for its result
+     */
+    private <T> T ask(UUID eventId, MessageHandler<T> handler) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Messages are added under the map's lock, so a retiring actor cannot leave the map with one pending
+        actors.compute(eventId, (id, actor) -> {
+            EventActor target = actor != null ? actor : new EventActor(id);
+            target.tell(a -> {
+                try {
+                    result.complete(handler.handle(a));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            return target;
+        });
+        return await(result);
+    }
+
+    private void tellIfPresent(UUID eventId, Consumer<EventActor> message) {
+        actors.computeIfPresent(eventId, (id, actor) -> {
+            actor.tell(message);
+            return actor;
+        });
+    }
+
+    /**
+     * Owner of one event's seat state. Its fields are only touched from inside its own messages.
+     */
+    private final class EventActor {
+
+        private final UUID eventId;
+        private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        // Seats still available as last seen by this actor, or UNKNOWN to read the counter again
+        private int availableSeats = UNKNOWN;
+        // Set once the event is finished, cancelled or deleted: the actor leaves the map when its mailbox is empty
+        private boolean retired;
+
+        EventActor(UUID eventId) {
+            this.eventId = eventId;
+        }
+
+        /**
+         * Take seats through the delegate if they can fit, keeping the in-memory count in step
+         */
+        <T> T takeSeats(Integer numberOfSeats, Supplier<T> take) {
+            if (numberOfSeats != null && !fits(numberOfSeats)) {
+                int available = Math.max(0, availableSeats);
+                throw new ConflictException(
+                        String.format("Only %d seats available, requested %d", available, numberOfSeats)
+                );
+            }
+
+            T taken;
+            try {
+                taken = take.get();
+            } catch (RuntimeException e) {
+                // Rejected by the database, e.g. seats taken outside the actor
+                availableSeats = UNKNOWN;
+                throw e;
+            }
+            // Under-counting is safe (a concurrent replay takes no seats): the counter is read again before rejecting
+            if (availableSeats != UNKNOWN) {
+                availableSeats -= numberOfSeats;
+            }
+            return taken;
+        }
+
+        /**
+         * Whether the request can fit, reading the counter again before turning it away
+         */
+        boolean fits(int numberOfSeats) {
+            if (availableSeats >= numberOfSeats) {
+                return true;
+            }
+            availableSeats = eventRepository.findAvailableSeatsById(eventId).orElse(0);
+            return availableSeats >= numberOfSeats;
+        }
+
+        void tell(Consumer<EventActor> message) {
+            mailbox.add(() -> message.accept(this));
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                Thread.ofVirtual().name("reservation-actor-" + eventId).start(this::drain);
+            }
+        }
+
+        private void drain() {
+            running.acquireUninterruptibly();
+            try {
+                Runnable message;
+                while ((message = mailbox.poll()) != null) {
+                    message.run();
+                }
+            } finally {
+                running.release();
+            }
+            if (retired) {
+                // Checked under the map's lock, where messages are added, so nothing can arrive after removal
+                actors.computeIfPresent(eventId, (id, actor) -> actor == this && mailbox.isEmpty() ? null : actor);
+            }
+            scheduled.set(false);
+            // A message may have arrived after the last poll but before the flag was cleared
+            if (!mailbox.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface MessageHandler<T> {
+        T handle(EventActor actor);
+    }
+}
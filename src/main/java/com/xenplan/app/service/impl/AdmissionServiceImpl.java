@@ -0,0 +1,151 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.event.EventChangedEvent;
+import com.xenplan.app.domain.exception.ConflictException;
+import com.xenplan.app.service.AdmissionService;
+import com.xenplan.app.service.AdmissionTicket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory waiting rooms for event on-sales.
+ * <p>
+ * When an event is published, users who want to book get consecutive admission slots spaced
+ * {@code 1 / rate} apart (a leaky bucket over arrival order). Each user keeps their slot, so their
+ * position and wait can be computed at any time without a background thread. Slots are handed out in
+ * increasing order, so those that passed more than {@code admitted-grace} ago are pruned from the head
+ * of the queue as new users join. The queue is opened once the publication commits and closes after
+ * the configured window, when booking is no longer throttled.
+ * <p>
+ * The waiting rooms live on each node and are not shared, so a cluster of N nodes lets in up to
+ * N &times; {@code rate-per-second} users per second; set the rate to the cluster-wide target divided by
+ * the number of nodes.
+ */
+@Service
+public class AdmissionServiceImpl implements AdmissionService {
+
+    private final long intervalNanos;
+    private final long windowNanos;
+    private final long admittedGraceNanos;
+    private final Map<UUID, EventQueue> queues = new ConcurrentHashMap<>();
+
+    public AdmissionServiceImpl(@Value("${xenplan.admission.rate-per-second:20}") int ratePerSecond,
+                                @Value("${xenplan.admission.window:PT30M}") Duration window,
+                                @Value("${xenplan.admission.admitted-grace:PT10M}") Duration admittedGrace) {
+        long secondNanos = Duration.ofSeconds(1).toNanos();
+        if (ratePerSecond < 1 || ratePerSecond > secondNanos) {
+            throw new IllegalStateException("xenplan.admission.rate-per-second (ADMISSION_RATE_PER_SECOND) must be "
+                    + "between 1 and " + secondNanos + ", was " + ratePerSecond);
+        }
+        this.intervalNanos = secondNanos / ratePerSecond;
+        this.windowNanos = window.toNanos();
+        this.admittedGraceNanos = admittedGrace.toNanos();
+    }
+
+    @Override
+    public void openQueue(UUID eventId) {
+        queues.put(eventId, new EventQueue(System.nanoTime() + windowNanos));
+    }
+
+    /**
+     * Open the waiting room once a publication has committed, and drop the queues of events that are
+     * no longer on sale or whose window has passed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.status() == EventStatus.PUBLISHED && change.statusChanged() && !change.isBulk()) {
+            // Everyone arriving for the on-sale goes through the waiting room
+            openQueue(change.eventId());
+        } else if (change.status() != EventStatus.PUBLISHED && !change.isBulk()) {
+            queues.remove(change.eventId());
+        }
+        long now = System.nanoTime();
+        queues.values().removeIf(queue -> now - queue.closesAt() > 0);
+    }
+
+    /**
+     * Users holding a slot in the event's waiting room, 0 when none is open
+     */
+    public int queuedUsers(UUID eventId) {
+        EventQueue queue = queues.get(eventId);
+        return queue != null ? queue.size() : 0;
+    }
+
+    @Override
+    public AdmissionTicket join(UUID eventId, User user) {
+        long now = System.nanoTime();
+        EventQueue queue = queues.get(eventId);
+        if (queue == null) {
+            return AdmissionTicket.admittedNow();
+        }
+        if (now - queue.closesAt() > 0) {
+            queues.remove(eventId, queue);
+            return AdmissionTicket.admittedNow();
+        }
+
+        long wait = queue.slotFor(user.getId(), now, intervalNanos, admittedGraceNanos) - now;
+        if (wait <= 0) {
+            return AdmissionTicket.admittedNow();
+        }
+        long position = (wait + intervalNanos - 1) / intervalNanos;
+        return new AdmissionTicket(false, position, Duration.ofNanos(wait));
+    }
+
+    @Override
+    public void requireAdmission(UUID eventId, User user) {
+        AdmissionTicket ticket = join(eventId, user);
+        if (!ticket.admitted()) {
+            throw new ConflictException(String.format(
+                    "Booking is busy. You are number %d in line, please wait about %d seconds",
+                    ticket.position(), Math.max(1, ticket.estimatedWait().toSeconds())));
+        }
+    }
+
+    private static final class EventQueue {
+
+        private final long closesAt;
+        // Insertion order is slot order
+        private final Map<UUID, Long> slots = new LinkedHashMap<>();
+        private long nextSlot;
+
+        EventQueue(long closesAt) {
+            this.closesAt = closesAt;
+            this.nextSlot = System.nanoTime();
+        }
+
+        long closesAt() {
+            return closesAt;
+        }
+
+        synchronized int size() {
+            return slots.size();
+        }
+
+        /**
+         * Admission time of the user, handing out the next free slot on first arrival
+         */
+        synchronized long slotFor(UUID userId, long now, long intervalNanos, long admittedGraceNanos) {
+            // Users admitted long enough ago have booked or left, so their slots stop taking memory
+            Iterator<Long> oldest = slots.values().iterator();
+            while (oldest.hasNext() && now - oldest.next() > admittedGraceNanos) {
+                oldest.remove();
+            }
+            return slots.computeIfAbsent(userId, id -> {
+                // Slots not used while nobody was waiting are not saved up for later
+                long slot = Math.max(nextSlot, now);
+                nextSlot = slot + intervalNanos;
+                return slot;
+            });
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.entity.Reservation;
+import com.xenplan.app.domain.entity.SeatHold;
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.domain.event.SeatAvailabilityChangedEvent;
+import com.xenplan.app.domain.exception.ConflictException;
+import com.xenplan.app.domain.exception.NotFoundException;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.ReservationRepository;
+import com.xenplan.app.repository.SeatHoldRepository;
+import com.xenplan.app.repository.StatsDelta;
+import com.xenplan.app.service.AdmissionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Group-commit engine for {@link #holdSeats} and {@link #createReservation}, enabled with
+ * {@code xenplan.reservations.engine=batching}.
+ * <p>
+ * Concurrent requests for the same event join an open batch. The first request of a batch leads it: it
+ * waits up to the batching window (or until the batch is full), then checks capacity for the whole batch
+ * in memory and writes it with one seat counter update, one JDBC batch of inserts and one commit. Every
+ * caller gets its own seat hold or reservation, or {@link ConflictException}. Checkout takes its seats
+ * with {@link #holdSeats}, so that is the call that meets an on-sale rush. All other operations go to
+ * {@link ReservationServiceImpl}.
+ * <p>
+ * Callers block until their batch commits, so this must not be called inside an open transaction.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "xenplan.reservations.engine", havingValue = "batching")
+public class BatchingReservationService extends DelegatingReservationService {
+
+    // Capacity checks of one batch before its requests are turned away, when writers outside it keep winning
+    private static final int MAX_CAPACITY_ATTEMPTS = 5;
+
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationCodeAllocator reservationCodeAllocator;
+    private final SeatHoldRepository seatHoldRepository;
+    private final SeatHoldExpiryQueue seatHoldExpiryQueue;
+    private final Duration seatHoldTtl;
+    private final AdmissionService admissionService;
+    private final StatisticsRecorder statisticsRecorder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final ConcurrentHashMap<UUID, Batch> openBatches = new ConcurrentHashMap<>();
+
+    public BatchingReservationService(ReservationServiceImpl delegate, EventRepository eventRepository,
+                                      ReservationRepository reservationRepository,
+                                      ReservationCodeAllocator reservationCodeAllocator,
+                                      SeatHoldRepository seatHoldRepository,
+                                      SeatHoldExpiryQueue seatHoldExpiryQueue,
+                                      @Value("${xenplan.reservations.hold-ttl:PT10M}") Duration seatHoldTtl,
+                                      AdmissionService admissionService,
+                                      StatisticsRecorder statisticsRecorder,
+                                      ApplicationEventPublisher eventPublisher,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${xenplan.reservations.batching.window:PT0.005S}") Duration window,
+                                      @Value("${xenplan.reservations.batching.max-size:200}") int maxBatchSize) {
+        super(delegate);
+        this.eventRepository = eventRepository;
+        this.reservationRepository = reservationRepository;
+        this.reservationCodeAllocator = reservationCodeAllocator;
+        this.seatHoldRepository = seatHoldRepository;
+        this.seatHoldExpiryQueue = seatHoldExpiryQueue;
+        this.seatHoldTtl = seatHoldTtl;
+        this.admissionService = admissionService;
+        this.statisticsRecorder = statisticsRecorder;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public Reservation createReservation(UUID eventId, Integer numberOfSeats, String comment, User user,
+                                         String idempotencyKey) {
+        return (Reservation) submit(eventId, numberOfSeats, comment, user, idempotencyKey, false);
+    }
+
+    @Override
+    public SeatHold holdSeats(UUID eventId, Integer numberOfSeats, User user) {
+        return (SeatHold) submit(eventId, numberOfSeats, null, user, null, true);
+    }
+
+    /**
+     * Add a request to the event's open batch, flush the batch if the request leads it, and wait for its outcome
+     */
+    private Object submit(UUID eventId, Integer numberOfSeats, String comment, User user, String idempotencyKey,
+                          boolean hold) {
+        // Validate seats
+        if (numberOfSeats == null || numberOfSeats < 1 || numberOfSeats > 10) {
+            throw new ConflictException("Number of seats must be between 1 and 10");
+        }
+
+        // During an on-sale only users let out of the waiting room reach the database
+        admissionService.requireAdmission(eventId, user);
+
+        Request request = new Request(numberOfSeats, comment, user, idempotencyKey, hold, new CompletableFuture<>());
+        Batch batch = openBatches.compute(eventId, (id, open) -> {
+            if (open != null && open.add(request)) {
+                return open;
+            }
+            Batch fresh = new Batch(maxBatchSize);
+            fresh.add(request);
+            return fresh;
+        });
+
+        if (batch.isLeader(request)) {
+            List<Request> requests = batch.close(windowNanos);
+            openBatches.remove(eventId, batch);
+            flush(eventId, requests);
+        }
+
+        return await(request.result());
+    }
+
+    /**
+     * Write one batch in a single transaction and hand each caller its outcome once it has committed
+     */
+    private void flush(UUID eventId, List<Request> requests) {
+        Map<Request, Object> outcomes;
+        try {
+            outcomes = write(eventId, requests);
+        } catch (RuntimeException e) {
+            requests.forEach(request -> request.result().completeExceptionally(e));
+            return;
+        }
+
+        for (Request request : requests) {
+            Object outcome = outcomes.get(request);
+            if (outcome instanceof RuntimeException rejection) {
+                request.result().completeExceptionally(rejection);
+            } else {
+                request.result().complete(outcome);
+            }
+        }
+    }
+
+    /**
+     * Run the batch in one transaction. A request replayed while its first attempt is still being written
+     * elsewhere passes the key lookup and fails the commit on the unique index. The batch is then run once
+     * more: the lookup in the new transaction finds those originals and replays them, and the rest of the
+     * batch is written as usual.
+     */
+    private Map<Request, Object> write(UUID eventId, List<Request> requests) {
+        try {
+            return transactionTemplate.execute(status -> process(eventId, requests));
+        } catch (DataIntegrityViolationException e) {
+            boolean keyed = requests.stream().anyMatch(request -> request.idempotencyKey() != null);
+            if (!keyed || !DuplicateKeyReplayAspect.violates(e, ReservationServiceImpl.IDEMPOTENCY_KEY_CONSTRAINT)) {
+                throw e;
+            }
+            return transactionTemplate.execute(status -> process(eventId, requests));
+        }
+    }
+
+    /**
+     * Outcome per request: the reservation or seat hold, or the exception to throw to that caller
+     */
+    private Map<Request, Object> process(UUID eventId, List<Request> requests) {
+        Map<Request, Object> outcomes = new HashMap<>();
+
+        Optional<Event> found = eventRepository.findById(eventId);
+        if (found.isEmpty() || found.get().getStatus() != EventStatus.PUBLISHED) {
+            RuntimeException rejection = found.isEmpty()
+                    ? new NotFoundException("Event not found")
+                    : new ConflictException("Event must be PUBLISHED to make reservations");
+            rejectAll(requests, outcomes, rejection);
+            return outcomes;
+        }
+        Event event = found.get();
+
+        // Replayed requests get their original reservation, with one lookup for the whole batch
+        List<String> keys = requests.stream().map(Request::idempotencyKey).filter(key -> key != null).toList();
+        Map<String, Reservation> originals = keys.isEmpty() ? new HashMap<>()
+                : reservationRepository.findByIdempotencyKeyIn(keys).stream()
+                        .collect(Collectors.toMap(Reservation::getIdempotencyKey, Function.identity()));
+
+        List<Request> pending = new ArrayList<>();
+        Map<String, Request> firstByKey = new HashMap<>();
+        for (Request request : requests) {
+            String key = request.idempotencyKey();
+            Reservation original = key == null ? null : originals.get(key);
+            if (original != null) {
+                outcomes.put(request, original.getUser().getId().equals(request.user().getId())
+                        ? original
+                        : new ConflictException("This request was already used for another reservation"));
+            } else if (key != null && firstByKey.containsKey(key)) {
+                // Same key twice in one batch, resolved after the first one is written
+                continue;
+            } else {
+                if (key != null) {
+                    firstByKey.put(key, request);
+                }
+                pending.add(request);
+            }
+        }
+
+        // Business rule: Check available capacity, first come first served within the batch.
+        // The conditional UPDATE on the seat counter still guards against writers outside this batch.
+        List<Request> accepted;
+        for (int attempt = 1; ; attempt++) {
+            int availableSeats = Math.max(0, eventRepository.findAvailableSeatsById(eventId).orElse(0));
+            accepted = new ArrayList<>();
+            int seats = 0;
+            for (Request request : pending) {
+                if (seats + request.numberOfSeats() <= availableSeats) {
+                    accepted.add(request);
+                    seats += request.numberOfSeats();
+                } else {
+                    outcomes.put(request, new ConflictException(String.format(
+                            "Only %d seats available, requested %d",
+                            availableSeats - seats, request.numberOfSeats())));
+                }
+            }
+            if (accepted.isEmpty() || eventRepository.reserveSeats(eventId, seats) == 1) {
+                break;
+            }
+
+            // The counter update also fails once the event is no longer PUBLISHED, which no retry can fix
+            if (eventRepository.findStatusById(eventId).orElse(null) != EventStatus.PUBLISHED) {
+                rejectAll(pending, outcomes, new ConflictException("Event must be PUBLISHED to make reservations"));
+                accepted = List.of();
+                break;
+            }
+            // Seats keep being taken outside this batch: give up rather than hold the transaction
+            if (attempt == MAX_CAPACITY_ATTEMPTS) {
+                rejectAll(pending, outcomes, new ConflictException("Seats are selling fast, please try again"));
+                accepted = List.of();
+                break;
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            writeReservations(event, accepted.stream().filter(request -> !request.hold()).toList(), outcomes);
+            writeSeatHolds(event, accepted.stream().filter(Request::hold).toList(), outcomes);
+            eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(eventId,
+                    accepted.stream().mapToInt(Request::numberOfSeats).sum()));
+        }
+
+        for (Request request : requests) {
+            String key = request.idempotencyKey();
+            if (!outcomes.containsKey(request)) {
+                Object first = outcomes.get(firstByKey.get(key));
+                outcomes.put(request, first instanceof Reservation reservation
+                        && !reservation.getUser().getId().equals(request.user().getId())
+                        ? new ConflictException("This request was already used for another reservation")
+                        : first);
+            }
+        }
+        return outcomes;
+    }
+
+    private void writeReservations(Event event, List<Request> accepted, Map<Request, Object> outcomes) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+        List<Reservation> reservations = new ArrayList<>(accepted.size());
+        for (Request request : accepted) {
+            reservations.add(ReservationServiceImpl.newPendingReservation(event, request.numberOfSeats(),
+                    request.comment(), request.user(), reservationCodeAllocator.nextCode(), request.idempotencyKey()));
+        }
+        List<Reservation> saved = reservationRepository.saveAll(reservations);
+        StatsDelta delta = new StatsDelta();
+        for (int i = 0; i < accepted.size(); i++) {
+            outcomes.put(accepted.get(i), saved.get(i));
+            delta.reservations(ReservationStatus.PENDING, 1, saved.get(i).getNumberOfSeats(),
+                    saved.get(i).getTotalAmount());
+        }
+        statisticsRecorder.record(event.getOrganizer().getId(), event.getId(), delta);
+    }
+
+    private void writeSeatHolds(Event event, List<Request> accepted, Map<Request, Object> outcomes) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plus(seatHoldTtl);
+        List<SeatHold> holds = new ArrayList<>(accepted.size());
+        for (Request request : accepted) {
+            holds.add(SeatHold.builder()
+                    .user(request.user())
+                    .event(event)
+                    .numberOfSeats(request.numberOfSeats())
+                    .expiresAt(expiresAt)
+                    .build());
+        }
+        List<SeatHold> saved = seatHoldRepository.saveAll(holds);
+        for (int i = 0; i < accepted.size(); i++) {
+            outcomes.put(accepted.get(i), saved.get(i));
+            seatHoldExpiryQueue.schedule(saved.get(i));
+        }
+    }
+
+    private static void rejectAll(List<Request> requests, Map<Request, Object> outcomes, RuntimeException rejection) {
+        requests.forEach(request -> outcomes.put(request, rejection));
+    }
+
+    /**
+     * One caller's request: a seat hold when {@code hold} is set, otherwise a reservation
+     */
+    private record Request(int numberOfSeats, String comment, User user, String idempotencyKey, boolean hold,
+                           CompletableFuture<Object> result) {
+    }
+
+    /**
+     * Requests collected for one event until the leader closes the batch
+     */
+    private static final class Batch {
+
+        private final int maxSize;
+        private final List<Request> requests = new ArrayList<>();
+        private boolean closed;
+
+        Batch(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        synchronized boolean add(Request request) {
+            if (closed || requests.size() >= maxSize) {
+                return false;
+            }
+            requests.add(request);
+            if (requests.size() == maxSize) {
+                notifyAll();
+            }
+            return true;
+        }
+
+        synchronized boolean isLeader(Request request) {
+            return requests.get(0) == request;
+        }
+
+        /**
+         * Wait until the window has passed or the batch is full, then stop accepting requests
+         */
+        synchronized List<Request> close(long windowNanos) {
+            long deadline = System.nanoTime() + windowNanos;
+            boolean interrupted = false;
+            long remaining;
+            while (requests.size() < maxSize && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+                } catch (InterruptedException e) {
+                    // The other callers are waiting on this batch, so flush it anyway
+                    interrupted = true;
+                    break;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            closed = true;
+            return List.copyOf(requests);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.xenplan.app.service.impl;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The reservation codes admitted to one event, packed for door scanning.
+ * <p>
+ * Each {@code EVT-XXXXX} code is five base-36 digits, which fit in 26 bits, so the codes are kept as
+ * ints in an open-addressing table (about 8 bytes per ticket, no boxing). Check-ins are one bit per
+ * slot, set with compare-and-swap, so concurrent scanners admit each ticket exactly once without a
+ * lock. Tickets confirmed after the roster was built are checked in through a small overflow set.
+ */
+public final class CheckInRoster {
+
+    private static final String PREFIX = "EVT-";
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int CODE_LENGTH = 5;
+    private static final int EMPTY = -1;
+
+    private final UUID organizerId;
+    private final int[] slots;
+    private final int mask;
+    private final AtomicLongArray checkedInSlots;
+    private final Set<Integer> lateCheckIns = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger expected;
+    private final AtomicInteger checkedIn;
+
+    /**
+     * Roster of the first {@code count} packed codes; codes whose index is set in {@code alreadyCheckedIn}
+     * start out checked in
+     */
+    public CheckInRoster(UUID organizerId, int[] codes, int count, BitSet alreadyCheckedIn) {
+        this.organizerId = organizerId;
+        // Power of two at least twice the code count keeps probe sequences short
+        int capacity = Integer.highestOneBit(Math.max(count, 1) * 2) * 2;
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+        this.checkedInSlots = new AtomicLongArray((capacity + 63) / 64);
+        Arrays.fill(slots, EMPTY);
+
+        int distinct = 0;
+        int done = 0;
+        for (int i = 0; i < count; i++) {
+            int slot = probe(codes[i]);
+            if (slots[slot] == EMPTY) {
+                slots[slot] = codes[i];
+                distinct++;
+            }
+            if (alreadyCheckedIn.get(i) && setBit(slot)) {
+                done++;
+            }
+        }
+        this.expected = new AtomicInteger(distinct);
+        this.checkedIn = new AtomicInteger(done);
+    }
+
+    /**
+     * Pack an {@code EVT-XXXXX} code (case-insensitive) into an int; -1 when it is not a valid code
+     */
+    public static int pack(String reservationCode) {
+        if (reservationCode == null) {
+            return -1;
+        }
+        String code = reservationCode.trim();
+        if (code.length() != PREFIX.length() + CODE_LENGTH || !code.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            return -1;
+        }
+        int packed = 0;
+        for (int i = PREFIX.length(); i < code.length(); i++) {
+            int digit = ALPHABET.indexOf(Character.toUpperCase(code.charAt(i)));
+            if (digit < 0) {
+                return -1;
+            }
+            packed = packed * ALPHABET.length() + digit;
+        }
+        return packed;
+    }
+
+    /**
+     * The {@code EVT-XXXXX} code of a packed value
+     */
+    public static String unpack(int packed) {
+        char[] chars = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt(packed % ALPHABET.length());
+            packed /= ALPHABET.length();
+        }
+        return PREFIX + new String(chars);
+    }
+
+    public UUID getOrganizerId() {
+        return organizerId;
+    }
+
+    public boolean contains(int packed) {
+        return slots[probe(packed)] == packed;
+    }
+
+    /**
+     * Check a ticket of the roster in; false when it is not on the roster or was already checked in
+     */
+    public boolean checkIn(int packed) {
+        int slot = probe(packed);
+        if (slots[slot] != packed || !setBit(slot)) {
+            return false;
+        }
+        checkedIn.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Check in a ticket confirmed after the roster was built; false when it was already checked in
+     */
+    public boolean checkInLate(int packed) {
+        if (contains(packed) || !lateCheckIns.add(packed)) {
+            return false;
+        }
+        expected.incrementAndGet();
+        checkedIn.incrementAndGet();
+        return true;
+    }
+
+    public boolean isLateCheckIn(int packed) {
+        return lateCheckIns.contains(packed);
+    }
+
+    public int getExpected() {
+        return expected.get();
+    }
+
+    public int getCheckedIn() {
+        return checkedIn.get();
+    }
+
+    /**
+     * Slot holding the code, or the empty slot where it would go
+     */
+    private int probe(int packed) {
+        int slot = mix(packed) & mask;
+        while (slots[slot] != EMPTY && slots[slot] != packed) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private boolean setBit(int slot) {
+        int word = slot >>> 6;
+        long bit = 1L << slot;
+        while (true) {
+            long current = checkedInSlots.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+            if (checkedInSlots.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+        }
+    }
+
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
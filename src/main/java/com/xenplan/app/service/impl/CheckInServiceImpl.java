@@ -0,0 +1,271 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.entity.Reservation;
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.domain.exception.ConflictException;
+import com.xenplan.app.domain.exception.ForbiddenException;
+import com.xenplan.app.domain.exception.NotFoundException;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.ReservationRepository;
+import com.xenplan.app.repository.projection.CheckInCodeRow;
+import com.xenplan.app.repository.projection.CheckInCount;
+import com.xenplan.app.service.CheckInResult;
+import com.xenplan.app.service.CheckInService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Door check-in served from memory.
+ * <p>
+ * Opening check-in streams the event's CONFIRMED codes once into a {@link CheckInRoster}. From then on
+ * a scan is a lookup and a compare-and-swap on this node: no transaction is opened and the database only
+ * sees the batches of {@link CheckInWriter}. A code missing from the roster costs one read, so tickets
+ * confirmed at the door are still admitted; reservations cancelled after opening are admitted until
+ * check-in is closed and opened again.
+ * <p>
+ * Rosters are partitioned by event: the node that opens check-in takes a {@link ClusterLease} on it and
+ * renews it while the roster is loaded, and other nodes never load a second one. Scans that reach another
+ * node go to the database instead, as a conditional UPDATE of the ticket that is not checked in yet, so the
+ * database decides between two nodes. The lease holder reads those check-ins back into its roster every
+ * {@code sync-interval}; a ticket scanned on both sides within one flush of {@link CheckInWriter} or one
+ * sync can still be admitted twice, which the writer logs.
+ */
+@Service
+public class CheckInServiceImpl implements CheckInService {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckInServiceImpl.class);
+
+    static final String LEASE_PREFIX = "check-in:";
+
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+    private final CheckInWriter checkInWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ClusterLease clusterLease;
+    private final Duration leaseDuration;
+
+    private final Map<UUID, CheckInRoster> rosters = new ConcurrentHashMap<>();
+
+    public CheckInServiceImpl(EventRepository eventRepository, ReservationRepository reservationRepository,
+                              CheckInWriter checkInWriter, PlatformTransactionManager transactionManager,
+                              ClusterLease clusterLease,
+                              @Value("${xenplan.check-in.lease:PT2M}") Duration leaseDuration) {
+        this.eventRepository = eventRepository;
+        this.reservationRepository = reservationRepository;
+        this.checkInWriter = checkInWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.clusterLease = clusterLease;
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Override
+    public CheckInResult openCheckIn(UUID eventId, User user) {
+        CheckInRoster roster = rosters.get(eventId);
+        if (roster == null) {
+            Event event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new NotFoundException("Event not found"));
+            requireDoorAccess(event.getOrganizer().getId(), user);
+            // Business rule: Only published (or just finished) events have tickets to check in
+            if (event.getStatus() != EventStatus.PUBLISHED && event.getStatus() != EventStatus.FINISHED) {
+                throw new ConflictException("Check-in is only open for PUBLISHED events");
+            }
+            // Business rule: One node keeps an event's tickets in memory, the others check in through the database
+            if (!clusterLease.tryAcquire(LEASE_PREFIX + eventId, leaseDuration)) {
+                return countCheckIns(eventId, null);
+            }
+            UUID organizerId = event.getOrganizer().getId();
+            roster = rosters.computeIfAbsent(eventId, id -> load(id, organizerId));
+        }
+        requireDoorAccess(roster.getOrganizerId(), user);
+        return new CheckInResult(null, roster.getCheckedIn(), roster.getExpected());
+    }
+
+    @Override
+    public CheckInResult checkIn(UUID eventId, String reservationCode, User user) {
+        CheckInRoster roster = rosters.get(eventId);
+        if (roster == null) {
+            openCheckIn(eventId, user);
+            roster = rosters.get(eventId);
+            if (roster == null) {
+                return checkInRemotely(eventId, reservationCode);
+            }
+        }
+        requireDoorAccess(roster.getOrganizerId(), user);
+
+        int packed = CheckInRoster.pack(reservationCode);
+        CheckInResult.Outcome outcome;
+        if (packed < 0) {
+            outcome = CheckInResult.Outcome.UNKNOWN_CODE;
+        } else if (roster.contains(packed)) {
+            outcome = roster.checkIn(packed) ? admit(packed) : CheckInResult.Outcome.ALREADY_CHECKED_IN;
+        } else if (roster.isLateCheckIn(packed)) {
+            outcome = CheckInResult.Outcome.ALREADY_CHECKED_IN;
+        } else {
+            outcome = checkInLate(eventId, roster, packed);
+        }
+        return new CheckInResult(outcome, roster.getCheckedIn(), roster.getExpected());
+    }
+
+    @Override
+    public void closeCheckIn(UUID eventId, User user) {
+        CheckInRoster roster = rosters.get(eventId);
+        if (roster == null) {
+            return;
+        }
+        requireDoorAccess(roster.getOrganizerId(), user);
+        // Stop scans first, so nothing is admitted from this roster after its check-ins are written
+        rosters.remove(eventId, roster);
+        checkInWriter.flush();
+    }
+
+    /**
+     * Keep the leases of the loaded rosters. A roster whose lease was lost (the node stalled past its
+     * duration and another node opened check-in) is dropped, so only one node keeps admitting.
+     */
+    @Scheduled(fixedDelayString = "${xenplan.check-in.lease-renew-interval:PT30S}")
+    public void renewLeases() {
+        for (UUID eventId : rosters.keySet()) {
+            if (!clusterLease.tryAcquire(LEASE_PREFIX + eventId, leaseDuration)) {
+                log.warn("Lost the check-in lease of event {}, dropping its roster", eventId);
+                rosters.remove(eventId);
+                checkInWriter.flush();
+            }
+        }
+    }
+
+    /**
+     * Apply the check-ins other nodes wrote for the loaded events to their rosters. A node stalled longer
+     * than the lease has lost its rosters, so looking back one lease duration misses none.
+     */
+    @Scheduled(fixedDelayString = "${xenplan.check-in.sync-interval:PT2S}")
+    public void syncRosters() {
+        LocalDateTime since = LocalDateTime.now().minus(leaseDuration);
+        rosters.forEach((eventId, roster) -> {
+            List<String> codes = readOnlyTransaction.execute(
+                    status -> reservationRepository.findCheckedInCodesByEventIdSince(eventId, since));
+            for (String code : codes) {
+                int packed = CheckInRoster.pack(code);
+                if (packed < 0) {
+                    continue;
+                }
+                if (roster.contains(packed)) {
+                    roster.checkIn(packed);
+                } else {
+                    roster.checkInLate(packed);
+                }
+            }
+        });
+    }
+
+    private CheckInResult.Outcome admit(int packed) {
+        checkInWriter.record(CheckInRoster.unpack(packed), LocalDateTime.now());
+        return CheckInResult.Outcome.ADMITTED;
+    }
+
+    /**
+     * A code missing from the roster: one read to find out whether it was confirmed after opening
+     */
+    private CheckInResult.Outcome checkInLate(UUID eventId, CheckInRoster roster, int packed) {
+        Optional<Reservation> reservation = reservationRepository.findByReservationCode(CheckInRoster.unpack(packed));
+        if (reservation.isEmpty() || !reservation.get().getEvent().getId().equals(eventId)) {
+            return CheckInResult.Outcome.UNKNOWN_CODE;
+        }
+        if (reservation.get().getStatus() != ReservationStatus.CONFIRMED) {
+            return CheckInResult.Outcome.NOT_CONFIRMED;
+        }
+        if (reservation.get().getCheckedInAt() != null) {
+            roster.checkInLate(packed);
+            return CheckInResult.Outcome.ALREADY_CHECKED_IN;
+        }
+        return roster.checkInLate(packed) ? admit(packed) : CheckInResult.Outcome.ALREADY_CHECKED_IN;
+    }
+
+    /**
+     * A scan on a node without the event's roster: the database admits the ticket at most once
+     */
+    private CheckInResult checkInRemotely(UUID eventId, String reservationCode) {
+        int packed = CheckInRoster.pack(reservationCode);
+        if (packed < 0) {
+            return countCheckIns(eventId, CheckInResult.Outcome.UNKNOWN_CODE);
+        }
+        String code = CheckInRoster.unpack(packed);
+        Integer updated = transactionTemplate.execute(
+                status -> reservationRepository.markCheckedIn(eventId, code, LocalDateTime.now()));
+        if (updated != null && updated > 0) {
+            return countCheckIns(eventId, CheckInResult.Outcome.ADMITTED);
+        }
+        Optional<Reservation> reservation = reservationRepository.findByReservationCode(code);
+        CheckInResult.Outcome outcome;
+        if (reservation.isEmpty() || !reservation.get().getEvent().getId().equals(eventId)) {
+            outcome = CheckInResult.Outcome.UNKNOWN_CODE;
+        } else if (reservation.get().getStatus() != ReservationStatus.CONFIRMED) {
+            outcome = CheckInResult.Outcome.NOT_CONFIRMED;
+        } else {
+            outcome = CheckInResult.Outcome.ALREADY_CHECKED_IN;
+        }
+        return countCheckIns(eventId, outcome);
+    }
+
+    private CheckInResult countCheckIns(UUID eventId, CheckInResult.Outcome outcome) {
+        CheckInCount count = reservationRepository.countCheckInsByEventId(eventId);
+        return new CheckInResult(outcome, (int) count.getCheckedIn(), (int) count.getExpected());
+    }
+
+    private CheckInRoster load(UUID eventId, UUID organizerId) {
+        return readOnlyTransaction.execute(status -> {
+            int[] codes = new int[1024];
+            BitSet checkedIn = new BitSet();
+            int count = 0;
+            try (Stream<CheckInCodeRow> rows = reservationRepository.streamCheckInCodesByEventId(eventId)) {
+                Iterator<CheckInCodeRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    CheckInCodeRow row = iterator.next();
+                    int packed = CheckInRoster.pack(row.getReservationCode());
+                    if (packed < 0) {
+                        continue;
+                    }
+                    if (count == codes.length) {
+                        codes = Arrays.copyOf(codes, count * 2);
+                    }
+                    if (row.getCheckedInAt() != null) {
+                        checkedIn.set(count);
+                    }
+                    codes[count++] = packed;
+                }
+            }
+            return new CheckInRoster(organizerId, codes, count, checkedIn);
+        });
+    }
+
+    private static void requireDoorAccess(UUID organizerId, User user) {
+        // Business rule: Only event organizer or admin can check tickets in
+        boolean isOrganizer = organizerId.equals(user.getId());
+        boolean isAdmin = user.getRole().name().equals("ADMIN");
+        if (!isOrganizer && !isAdmin) {
+            throw new ForbiddenException("Only event organizer or admin can check tickets in");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.repository.ReservationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes door check-ins to the reservations table behind the scanners.
+ * <p>
+ * Scans only queue the code. A background thread writes everything queued once per interval, up to
+ * {@code batch-size} codes per UPDATE, so a rush at the door costs a few statements per second instead
+ * of one per ticket. Each statement stamps its codes with the latest scan time among them, which is at
+ * most one interval late. A failed write is queued again for the next run. A statement that marks fewer
+ * reservations than it was given means tickets were admitted twice, which is logged.
+ * <p>
+ * The queue lives only in memory: check-ins still queued when the node crashes are lost, and since the
+ * roster is rebuilt from the database those tickets can be admitted again after it is loaded anew.
+ */
+@Component
+public class CheckInWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckInWriter.class);
+
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long intervalMillis;
+    private final int batchSize;
+    private final ConcurrentLinkedQueue<CheckIn> pending = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("check-in-writer").daemon().factory());
+
+    public CheckInWriter(ReservationRepository reservationRepository, PlatformTransactionManager transactionManager,
+                         @Value("${xenplan.check-in.flush-interval:PT1S}") Duration interval,
+                         @Value("${xenplan.check-in.batch-size:1000}") int batchSize) {
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.intervalMillis = interval.toMillis();
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queue a check-in to be written with the next batch
+     */
+    public void record(String reservationCode, LocalDateTime checkedInAt) {
+        pending.add(new CheckIn(reservationCode, checkedInAt));
+    }
+
+    /**
+     * Write every queued check-in now; returns how many reservations were marked
+     */
+    public synchronized int flush() {
+        int written = 0;
+        List<CheckIn> batch;
+        while (!(batch = drain()).isEmpty()) {
+            try {
+                written += write(batch);
+            } catch (RuntimeException e) {
+                pending.addAll(batch);
+                throw e;
+            }
+        }
+        return written;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        flushQuietly();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to write check-ins, retrying with the next batch", e);
+        }
+    }
+
+    private List<CheckIn> drain() {
+        List<CheckIn> batch = new ArrayList<>();
+        CheckIn checkIn;
+        while (batch.size() < batchSize && (checkIn = pending.poll()) != null) {
+            batch.add(checkIn);
+        }
+        return batch;
+    }
+
+    private int write(List<CheckIn> batch) {
+        LocalDateTime latest = batch.get(0).checkedInAt();
+        List<String> codes = new ArrayList<>(batch.size());
+        for (CheckIn checkIn : batch) {
+            codes.add(checkIn.reservationCode());
+            if (checkIn.checkedInAt().isAfter(latest)) {
+                latest = checkIn.checkedInAt();
+            }
+        }
+        LocalDateTime checkedInAt = latest;
+        Integer updated = transactionTemplate.execute(status -> reservationRepository.markCheckedIn(codes, checkedInAt));
+        int marked = updated != null ? updated : 0;
+        if (marked < codes.size()) {
+            // Every queued code was admitted as not yet checked in, so the others were checked in elsewhere
+            log.warn("{} of {} admitted tickets were already checked in", codes.size() - marked, codes.size());
+        }
+        return marked;
+    }
+
+    private record CheckIn(String reservationCode, LocalDateTime checkedInAt) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.SchedulerLease;
+import com.xenplan.app.repository.SchedulerLeaseRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database-backed leases that let exactly one application node run a scheduled task.
+ * <p>
+ * Taking a lease is a single conditional UPDATE on its row, so nodes never wait on each other: the
+ * loser sees 0 rows updated and skips the run. The holder renews the lease each time it runs, so the
+ * task stays on one node while that node is up and moves to another once the lease lapses. Lease
+ * durations should be well above the clock skew between nodes.
+ */
+@Component
+public class ClusterLease {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate newTransaction;
+    private final String owner = UUID.randomUUID().toString();
+
+    public ClusterLease(SchedulerLeaseRepository leaseRepository, PlatformTransactionManager transactionManager) {
+        this.leaseRepository = leaseRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Take or renew the named lease for the given duration; returns false when another node holds it
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = now.plus(duration);
+        try {
+            return Boolean.TRUE.equals(newTransaction.execute(status -> {
+                if (leaseRepository.acquire(name, owner, now, lockedUntil) == 1) {
+                    return true;
+                }
+                if (leaseRepository.existsById(name)) {
+                    return false;
+                }
+                // First run of this task anywhere
+                leaseRepository.saveAndFlush(new SchedulerLease(name, owner, lockedUntil));
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the lease at the same time and holds it
+            return false;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.xenplan.app.service.impl;
+
+import com.vaadin.flow.shared.Registration;
+import com.xenplan.app.domain.event.SeatAvailabilityChangedEvent;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.service.SeatAvailabilityBroadcaster;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Pushes seat availability to the pages showing an event.
+ * <p>
+ * Committed seat changes only mark their event as changed. The first change schedules a push one
+ * interval later; changes arriving until then share it, so a busy on-sale costs one counter read per
+ * event and interval however many bookings and viewers there are. Events nobody is watching are ignored.
+ */
+@Component
+public class CoalescingSeatAvailabilityBroadcaster implements SeatAvailabilityBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(CoalescingSeatAvailabilityBroadcaster.class);
+
+    private final EventRepository eventRepository;
+    private final long intervalMillis;
+    private final Map<UUID, Set<IntConsumer>> listeners = new ConcurrentHashMap<>();
+    private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("seat-availability-push").daemon().factory());
+
+    public CoalescingSeatAvailabilityBroadcaster(EventRepository eventRepository,
+                                                 @Value("${xenplan.events.availability.push-interval:PT0.5S}") Duration interval) {
+        this.eventRepository = eventRepository;
+        this.intervalMillis = interval.toMillis();
+    }
+
+    @Override
+    public Registration subscribe(UUID eventId, IntConsumer listener) {
+        listeners.compute(eventId, (id, current) -> {
+            Set<IntConsumer> subscribers = current != null ? current : new CopyOnWriteArraySet<>();
+            subscribers.add(listener);
+            return subscribers;
+        });
+        return () -> listeners.computeIfPresent(eventId, (id, subscribers) -> {
+            subscribers.remove(listener);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(SeatAvailabilityChangedEvent change) {
+        UUID eventId = change.eventId();
+        // Nobody is watching, or a push for this event is already scheduled
+        if (!listeners.containsKey(eventId) || !changed.add(eventId)) {
+            return;
+        }
+        scheduler.schedule(() -> push(eventId), intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void push(UUID eventId) {
+        // Cleared before reading, so a change committed from here on schedules the next push
+        changed.remove(eventId);
+        Set<IntConsumer> subscribers = listeners.get(eventId);
+        if (subscribers == null) {
+            return;
+        }
+
+        int availableSeats;
+        try {
+            availableSeats = Math.max(0, eventRepository.findAvailableSeatsById(eventId).orElse(0));
+        } catch (RuntimeException e) {
+            log.warn("Failed to read seat availability of event {}", eventId, e);
+            return;
+        }
+        for (IntConsumer listener : subscribers) {
+            try {
+                listener.accept(availableSeats);
+            } catch (RuntimeException e) {
+                log.warn("Failed to push seat availability of event {}", eventId, e);
+            }
+        }
+    }
+}
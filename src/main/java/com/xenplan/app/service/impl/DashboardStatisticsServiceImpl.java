@@ -0,0 +1,66 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.PlatformStats;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.domain.enums.Role;
+import com.xenplan.app.repository.PlatformStatsRepository;
+import com.xenplan.app.service.DashboardStatisticsService;
+import com.xenplan.app.service.PlatformStatistics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Dashboard counts read from the counters maintained by {@link StatisticsRecorder}: a handful of shard
+ * rows, whatever the size of the user, event and reservation tables.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DashboardStatisticsServiceImpl implements DashboardStatisticsService {
+
+    private final PlatformStatsRepository platformStatsRepository;
+
+    public DashboardStatisticsServiceImpl(PlatformStatsRepository platformStatsRepository) {
+        this.platformStatsRepository = platformStatsRepository;
+    }
+
+    @Override
+    public PlatformStatistics getPlatformStatistics() {
+        Map<Role, Long> usersByRole = new EnumMap<>(Role.class);
+        Map<EventStatus, Long> eventsByStatus = new EnumMap<>(EventStatus.class);
+        Map<ReservationStatus, Long> reservationsByStatus = new EnumMap<>(ReservationStatus.class);
+        long activeUsers = 0;
+        long reservedSeats = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+
+        for (PlatformStats shard : platformStatsRepository.findAll()) {
+            usersByRole.merge(Role.ADMIN, shard.getAdmins(), Long::sum);
+            usersByRole.merge(Role.ORGANIZER, shard.getOrganizers(), Long::sum);
+            usersByRole.merge(Role.CLIENT, shard.getClients(), Long::sum);
+            activeUsers += shard.getActiveUsers();
+            eventsByStatus.merge(EventStatus.DRAFT, shard.getDraftEvents(), Long::sum);
+            eventsByStatus.merge(EventStatus.PUBLISHED, shard.getPublishedEvents(), Long::sum);
+            eventsByStatus.merge(EventStatus.CANCELLED, shard.getCancelledEvents(), Long::sum);
+            eventsByStatus.merge(EventStatus.FINISHED, shard.getFinishedEvents(), Long::sum);
+            reservationsByStatus.merge(ReservationStatus.PENDING, shard.getPendingReservations(), Long::sum);
+            reservationsByStatus.merge(ReservationStatus.CONFIRMED, shard.getConfirmedReservations(), Long::sum);
+            reservationsByStatus.merge(ReservationStatus.CANCELLED, shard.getCancelledReservations(), Long::sum);
+            reservedSeats += shard.getReservedSeats();
+            revenue = revenue.add(shard.getRevenue());
+        }
+
+        // Same shape as counting the source tables: groups without rows are omitted
+        usersByRole.values().removeIf(count -> count == 0);
+        eventsByStatus.values().removeIf(count -> count == 0);
+        reservationsByStatus.values().removeIf(count -> count == 0);
+
+        return new PlatformStatistics(Collections.unmodifiableMap(usersByRole), activeUsers,
+                Collections.unmodifiableMap(eventsByStatus), Collections.unmodifiableMap(reservationsByStatus),
+                reservedSeats, revenue);
+    }
+}
@@ -0,0 +1,151 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.Reservation;
+import com.xenplan.app.domain.entity.SeatHold;
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.entity.WaitlistEntry;
+import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.service.ClientBookingSummary;
+import com.xenplan.app.service.PendingReservationFilter;
+import com.xenplan.app.service.ReservationExportFormat;
+import com.xenplan.app.service.ReservationService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Base for alternative reservation engines: every operation goes to {@link ReservationServiceImpl}
+ * unless the engine overrides it.
+ */
+abstract class DelegatingReservationService implements ReservationService {
+
+    protected final ReservationServiceImpl delegate;
+
+    protected DelegatingReservationService(ReservationServiceImpl delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wait for a result computed on another thread, rethrowing its business exception as is
+     */
+    protected static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Reservation createReservation(UUID eventId, Integer numberOfSeats, String comment, User user) {
+        return createReservation(eventId, numberOfSeats, comment, user, null);
+    }
+
+    @Override
+    public Reservation createReservation(UUID eventId, Integer numberOfSeats, String comment, User user,
+                                         String idempotencyKey) {
+        return delegate.createReservation(eventId, numberOfSeats, comment, user, idempotencyKey);
+    }
+
+    @Override
+    public SeatHold holdSeats(UUID eventId, Integer numberOfSeats, User user) {
+        return delegate.holdSeats(eventId, numberOfSeats, user);
+    }
+
+    @Override
+    public Reservation confirmSeatHold(UUID holdId, String comment, User user) {
+        return delegate.confirmSeatHold(holdId, comment, user);
+    }
+
+    @Override
+    public void releaseSeatHold(UUID holdId, User user) {
+        delegate.releaseSeatHold(holdId, user);
+    }
+
+    @Override
+    public WaitlistEntry joinWaitlist(UUID eventId, Integer numberOfSeats, User user) {
+        return delegate.joinWaitlist(eventId, numberOfSeats, user);
+    }
+
+    @Override
+    public void leaveWaitlist(UUID eventId, User user) {
+        delegate.leaveWaitlist(eventId, user);
+    }
+
+    @Override
+    public Optional<Long> getWaitlistPosition(UUID eventId, User user) {
+        return delegate.getWaitlistPosition(eventId, user);
+    }
+
+    @Override
+    public void cancelReservation(UUID reservationId, User user) {
+        delegate.cancelReservation(reservationId, user);
+    }
+
+    @Override
+    public void confirmReservation(UUID reservationId, User user) {
+        delegate.confirmReservation(reservationId, user);
+    }
+
+    @Override
+    public Slice<Reservation> getEventReservations(UUID eventId, ReservationStatus status, Pageable pageable,
+                                                   User user) {
+        return delegate.getEventReservations(eventId, status, pageable, user);
+    }
+
+    @Override
+    public long exportEventReservations(UUID eventId, ReservationStatus status, ReservationExportFormat format,
+                                        User user, OutputStream output) throws IOException {
+        return delegate.exportEventReservations(eventId, status, format, user, output);
+    }
+
+    @Override
+    public int confirmPendingReservations(PendingReservationFilter filter, User user) {
+        return delegate.confirmPendingReservations(filter, user);
+    }
+
+    @Override
+    public int rejectPendingReservations(PendingReservationFilter filter, User user) {
+        return delegate.rejectPendingReservations(filter, user);
+    }
+
+    @Override
+    public List<Reservation> getReservationsByUser(User user) {
+        return delegate.getReservationsByUser(user);
+    }
+
+    @Override
+    public ClientBookingSummary getBookingSummary(User user) {
+        return delegate.getBookingSummary(user);
+    }
+
+    @Override
+    public List<Reservation> getUserReservations(User user) {
+        return delegate.getUserReservations(user);
+    }
+
+    @Override
+    public Optional<Reservation> verifyReservationByCode(String reservationCode) {
+        return delegate.verifyReservationByCode(reservationCode);
+    }
+
+    @Override
+    public Integer calculateTotalReservedSeats(UUID eventId) {
+        return delegate.calculateTotalReservedSeats(eventId);
+    }
+
+    @Override
+    public Optional<Reservation> findById(UUID reservationId) {
+        return delegate.findById(reservationId);
+    }
+}
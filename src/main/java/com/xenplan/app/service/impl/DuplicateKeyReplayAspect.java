@@ -0,0 +1,63 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.service.ReplayOnDuplicateKey;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+
+/**
+ * Replays {@link ReplayOnDuplicateKey} methods once after a violation of their key constraint.
+ * <p>
+ * Ordered before the transaction interceptor, so the failed attempt is fully rolled back (including
+ * any seats it took) before the replay starts its own transaction.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class DuplicateKeyReplayAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateKeyReplayAspect.class);
+
+    @Around("@annotation(replay)")
+    public Object replay(ProceedingJoinPoint joinPoint, ReplayOnDuplicateKey replay) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Part of a caller's transaction: only the caller can start over
+            return joinPoint.proceed();
+        }
+
+        try {
+            return joinPoint.proceed();
+        } catch (DataIntegrityViolationException e) {
+            if (!violates(e, replay.constraint())) {
+                throw e;
+            }
+            log.debug("Concurrent duplicate of an idempotency key in {}, replaying",
+                    joinPoint.getSignature().toShortString());
+            return joinPoint.proceed();
+        }
+    }
+
+    /**
+     * Whether the violation is on the given constraint. Drivers report the name with varying case and
+     * decorations, so the cause chain is searched for it.
+     */
+    static boolean violates(DataIntegrityViolationException e, String constraint) {
+        String name = constraint.toLowerCase(Locale.ROOT);
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,201 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.EventCancellationJob;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.domain.event.EventChangedEvent;
+import com.xenplan.app.repository.EventCancellationJobRepository;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.ReservationRepository;
+import com.xenplan.app.repository.StatsDelta;
+import com.xenplan.app.repository.WaitlistEntryRepository;
+import com.xenplan.app.repository.projection.ReservationSeatTotal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cancels the reservations of a cancelled event in the background.
+ * <p>
+ * The job is recorded in the same transaction that cancels the event and started once it commits.
+ * It walks the event's reservations in ID order, cancelling one chunk per short transaction and
+ * saving its position with it, so a large event never holds one long transaction and a restart
+ * continues from the last committed chunk.
+ * <p>
+ * Jobs run on the node holding the cascade's {@link ClusterLease}: the node committing a cancellation
+ * starts its job right away only if it holds or gets the lease, and the holder sweeps for unfinished
+ * jobs on every run, which picks up the jobs of other nodes, of nodes that went down and those that
+ * failed. A sweep renews the lease, so it stays with one node while that node is up.
+ */
+@Component
+public class EventCancellationCascade {
+
+    private static final Logger log = LoggerFactory.getLogger(EventCancellationCascade.class);
+
+    static final String LEASE_NAME = "event-cancellation";
+
+    private static final int MAX_CONFLICTS = 5;
+    private static final List<ReservationStatus> ACTIVE_STATUSES =
+            List.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+
+    private final EventCancellationJobRepository jobRepository;
+    private final ReservationRepository reservationRepository;
+    private final EventRepository eventRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final StatisticsRecorder statisticsRecorder;
+    private final ClusterLease clusterLease;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration leaseDuration;
+
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    public EventCancellationCascade(EventCancellationJobRepository jobRepository,
+                                    ReservationRepository reservationRepository,
+                                    EventRepository eventRepository,
+                                    WaitlistEntryRepository waitlistEntryRepository,
+                                    StatisticsRecorder statisticsRecorder,
+                                    ClusterLease clusterLease,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${xenplan.events.cancellation.chunk-size:500}") int chunkSize,
+                                    @Value("${xenplan.events.cancellation.lease:PT2M}") Duration leaseDuration) {
+        this.jobRepository = jobRepository;
+        this.reservationRepository = reservationRepository;
+        this.eventRepository = eventRepository;
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.statisticsRecorder = statisticsRecorder;
+        this.clusterLease = clusterLease;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.leaseDuration = leaseDuration;
+    }
+
+    /**
+     * Record the job in the transaction that cancels the event, so it is never lost once the event is cancelled
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void recordCancellation(EventChangedEvent change) {
+        if (isCancellation(change) && !jobRepository.existsById(change.eventId())) {
+            jobRepository.save(EventCancellationJob.builder().eventId(change.eventId()).build());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEventCancelled(EventChangedEvent change) {
+        // Without the lease, the holder's next sweep picks the job up
+        if (isCancellation(change) && clusterLease.tryAcquire(LEASE_NAME, leaseDuration)) {
+            launch(change.eventId());
+        }
+    }
+
+    /**
+     * Start every unfinished job that is not running here yet, on the lease holder only
+     */
+    @Scheduled(fixedDelayString = "${xenplan.events.cancellation.sweep-interval:PT1M}")
+    public void sweep() {
+        if (!clusterLease.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return;
+        }
+        List<EventCancellationJob> unfinished = transactionTemplate.execute(status -> jobRepository.findByCompletedAtIsNull());
+        unfinished.forEach(job -> launch(job.getEventId()));
+    }
+
+    /**
+     * Cancel the event's remaining reservations chunk by chunk until the job is done
+     */
+    public void resume(UUID eventId) {
+        int conflicts = 0;
+        while (true) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> cancelNextChunk(eventId)))) {
+                    return;
+                }
+                conflicts = 0;
+            } catch (OptimisticLockingFailureException e) {
+                // A reservation in the chunk was changed meanwhile; the chunk is read again
+                if (++conflicts >= MAX_CONFLICTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void launch(UUID eventId) {
+        if (!running.add(eventId)) {
+            return;
+        }
+        Thread.ofVirtual().name("event-cancellation-" + eventId).start(() -> {
+            try {
+                resume(eventId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to cancel reservations of event {}, will resume on the next sweep", eventId, e);
+            } finally {
+                running.remove(eventId);
+            }
+        });
+    }
+
+    /**
+     * Cancel the next chunk in one transaction; returns true once nothing is left
+     */
+    private boolean cancelNextChunk(UUID eventId) {
+        Optional<EventCancellationJob> job = jobRepository.findById(eventId);
+        if (job.isEmpty() || job.get().getCompletedAt() != null) {
+            return true;
+        }
+
+        List<UUID> ids = reservationRepository.findActiveIdsByEventIdAfter(
+                eventId, job.get().getLastReservationId(), Limit.of(chunkSize));
+        if (ids.isEmpty()) {
+            waitlistEntryRepository.deleteEventEntries(eventId);
+            jobRepository.complete(eventId, LocalDateTime.now());
+            return true;
+        }
+
+        long cancelled = 0;
+        int releasedSeats = 0;
+        StatsDelta delta = new StatsDelta();
+        for (ReservationStatus status : ACTIVE_STATUSES) {
+            ReservationSeatTotal active = reservationRepository.sumSeatsByIdsAndEventIdAndStatus(ids, eventId, status);
+            if (active.getReservationCount() == 0) {
+                continue;
+            }
+            int updated = reservationRepository.updateStatus(ids, eventId, status, ReservationStatus.CANCELLED);
+            // Seats are released for exactly the rows counted; if one changed in between, redo the chunk
+            if (updated != active.getReservationCount()) {
+                throw new OptimisticLockingFailureException("Reservations changed during event cancellation");
+            }
+            cancelled += updated;
+            releasedSeats += active.getSeatCount().intValue();
+            delta.reservations(status, ReservationStatus.CANCELLED, updated, active.getSeatCount(),
+                    active.getTotalAmount());
+        }
+
+        if (releasedSeats > 0) {
+            eventRepository.releaseSeats(eventId, releasedSeats);
+        }
+        statisticsRecorder.record(eventRepository.findOrganizerIdById(eventId).orElse(null), eventId, delta);
+        jobRepository.advance(eventId, ids.get(ids.size() - 1), cancelled);
+        return false;
+    }
+
+    private static boolean isCancellation(EventChangedEvent change) {
+        return !change.isBulk() && change.status() == EventStatus.CANCELLED;
+    }
+}
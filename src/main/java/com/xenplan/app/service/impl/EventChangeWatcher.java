@@ -0,0 +1,43 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.event.EventChangedEvent;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.projection.EventWatermark;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Announces event changes committed on other nodes.
+ * <p>
+ * {@link EventChangedEvent} is only delivered on the node that committed the change, so every node
+ * polls the watermark of the events table and publishes {@link EventChangedEvent#remote()} when it
+ * moved. The per-node caches listening for event changes then converge within one poll interval.
+ * Changes committed on this node move the watermark too, which costs one extra refresh per interval.
+ */
+@Component
+public class EventChangeWatcher {
+
+    private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private Watermark lastSeen;
+
+    public EventChangeWatcher(EventRepository eventRepository, ApplicationEventPublisher eventPublisher) {
+        this.eventRepository = eventRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(fixedDelayString = "${xenplan.events.change-poll-interval:PT5S}")
+    public void poll() {
+        EventWatermark watermark = eventRepository.findWatermark();
+        Watermark current = new Watermark(watermark.getEventCount(), watermark.getVersionSum());
+        if (lastSeen != null && !lastSeen.equals(current)) {
+            eventPublisher.publishEvent(EventChangedEvent.remote());
+        }
+        lastSeen = current;
+    }
+
+    private record Watermark(long eventCount, long versionSum) {
+    }
+}
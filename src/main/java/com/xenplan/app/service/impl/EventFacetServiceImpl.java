@@ -0,0 +1,87 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.enums.EventCategory;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.event.EventChangedEvent;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.projection.CategoryEventCount;
+import com.xenplan.app.repository.projection.CityEventCount;
+import com.xenplan.app.service.EventFacetService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Facet counts computed with GROUP BY queries and cached until an event changes.
+ * <p>
+ * Changes committed on this node drop the cache when they commit. Changes committed on other nodes drop
+ * it through {@link EventChangeWatcher}, which publishes {@link EventChangedEvent#remote()} when the events
+ * table's watermark moves, so the counts are at most one poll interval stale cluster-wide.
+ */
+@Service
+public class EventFacetServiceImpl implements EventFacetService {
+
+    private final EventRepository eventRepository;
+
+    private volatile Facets facets;
+
+    public EventFacetServiceImpl(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> countPublishedByCity() {
+        return current().byCity();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<EventCategory, Long> countPublishedByCategory() {
+        return current().byCategory();
+    }
+
+    /**
+     * Drop the cached counts once a change is committed, here or on another node; the next read recomputes them
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        synchronized (this) {
+            facets = null;
+        }
+    }
+
+    private Facets current() {
+        Facets current = facets;
+        if (current == null) {
+            synchronized (this) {
+                current = facets;
+                if (current == null) {
+                    current = load();
+                    facets = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Facets load() {
+        Map<String, Long> byCity = new LinkedHashMap<>();
+        for (CityEventCount count : eventRepository.countByCity(EventStatus.PUBLISHED)) {
+            byCity.put(count.getCity(), count.getEventCount());
+        }
+        Map<EventCategory, Long> byCategory = new EnumMap<>(EventCategory.class);
+        for (CategoryEventCount count : eventRepository.countByCategory(EventStatus.PUBLISHED)) {
+            byCategory.put(count.getCategory(), count.getEventCount());
+        }
+        return new Facets(Collections.unmodifiableMap(byCity), Collections.unmodifiableMap(byCategory));
+    }
+
+    private record Facets(Map<String, Long> byCity, Map<EventCategory, Long> byCategory) {
+    }
+}
@@ -1,21 +1,50 @@
 package com.xenplan.app.service.impl;
 
 import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.entity.OrganizerStats;
 import com.xenplan.app.domain.entity.User;
 import com.xenplan.app.domain.enums.EventCategory;
 import com.xenplan.app.domain.enums.EventStatus;
 import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.domain.event.EventChangedEvent;
 import com.xenplan.app.domain.exception.ConflictException;
 import com.xenplan.app.domain.exception.ForbiddenException;
 import com.xenplan.app.domain.exception.NotFoundException;
 import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.EventSpecifications;
+import com.xenplan.app.repository.EventStatsRepository;
+import com.xenplan.app.repository.OrganizerStatsRepository;
 import com.xenplan.app.repository.ReservationRepository;
+import com.xenplan.app.repository.StatsDelta;
+import com.xenplan.app.repository.projection.EventSalesRow;
+import com.xenplan.app.repository.projection.EventSeatAvailability;
+import com.xenplan.app.repository.projection.OrganizerEventCount;
+import com.xenplan.app.service.EventSales;
+import com.xenplan.app.service.EventSearchCriteria;
 import com.xenplan.app.service.EventService;
+import com.xenplan.app.service.OrganizerStatistics;
+import com.xenplan.app.service.RetryOnOptimisticLock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,12 +52,29 @@ import java.util.UUID;
 @Transactional
 public class EventServiceImpl implements EventService {
 
+    // Start date, then ID so that pages never overlap
+    private static final Sort SEARCH_ORDER = Sort.by("startDate", "id");
+
     private final EventRepository eventRepository;
     private final ReservationRepository reservationRepository;
-
-    public EventServiceImpl(EventRepository eventRepository, ReservationRepository reservationRepository) {
+    private final PublishedEventCatalog publishedEventCatalog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StatisticsRecorder statisticsRecorder;
+    private final OrganizerStatsRepository organizerStatsRepository;
+    private final EventStatsRepository eventStatsRepository;
+
+    public EventServiceImpl(EventRepository eventRepository, ReservationRepository reservationRepository,
+                            PublishedEventCatalog publishedEventCatalog, ApplicationEventPublisher eventPublisher,
+                            StatisticsRecorder statisticsRecorder,
+                            OrganizerStatsRepository organizerStatsRepository,
+                            EventStatsRepository eventStatsRepository) {
         this.eventRepository = eventRepository;
         this.reservationRepository = reservationRepository;
+        this.publishedEventCatalog = publishedEventCatalog;
+        this.eventPublisher = eventPublisher;
+        this.statisticsRecorder = statisticsRecorder;
+        this.organizerStatsRepository = organizerStatsRepository;
+        this.eventStatsRepository = eventStatsRepository;
     }
 
     @Override
@@ -56,10 +102,14 @@ public class EventServiceImpl implements EventService {
         event.setCreatedAt(LocalDateTime.now());
         event.setUpdatedAt(LocalDateTime.now());
 
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        statisticsRecorder.recordNewEvent(creator.getId(), saved.getId(), new StatsDelta().events(EventStatus.DRAFT, 1));
+        eventPublisher.publishEvent(new EventChangedEvent(saved.getId(), saved.getStatus()));
+        return saved;
     }
 
     @Override
+    @RetryOnOptimisticLock
     public Event updateEvent(UUID eventId, Event eventData, User user) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new NotFoundException("Event not found"));
@@ -125,10 +175,13 @@ public class EventServiceImpl implements EventService {
 
         event.setUpdatedAt(LocalDateTime.now());
 
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(saved.getId(), saved.getStatus()));
+        return saved;
     }
 
     @Override
+    @RetryOnOptimisticLock
     public void publishEvent(UUID eventId, User user) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new NotFoundException("Event not found"));
@@ -154,9 +207,15 @@ public class EventServiceImpl implements EventService {
         event.setStatus(EventStatus.PUBLISHED);
         event.setUpdatedAt(LocalDateTime.now());
         eventRepository.save(event);
+        statisticsRecorder.record(event.getOrganizer().getId(), new StatsDelta()
+                .events(EventStatus.DRAFT, -1)
+                .events(EventStatus.PUBLISHED, 1));
+        // The waiting room of the on-sale is opened once this commits
+        eventPublisher.publishEvent(EventChangedEvent.statusChange(eventId, EventStatus.PUBLISHED));
     }
 
     @Override
+    @RetryOnOptimisticLock
     public void cancelEvent(UUID eventId, User user) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new NotFoundException("Event not found"));
@@ -177,12 +236,15 @@ public class EventServiceImpl implements EventService {
             throw new ConflictException("Cannot cancel a FINISHED event");
         }
 
+        EventStatus previousStatus = event.getStatus();
         event.setStatus(EventStatus.CANCELLED);
         event.setUpdatedAt(LocalDateTime.now());
         eventRepository.save(event);
-
-        // Note: Existing reservations remain, but new reservations cannot be created
-        // (handled by ReservationService business rules)
+        statisticsRecorder.record(event.getOrganizer().getId(), new StatsDelta()
+                .events(previousStatus, -1)
+                .events(EventStatus.CANCELLED, 1));
+        // Existing reservations are cancelled in the background by EventCancellationCascade
+        eventPublisher.publishEvent(EventChangedEvent.statusChange(eventId, EventStatus.CANCELLED));
     }
 
     @Override
@@ -207,39 +269,58 @@ public class EventServiceImpl implements EventService {
         }
 
         eventRepository.delete(event);
+        statisticsRecorder.record(event.getOrganizer().getId(), new StatsDelta().events(event.getStatus(), -1));
+        eventPublisher.publishEvent(new EventChangedEvent(eventId, null));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Integer calculateAvailableSeats(UUID eventId) {
-        Event event = eventRepository.findById(eventId)
+        Integer availableSeats = eventRepository.findAvailableSeatsById(eventId)
                 .orElseThrow(() -> new NotFoundException("Event not found"));
 
-        Integer totalReserved = reservationRepository.sumNumberOfSeatsByEventIdAndStatusNot(
-                eventId, ReservationStatus.CANCELLED
-        );
-        if (totalReserved == null) {
-            totalReserved = 0;
+        return Math.max(0, availableSeats);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Integer> calculateAvailableSeats(Collection<UUID> eventIds) {
+        if (eventIds == null || eventIds.isEmpty()) {
+            return Map.of();
         }
 
-        return Math.max(0, event.getMaxCapacity() - totalReserved);
+        Map<UUID, Integer> availableSeats = new HashMap<>();
+        for (EventSeatAvailability availability : eventRepository.findAvailableSeatsByIdIn(eventIds)) {
+            availableSeats.put(availability.getEventId(), Math.max(0, availability.getAvailableSeats()));
+        }
+        return availableSeats;
     }
 
     @Override
-    public void markFinishedEvents() {
+    @RetryOnOptimisticLock
+    public int markFinishedEvents() {
         LocalDateTime now = LocalDateTime.now();
-        List<Event> activeEvents = eventRepository.findByStatusInAndEndDateBefore(
-                List.of(EventStatus.DRAFT, EventStatus.PUBLISHED), now
-        );
-
-        for (Event event : activeEvents) {
-            event.setStatus(EventStatus.FINISHED);
-            event.setUpdatedAt(now);
+        int finished = 0;
+        for (EventStatus status : List.of(EventStatus.DRAFT, EventStatus.PUBLISHED)) {
+            // Per-organizer counts for the statistics, then one set-based UPDATE on the (status, end_date) index
+            List<OrganizerEventCount> ended = eventRepository.countEndedByOrganizer(status, now);
+            long expected = ended.stream().mapToLong(OrganizerEventCount::getEventCount).sum();
+            int updated = eventRepository.markFinished(List.of(status), now);
+            if (updated != expected) {
+                throw new OptimisticLockingFailureException("Events changed while marking them FINISHED");
+            }
+            for (OrganizerEventCount count : ended) {
+                statisticsRecorder.record(count.getOrganizerId(), new StatsDelta()
+                        .events(status, -count.getEventCount())
+                        .events(EventStatus.FINISHED, count.getEventCount()));
+            }
+            finished += updated;
         }
 
-        if (!activeEvents.isEmpty()) {
-            eventRepository.saveAll(activeEvents);
+        if (finished > 0) {
+            eventPublisher.publishEvent(EventChangedEvent.bulk(EventStatus.FINISHED));
         }
+        return finished;
     }
 
     @Override
@@ -255,21 +336,51 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Event> findAllPublished() {
-        return eventRepository.findByStatusOrderByStartDateAsc(EventStatus.PUBLISHED);
+        // Served from the in-memory snapshot, no connection is taken from the pool
+        return publishedEventCatalog.findAll();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Event> findByCategory(EventCategory category) {
-        return eventRepository.findByCategoryAndStatusOrderByStartDateAsc(category, EventStatus.PUBLISHED);
+        // Served from the in-memory snapshot, no connection is taken from the pool
+        return publishedEventCatalog.findByCategory(category);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Event> findByCity(String city) {
-        return eventRepository.findByCityAndStatusOrderByStartDateAsc(city, EventStatus.PUBLISHED);
+        // Served from the in-memory snapshot, no connection is taken from the pool
+        return publishedEventCatalog.findByCity(city);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<Event> searchEvents(EventSearchCriteria criteria, Pageable pageable) {
+        if (criteria.status() == EventStatus.PUBLISHED) {
+            // The public listing is served from the in-memory snapshot, no connection is taken from the pool
+            List<Event> matches = publishedEventCatalog.find(criteria);
+            int from = (int) Math.min(pageable.getOffset(), matches.size());
+            int to = Math.min(from + pageable.getPageSize(), matches.size());
+            return new SliceImpl<>(matches.subList(from, to), pageable, to < matches.size());
+        }
+        // Scrolling by offset fetches one extra row to detect a next page, without a count query
+        Window<Event> window = eventRepository.findBy(EventSpecifications.matching(criteria), query -> query
+                .sortBy(SEARCH_ORDER)
+                .limit(pageable.getPageSize())
+                .scroll(ScrollPosition.offset(pageable.getOffset())));
+        return new SliceImpl<>(window.getContent(), pageable, window.hasNext());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public long countEvents(EventSearchCriteria criteria) {
+        if (criteria.status() == EventStatus.PUBLISHED) {
+            return publishedEventCatalog.find(criteria).size();
+        }
+        return eventRepository.count(EventSpecifications.matching(criteria));
     }
 
     @Override
@@ -283,5 +394,39 @@ public class EventServiceImpl implements EventService {
     public List<Event> findByOrganizerId(UUID organizerId) {
         return eventRepository.findByOrganizerIdOrderByCreatedAtDesc(organizerId);
     }
-}
 
+    @Override
+    @Transactional(readOnly = true)
+    public OrganizerStatistics getOrganizerStatistics(UUID organizerId, int topEvents) {
+        // Status counts come from the organizer's maintained counter row, sales from the per-event counters
+        OrganizerStats stats = organizerStatsRepository.findById(organizerId)
+                .orElseGet(() -> OrganizerStats.builder().organizerId(organizerId).build());
+
+        Map<EventStatus, Long> eventsByStatus = new EnumMap<>(EventStatus.class);
+        eventsByStatus.put(EventStatus.DRAFT, stats.getDraftEvents());
+        eventsByStatus.put(EventStatus.PUBLISHED, stats.getPublishedEvents());
+        eventsByStatus.put(EventStatus.CANCELLED, stats.getCancelledEvents());
+        eventsByStatus.put(EventStatus.FINISHED, stats.getFinishedEvents());
+        eventsByStatus.values().removeIf(count -> count == 0);
+
+        Map<ReservationStatus, Long> reservationsByStatus = new EnumMap<>(ReservationStatus.class);
+        reservationsByStatus.put(ReservationStatus.PENDING, stats.getPendingReservations());
+        reservationsByStatus.put(ReservationStatus.CONFIRMED, stats.getConfirmedReservations());
+        reservationsByStatus.put(ReservationStatus.CANCELLED, stats.getCancelledReservations());
+        reservationsByStatus.values().removeIf(count -> count == 0);
+
+        List<EventSales> sales = topEvents <= 0 ? List.of()
+                : eventStatsRepository.findTopByOrganizerId(organizerId, Limit.of(topEvents)).stream()
+                        .map(EventServiceImpl::toEventSales)
+                        .toList();
+
+        return new OrganizerStatistics(Collections.unmodifiableMap(eventsByStatus),
+                Collections.unmodifiableMap(reservationsByStatus), stats.getReservedSeats(), stats.getRevenue(), sales);
+    }
+
+    private static EventSales toEventSales(EventSalesRow row) {
+        BigDecimal revenue = row.getRevenue() != null ? row.getRevenue() : BigDecimal.ZERO;
+        return new EventSales(row.getEventId(), row.getTitle(), row.getStatus(),
+                Math.toIntExact(row.getSeatsSold()), revenue);
+    }
+}
@@ -0,0 +1,43 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.service.EventService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Periodically marks events whose end date has passed as FINISHED, on one node of the cluster at a time
+ */
+@Component
+public class FinishedEventsScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(FinishedEventsScheduler.class);
+
+    static final String LEASE_NAME = "mark-finished-events";
+
+    private final EventService eventService;
+    private final ClusterLease clusterLease;
+    private final Duration leaseDuration;
+
+    public FinishedEventsScheduler(EventService eventService, ClusterLease clusterLease,
+                                   @Value("${xenplan.events.finish.lease:PT2M}") Duration leaseDuration) {
+        this.eventService = eventService;
+        this.clusterLease = clusterLease;
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Scheduled(fixedDelayString = "${xenplan.events.finish.interval:PT1M}")
+    public void markFinishedEvents() {
+        if (!clusterLease.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return;
+        }
+        int finished = eventService.markFinishedEvents();
+        if (finished > 0) {
+            log.info("Marked {} events as FINISHED", finished);
+        }
+    }
+}
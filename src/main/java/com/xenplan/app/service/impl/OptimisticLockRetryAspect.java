@@ -0,0 +1,54 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.service.RetryOnOptimisticLock;
+import jakarta.persistence.OptimisticLockException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries {@link RetryOnOptimisticLock} methods with exponential backoff and jitter.
+ * <p>
+ * Ordered before the transaction interceptor, so every attempt gets its own transaction and the
+ * version check at commit is inside the retried call.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class OptimisticLockRetryAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticLockRetryAspect.class);
+
+    private static final long INITIAL_BACKOFF_MILLIS = 10;
+
+    @Around("@annotation(retry)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnOptimisticLock retry) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Part of a caller's transaction: only the caller can start over
+            return joinPoint.proceed();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= retry.maxAttempts()) {
+                    throw e;
+                }
+                long backoff = INITIAL_BACKOFF_MILLIS << (attempt - 1);
+                log.debug("Optimistic lock conflict in {}, retrying (attempt {})",
+                        joinPoint.getSignature().toShortString(), attempt + 1);
+                Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff));
+            }
+        }
+    }
+}
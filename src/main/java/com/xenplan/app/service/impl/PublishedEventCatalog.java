@@ -0,0 +1,242 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.enums.EventCategory;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.event.EventChangedEvent;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.service.EventSearchCriteria;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-process snapshot of all PUBLISHED events, ordered by start date, with category and city indexes.
+ * <p>
+ * Reads never lock and never touch the database once the snapshot is loaded: they only dereference
+ * an immutable snapshot. Writers (driven by {@link EventChangedEvent} after commit) build a new
+ * snapshot from the previous one and swap it in. Changes committed on other nodes arrive through
+ * {@link EventChangeWatcher} and reload the snapshot. Returned events are shared between sessions and
+ * must be treated as read-only; their organizer carries only its ID.
+ */
+@Component
+public class PublishedEventCatalog {
+
+    private static final Comparator<Event> START_DATE_ORDER = Comparator
+            .comparing(Event::getStartDate)
+            .thenComparing(Event::getId);
+
+    private final EventRepository eventRepository;
+
+    private volatile Snapshot snapshot;
+
+    public PublishedEventCatalog(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * All published events, ordered by start date ascending
+     */
+    public List<Event> findAll() {
+        return current().events();
+    }
+
+    /**
+     * Published events of a category, ordered by start date ascending
+     */
+    public List<Event> findByCategory(EventCategory category) {
+        return current().byCategory().getOrDefault(category, List.of());
+    }
+
+    /**
+     * Published events in a city, ordered by start date ascending
+     */
+    public List<Event> findByCity(String city) {
+        return current().byCity().getOrDefault(city, List.of());
+    }
+
+    /**
+     * Published events matching the criteria, ordered by start date ascending. The category or city
+     * index narrows the candidates; the remaining criteria are checked on each of them.
+     */
+    public List<Event> find(EventSearchCriteria criteria) {
+        Snapshot current = current();
+        List<Event> candidates;
+        if (criteria.category() != null) {
+            candidates = current.byCategory().getOrDefault(criteria.category(), List.of());
+        } else if (criteria.city() != null) {
+            candidates = current.byCity().getOrDefault(criteria.city(), List.of());
+        } else {
+            candidates = current.events();
+        }
+        return candidates.stream()
+                .filter(e -> criteria.city() == null || criteria.city().equals(e.getCity()))
+                .filter(e -> criteria.startFrom() == null || !e.getStartDate().isBefore(criteria.startFrom()))
+                .filter(e -> criteria.startTo() == null || e.getStartDate().isBefore(criteria.startTo()))
+                .filter(e -> criteria.minPrice() == null || e.getUnitPrice().compareTo(criteria.minPrice()) >= 0)
+                .filter(e -> criteria.maxPrice() == null || e.getUnitPrice().compareTo(criteria.maxPrice()) <= 0)
+                .toList();
+    }
+
+    /**
+     * Apply a committed change to the snapshot. Single events are patched in place of a reload;
+     * bulk and remote changes reload the snapshot from the database.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        synchronized (this) {
+            if (snapshot == null) {
+                // Nothing loaded yet, the first read will load fresh data
+                return;
+            }
+            if (change.isBulk()) {
+                snapshot = load();
+                return;
+            }
+
+            Event event = change.status() != EventStatus.PUBLISHED ? null : eventRepository.findById(change.eventId())
+                    .filter(e -> e.getStatus() == EventStatus.PUBLISHED)
+                    .map(PublishedEventCatalog::copyOf)
+                    .orElse(null);
+            snapshot = snapshot.replace(change.eventId(), event);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        List<Event> events = eventRepository.findByStatusOrderByStartDateAsc(EventStatus.PUBLISHED).stream()
+                .map(PublishedEventCatalog::copyOf)
+                .sorted(START_DATE_ORDER)
+                .toList();
+        return Snapshot.of(events);
+    }
+
+    /**
+     * Detached copy so that later changes to a managed entity never leak into the shared snapshot. The
+     * organizer is reduced to its ID: a lazy proxy could not be loaded outside the session that read it.
+     */
+    private static Event copyOf(Event event) {
+        return Event.builder()
+                .id(event.getId())
+                .title(event.getTitle())
+                .description(event.getDescription())
+                .category(event.getCategory())
+                .startDate(event.getStartDate())
+                .endDate(event.getEndDate())
+                .venue(event.getVenue())
+                .city(event.getCity())
+                .maxCapacity(event.getMaxCapacity())
+                .reservedSeats(event.getReservedSeats())
+                .unitPrice(event.getUnitPrice())
+                .imageUrl(event.getImageUrl())
+                .status(event.getStatus())
+                .organizer(event.getOrganizer() == null ? null
+                        : User.builder().id(event.getOrganizer().getId()).build())
+                .createdAt(event.getCreatedAt())
+                .updatedAt(event.getUpdatedAt())
+                .version(event.getVersion())
+                .build();
+    }
+
+    private record Snapshot(List<Event> events,
+                            Map<EventCategory, List<Event>> byCategory,
+                            Map<String, List<Event>> byCity) {
+
+        static Snapshot of(List<Event> events) {
+            Map<EventCategory, List<Event>> byCategory = new EnumMap<>(EventCategory.class);
+            Map<String, List<Event>> byCity = new HashMap<>();
+            for (Event event : events) {
+                byCategory.computeIfAbsent(event.getCategory(), k -> new ArrayList<>()).add(event);
+                byCity.computeIfAbsent(event.getCity(), k -> new ArrayList<>()).add(event);
+            }
+            byCategory.replaceAll((k, v) -> List.copyOf(v));
+            byCity.replaceAll((k, v) -> List.copyOf(v));
+            return new Snapshot(List.copyOf(events), Collections.unmodifiableMap(byCategory), Map.copyOf(byCity));
+        }
+
+        /**
+         * New snapshot without the event with the given ID, plus the replacement if it is not null.
+         * Only the category and city lists the change touches are rebuilt, the others are shared.
+         * After-commit listeners of two commits can run out of order, so a replacement older than the
+         * event already in the snapshot is ignored.
+         */
+        Snapshot replace(UUID eventId, Event replacement) {
+            Event previous = null;
+            for (Event event : events) {
+                if (event.getId().equals(eventId)) {
+                    previous = event;
+                    break;
+                }
+            }
+            if (previous == null && replacement == null) {
+                return this;
+            }
+            if (previous != null && replacement != null && isOlder(replacement, previous)) {
+                return this;
+            }
+
+            Map<EventCategory, List<Event>> categories = new EnumMap<>(EventCategory.class);
+            categories.putAll(byCategory);
+            Map<String, List<Event>> cities = new HashMap<>(byCity);
+            if (previous != null) {
+                categories.computeIfPresent(previous.getCategory(), (k, list) -> without(list, eventId));
+                cities.computeIfPresent(previous.getCity(), (k, list) -> without(list, eventId));
+            }
+            if (replacement != null) {
+                categories.compute(replacement.getCategory(), (k, list) -> with(list, replacement));
+                cities.compute(replacement.getCity(), (k, list) -> with(list, replacement));
+            }
+
+            List<Event> updated = previous == null ? events : without(events, eventId);
+            if (replacement != null) {
+                updated = with(updated, replacement);
+            }
+            return new Snapshot(updated, Collections.unmodifiableMap(categories), Map.copyOf(cities));
+        }
+
+        private static boolean isOlder(Event event, Event than) {
+            return event.getVersion() != null && than.getVersion() != null
+                    && event.getVersion() < than.getVersion();
+        }
+
+        /**
+         * Copy of the list without the event with the given ID, or null when nothing is left
+         */
+        private static List<Event> without(List<Event> list, UUID eventId) {
+            List<Event> updated = list.stream().filter(e -> !e.getId().equals(eventId)).toList();
+            return updated.isEmpty() ? null : updated;
+        }
+
+        /**
+         * Copy of the list with the event inserted at its start date position
+         */
+        private static List<Event> with(List<Event> list, Event event) {
+            List<Event> updated = list == null ? new ArrayList<>(1) : new ArrayList<>(list);
+            int index = Collections.binarySearch(updated, event, START_DATE_ORDER);
+            updated.add(index < 0 ? -index - 1 : index, event);
+            return List.copyOf(updated);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.ReservationCodeCounter;
+import com.xenplan.app.repository.ReservationCodeCounterRepository;
+import com.xenplan.app.repository.ReservationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out unique {@code EVT-XXXXX} reservation codes without probing the reservations table.
+ * <p>
+ * Every code is derived from a position in a shared counter: nodes reserve blocks of
+ * {@value #BLOCK_SIZE} positions from the {@code reservation_code_counter} row, and each position is
+ * scrambled with a keyed Feistel permutation of the 36^5 code space. The permutation is a bijection,
+ * so distinct positions always give distinct codes, while consecutive reservations still get
+ * unrelated-looking codes. The permutation key is a secret ({@code RESERVATION_CODE_KEY}): anyone who
+ * knows it can compute upcoming codes from the counter, so there is no default and startup fails without it.
+ * <p>
+ * Codes are taken from the current block without locking. Blocks are reserved ahead of use by a single
+ * refiller thread, which tops the ready blocks back up to {@value #SPARE_BLOCKS} whenever one is taken.
+ * Request threads therefore never reserve a block themselves: that would open a second transaction, and
+ * a second pooled connection, inside their reservation transaction. A caller that finds no block ready
+ * waits for the refiller.
+ */
+@Component
+public class ReservationCodeAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationCodeAllocator.class);
+
+    private static final String PREFIX = "EVT-";
+    private static final int BLOCK_SIZE = 100;
+    // Blocks kept reserved ahead of the current one
+    private static final int SPARE_BLOCKS = 2;
+    private static final long REFILL_WAIT_MILLIS = 5_000;
+
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int CODE_LENGTH = 5;
+    private static final long CODE_SPACE = 60_466_176L; // 36^5
+
+    // The permutation runs on 26 bits (2^26 >= 36^5) and cycle-walks values that fall outside the code space
+    private static final int HALF_BITS = 13;
+    private static final int HALF_MASK = (1 << HALF_BITS) - 1;
+    private static final int ROUNDS = 4;
+
+    private static final String COUNTER_NAME = "reservation_code";
+
+    private final ReservationCodeCounterRepository counterRepository;
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int[] roundKeys = new int[ROUNDS];
+
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(new String[0]));
+    private final BlockingQueue<Block> ready = new LinkedBlockingQueue<>();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final ExecutorService refiller = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("reservation-code-refill").daemon().factory());
+    private volatile RuntimeException refillFailure;
+
+    public ReservationCodeAllocator(ReservationCodeCounterRepository counterRepository,
+                                    ReservationRepository reservationRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${xenplan.reservations.code-key}") String codeKey) {
+        this.counterRepository = counterRepository;
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        if (codeKey == null || codeKey.isBlank()) {
+            throw new IllegalStateException("xenplan.reservations.code-key (RESERVATION_CODE_KEY) must be set");
+        }
+        ByteBuffer digest = ByteBuffer.wrap(sha256(codeKey));
+        for (int i = 0; i < ROUNDS; i++) {
+            roundKeys[i] = digest.getInt();
+        }
+    }
+
+    /**
+     * Next unused reservation code
+     */
+    public String nextCode() {
+        while (true) {
+            Block block = current.get();
+            String code = block.next();
+            if (code != null) {
+                return code;
+            }
+            Block fresh = ready.poll();
+            if (fresh == null) {
+                fresh = awaitBlock();
+            }
+            if (current.compareAndSet(block, fresh)) {
+                requestRefill();
+            } else {
+                // Another caller moved on to a new block first; this one stays ready for later
+                ready.add(fresh);
+            }
+        }
+    }
+
+    /**
+     * Reserve the first blocks before the first booking arrives
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        requestRefill();
+    }
+
+    @PreDestroy
+    public void stop() {
+        refiller.shutdownNow();
+    }
+
+    private Block awaitBlock() {
+        long deadline = System.currentTimeMillis() + REFILL_WAIT_MILLIS;
+        try {
+            while (true) {
+                requestRefill();
+                Block block = ready.poll(100, TimeUnit.MILLISECONDS);
+                if (block != null) {
+                    return block;
+                }
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException("No reservation codes could be reserved", refillFailure);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for reservation codes", e);
+        }
+    }
+
+    private void requestRefill() {
+        if (refilling.compareAndSet(false, true)) {
+            refiller.execute(this::refill);
+        }
+    }
+
+    /**
+     * Top the ready blocks up, on the refiller thread
+     */
+    private void refill() {
+        try {
+            while (ready.size() < SPARE_BLOCKS) {
+                ready.add(newBlock());
+            }
+            refillFailure = null;
+        } catch (RuntimeException e) {
+            refillFailure = e;
+            log.warn("Failed to reserve reservation codes, retrying on the next request", e);
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    private Block newBlock() {
+        long first = reserveBlock() * BLOCK_SIZE;
+        if (first >= CODE_SPACE) {
+            throw new IllegalStateException("Reservation code space is exhausted");
+        }
+
+        List<String> codes = new ArrayList<>(BLOCK_SIZE);
+        for (long position = first; position < Math.min(first + BLOCK_SIZE, CODE_SPACE); position++) {
+            codes.add(format(permute(position)));
+        }
+        // Codes issued before this allocator existed were random and may collide; one query per block
+        codes.removeAll(reservationRepository.findExistingReservationCodes(codes));
+        return new Block(codes.toArray(String[]::new));
+    }
+
+    /**
+     * Take the next block number from the shared counter in its own short transaction
+     */
+    private long reserveBlock() {
+        try {
+            return transactionTemplate.execute(status -> {
+                if (counterRepository.incrementNextBlock(COUNTER_NAME) == 0) {
+                    // First block ever handed out
+                    counterRepository.saveAndFlush(new ReservationCodeCounter(COUNTER_NAME, 1L));
+                    return 0L;
+                }
+                return counterRepository.findNextBlockByName(COUNTER_NAME).orElseThrow() - 1;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the counter row at the same time; it exists now
+            return reserveBlock();
+        }
+    }
+
+    private long permute(long position) {
+        long value = position;
+        do {
+            value = feistel(value);
+        } while (value >= CODE_SPACE);
+        return value;
+    }
+
+    private long feistel(long value) {
+        int left = (int) (value >>> HALF_BITS) & HALF_MASK;
+        int right = (int) value & HALF_MASK;
+        for (int key : roundKeys) {
+            int mixed = (right * 0x9E3779B1 + key) ^ (right >>> 5);
+            int next = left ^ (mixed & HALF_MASK);
+            left = right;
+            right = next;
+        }
+        return ((long) left << HALF_BITS) | right;
+    }
+
+    private static byte[] sha256(String key) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String format(long value) {
+        char[] chars = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt((int) (value % ALPHABET.length()));
+            value /= ALPHABET.length();
+        }
+        return PREFIX + new String(chars);
+    }
+
+    /**
+     * Codes of one reserved block, handed out in order by any number of threads
+     */
+    private static final class Block {
+
+        private final String[] codes;
+        private final AtomicInteger next = new AtomicInteger();
+
+        Block(String[] codes) {
+            this.codes = codes;
+        }
+
+        /**
+         * Next code of the block, or null once it is used up
+         */
+        String next() {
+            if (next.get() >= codes.length) {
+                return null;
+            }
+            int index = next.getAndIncrement();
+            return index < codes.length ? codes[index] : null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.xenplan.app.service.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.xenplan.app.repository.projection.ReservationExportRow;
+import com.xenplan.app.service.ReservationExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes export rows one at a time as they come from the database, holding only an output buffer
+ */
+final class ReservationExportWriter {
+
+    private static final String[] COLUMNS = {
+            "reservationCode", "status", "numberOfSeats", "totalAmount", "reservationDate",
+            "firstName", "lastName", "email", "comment"
+    };
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ReservationExportWriter() {
+    }
+
+    /**
+     * Write every row in the format; returns how many were written. The output is flushed, not closed.
+     */
+    static long write(Stream<ReservationExportRow> rows, ReservationExportFormat format, OutputStream output)
+            throws IOException {
+        return switch (format) {
+            case CSV -> writeCsv(rows.iterator(), output);
+            case NDJSON -> writeNdjson(rows.iterator(), output);
+        };
+    }
+
+    private static long writeCsv(Iterator<ReservationExportRow> rows, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+        long count = 0;
+        while (rows.hasNext()) {
+            Object[] values = values(rows.next());
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvField(values[i]));
+            }
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static long writeNdjson(Iterator<ReservationExportRow> rows, OutputStream output) throws IOException {
+        long count = 0;
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(output, JsonEncoding.UTF8)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                Object[] values = values(rows.next());
+                json.writeStartObject();
+                for (int i = 0; i < values.length; i++) {
+                    json.writeFieldName(COLUMNS[i]);
+                    if (values[i] == null) {
+                        json.writeNull();
+                    } else if (values[i] instanceof Number number) {
+                        json.writeNumber(number.toString());
+                    } else {
+                        json.writeString(values[i].toString());
+                    }
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Object[] values(ReservationExportRow row) {
+        return new Object[] {
+                row.getReservationCode(), row.getStatus(), row.getNumberOfSeats(), row.getTotalAmount(),
+                row.getReservationDate(), row.getFirstName(), row.getLastName(), row.getEmail(), row.getComment()
+        };
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Quote fields that would break the row, and neutralise spreadsheet formulas in user input
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -2,43 +2,247 @@ package com.xenplan.app.service.impl;
 
 import com.xenplan.app.domain.entity.Event;
 import com.xenplan.app.domain.entity.Reservation;
+import com.xenplan.app.domain.entity.SeatHold;
 import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.entity.WaitlistEntry;
 import com.xenplan.app.domain.enums.EventStatus;
 import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.domain.event.SeatAvailabilityChangedEvent;
 import com.xenplan.app.domain.exception.ConflictException;
 import com.xenplan.app.domain.exception.ForbiddenException;
 import com.xenplan.app.domain.exception.NotFoundException;
 import com.xenplan.app.repository.EventRepository;
 import com.xenplan.app.repository.ReservationRepository;
+import com.xenplan.app.repository.SeatHoldRepository;
+import com.xenplan.app.repository.StatsDelta;
+import com.xenplan.app.repository.WaitlistEntryRepository;
+import com.xenplan.app.repository.projection.ReservationExportRow;
+import com.xenplan.app.repository.projection.ReservationSeatTotal;
+import com.xenplan.app.repository.projection.ReservationStatusTotal;
+import com.xenplan.app.service.AdmissionService;
+import com.xenplan.app.service.ClientBookingSummary;
+import com.xenplan.app.service.PendingReservationFilter;
+import com.xenplan.app.service.ReservationExportFormat;
+import com.xenplan.app.service.ReplayOnDuplicateKey;
 import com.xenplan.app.service.ReservationService;
+import com.xenplan.app.service.RetryOnOptimisticLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ReservationServiceImpl implements ReservationService {
 
+    private static final int BULK_CHUNK_SIZE = 1000;
+    static final String IDEMPOTENCY_KEY_CONSTRAINT = "uk_reservations_idempotency_key";
+
     private final ReservationRepository reservationRepository;
     private final EventRepository eventRepository;
-
-    public ReservationServiceImpl(ReservationRepository reservationRepository, EventRepository eventRepository) {
+    private final ReservationCodeAllocator reservationCodeAllocator;
+    private final SeatHoldRepository seatHoldRepository;
+    private final SeatHoldExpiryQueue seatHoldExpiryQueue;
+    private final Duration seatHoldTtl;
+    private final AdmissionService admissionService;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final WaitlistPromoter waitlistPromoter;
+    private final StatisticsRecorder statisticsRecorder;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReservationServiceImpl(ReservationRepository reservationRepository, EventRepository eventRepository,
+                                  ReservationCodeAllocator reservationCodeAllocator,
+                                  SeatHoldRepository seatHoldRepository, SeatHoldExpiryQueue seatHoldExpiryQueue,
+                                  @Value("${xenplan.reservations.hold-ttl:PT10M}") Duration seatHoldTtl,
+                                  AdmissionService admissionService,
+                                  WaitlistEntryRepository waitlistEntryRepository,
+                                  WaitlistPromoter waitlistPromoter,
+                                  StatisticsRecorder statisticsRecorder,
+                                  ApplicationEventPublisher eventPublisher) {
         this.reservationRepository = reservationRepository;
         this.eventRepository = eventRepository;
+        this.reservationCodeAllocator = reservationCodeAllocator;
+        this.seatHoldRepository = seatHoldRepository;
+        this.seatHoldExpiryQueue = seatHoldExpiryQueue;
+        this.seatHoldTtl = seatHoldTtl;
+        this.admissionService = admissionService;
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.waitlistPromoter = waitlistPromoter;
+        this.statisticsRecorder = statisticsRecorder;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public Reservation createReservation(UUID eventId, Integer numberOfSeats, String comment, User user) {
+        return createReservation(eventId, numberOfSeats, comment, user, null);
+    }
+
+    @Override
+    @ReplayOnDuplicateKey(constraint = IDEMPOTENCY_KEY_CONSTRAINT)
+    public Reservation createReservation(UUID eventId, Integer numberOfSeats, String comment, User user,
+                                         String idempotencyKey) {
+        if (idempotencyKey != null) {
+            Optional<Reservation> original = findByIdempotencyKey(idempotencyKey, user);
+            if (original.isPresent()) {
+                // Replayed request: no capacity check and no insert
+                return original.get();
+            }
+        }
+
+        Event event = reserveSeats(eventId, numberOfSeats, user);
+        return saveReservation(event, numberOfSeats, comment, user, idempotencyKey);
+    }
+
+    @Override
+    public SeatHold holdSeats(UUID eventId, Integer numberOfSeats, User user) {
+        Event event = reserveSeats(eventId, numberOfSeats, user);
+
+        SeatHold hold = seatHoldRepository.save(SeatHold.builder()
+                .user(user)
+                .event(event)
+                .numberOfSeats(numberOfSeats)
+                .expiresAt(LocalDateTime.now().plus(seatHoldTtl))
+                .build());
+        seatHoldExpiryQueue.schedule(hold);
+        return hold;
+    }
+
+    @Override
+    @ReplayOnDuplicateKey(constraint = IDEMPOTENCY_KEY_CONSTRAINT)
+    public Reservation confirmSeatHold(UUID holdId, String comment, User user) {
+        // A hold is confirmed at most once, so its ID doubles as the idempotency key
+        String idempotencyKey = "hold:" + holdId;
+        Optional<Reservation> original = findByIdempotencyKey(idempotencyKey, user);
+        if (original.isPresent()) {
+            return original.get();
+        }
+
+        SeatHold hold = seatHoldRepository.findById(holdId)
+                .orElseThrow(() -> new ConflictException("Your seat hold has expired, please try again"));
+
+        // Business rule: Only the user who placed the hold can confirm it
+        if (!hold.getUser().getId().equals(user.getId())) {
+            throw new ForbiddenException("You can only confirm your own seat holds");
+        }
+
+        // Business rule: Event must still be PUBLISHED
+        if (hold.getEvent().getStatus() != EventStatus.PUBLISHED) {
+            throw new ConflictException("Event must be PUBLISHED to make reservations");
+        }
+
+        // Expired holds are left to the expiry queue, which gives their seats back
+        if (hold.getExpiresAt().isBefore(LocalDateTime.now()) || seatHoldRepository.deleteHold(holdId) == 0) {
+            throw new ConflictException("Your seat hold has expired, please try again");
+        }
+
+        // The held seats are already counted on the event, so this is a plain insert
+        return saveReservation(hold.getEvent(), hold.getNumberOfSeats(), comment, user, idempotencyKey);
+    }
+
+    @Override
+    public void releaseSeatHold(UUID holdId, User user) {
+        Optional<SeatHold> hold = seatHoldRepository.findById(holdId);
+        if (hold.isEmpty()) {
+            // Already confirmed, released or expired
+            return;
+        }
+
+        if (!hold.get().getUser().getId().equals(user.getId())) {
+            throw new ForbiddenException("You can only release your own seat holds");
+        }
+
+        if (seatHoldRepository.deleteHold(holdId) == 1) {
+            eventRepository.releaseSeats(hold.get().getEvent().getId(), hold.get().getNumberOfSeats());
+            waitlistPromoter.promote(hold.get().getEvent().getId());
+            eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(
+                    hold.get().getEvent().getId(), -hold.get().getNumberOfSeats()));
+        }
+    }
+
+    @Override
+    public WaitlistEntry joinWaitlist(UUID eventId, Integer numberOfSeats, User user) {
+        // Validate seats
+        if (numberOfSeats == null || numberOfSeats < 1 || numberOfSeats > 10) {
+            throw new ConflictException("Number of seats must be between 1 and 10");
+        }
+
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new NotFoundException("Event not found"));
+
+        // Business rule: Event must be PUBLISHED
+        if (event.getStatus() != EventStatus.PUBLISHED) {
+            throw new ConflictException("Event must be PUBLISHED to join its waitlist");
+        }
+
+        // Business rule: Only wait when the seats cannot be booked right now
+        int availableSeats = Math.max(0, eventRepository.findAvailableSeatsById(eventId).orElse(0));
+        if (availableSeats >= numberOfSeats) {
+            throw new ConflictException(String.format("%d seats are available, book them directly", availableSeats));
+        }
+
+        // Business rule: One waitlist entry per user and event
+        if (waitlistEntryRepository.findByEventIdAndUserId(eventId, user.getId()).isPresent()) {
+            throw new ConflictException("You are already on the waitlist for this event");
+        }
+
+        try {
+            // Flushed so that a concurrent join of the same user hits the unique constraint here
+            return waitlistEntryRepository.saveAndFlush(WaitlistEntry.builder()
+                    .user(user)
+                    .event(event)
+                    .numberOfSeats(numberOfSeats)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("You are already on the waitlist for this event");
+        }
+    }
+
+    @Override
+    public void leaveWaitlist(UUID eventId, User user) {
+        waitlistEntryRepository.findByEventIdAndUserId(eventId, user.getId())
+                .ifPresent(entry -> waitlistEntryRepository.deleteEntry(entry.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getWaitlistPosition(UUID eventId, User user) {
+        return waitlistEntryRepository.findByEventIdAndUserId(eventId, user.getId())
+                .map(entry -> waitlistEntryRepository.countAhead(eventId, entry.getCreatedAt(), entry.getId()) + 1);
+    }
+
+    /**
+     * Validate the request and take the seats from the event's counter
+     */
+    private Event reserveSeats(UUID eventId, Integer numberOfSeats, User user) {
         // Validate seats
         if (numberOfSeats == null || numberOfSeats < 1 || numberOfSeats > 10) {
             throw new ConflictException("Number of seats must be between 1 and 10");
         }
 
+        // During an on-sale only users let out of the waiting room reach the database
+        admissionService.requireAdmission(eventId, user);
+
         // Find event
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new NotFoundException("Event not found"));
@@ -54,24 +258,57 @@ public class ReservationServiceImpl implements ReservationService {
         }
 
         // Business rule: Check available capacity
-        Integer totalReserved = calculateTotalReservedSeats(eventId);
-        Integer availableSeats = Math.max(0, event.getMaxCapacity() - totalReserved);
-        
-        if (numberOfSeats > availableSeats) {
+        // The conditional UPDATE on the seat counter is the capacity check, so concurrent requests cannot oversell
+        if (eventRepository.reserveSeats(eventId, numberOfSeats) == 0) {
+            int availableSeats = Math.max(0, eventRepository.findAvailableSeatsById(eventId).orElse(0));
             throw new ConflictException(
                     String.format("Only %d seats available, requested %d", availableSeats, numberOfSeats)
             );
         }
+        eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(eventId, numberOfSeats));
+        return event;
+    }
 
+    /**
+     * Reservation previously created with this key, looked up through the unique index.
+     * Throws ConflictException when the key belongs to another user's reservation.
+     */
+    public Optional<Reservation> findByIdempotencyKey(String idempotencyKey, User user) {
+        Optional<Reservation> original = reservationRepository.findByIdempotencyKey(idempotencyKey);
+
+        // Business rule: A key only replays the same user's request
+        if (original.isPresent() && !original.get().getUser().getId().equals(user.getId())) {
+            throw new ConflictException("This request was already used for another reservation");
+        }
+        return original;
+    }
+
+    private Reservation saveReservation(Event event, Integer numberOfSeats, String comment, User user,
+                                        String idempotencyKey) {
+        // Auto-generate reservation code (EVT-XXXXX format)
+        Reservation reservation = newPendingReservation(event, numberOfSeats, comment, user,
+                reservationCodeAllocator.nextCode(), idempotencyKey);
+
+        // The unique index on the key rejects a concurrent duplicate that got past the lookup. Flushing
+        // surfaces the violation here, and the replay finds the winner's reservation in a new transaction.
+        Reservation saved = idempotencyKey != null
+                ? reservationRepository.saveAndFlush(reservation)
+                : reservationRepository.save(reservation);
+        statisticsRecorder.record(event.getOrganizer().getId(), event.getId(), new StatsDelta()
+                .reservations(ReservationStatus.PENDING, 1, numberOfSeats, saved.getTotalAmount()));
+        return saved;
+    }
+
+    /**
+     * New PENDING reservation for seats already taken from the event's counter
+     */
+    static Reservation newPendingReservation(Event event, Integer numberOfSeats, String comment, User user,
+                                             String reservationCode, String idempotencyKey) {
         // Auto-calculate total amount
         java.math.BigDecimal totalAmount = event.getUnitPrice()
                 .multiply(java.math.BigDecimal.valueOf(numberOfSeats));
 
-        // Auto-generate reservation code (EVT-XXXXX format)
-        String reservationCode = generateReservationCode();
-
-        // Create reservation
-        Reservation reservation = Reservation.builder()
+        return Reservation.builder()
                 .user(user)
                 .event(event)
                 .numberOfSeats(numberOfSeats)
@@ -80,12 +317,12 @@ public class ReservationServiceImpl implements ReservationService {
                 .status(ReservationStatus.PENDING)
                 .reservationCode(reservationCode)
                 .comment(comment)
+                .idempotencyKey(idempotencyKey)
                 .build();
-
-        return reservationRepository.save(reservation);
     }
 
     @Override
+    @RetryOnOptimisticLock
     public void cancelReservation(UUID reservationId, User user) {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new NotFoundException("Reservation not found"));
@@ -111,11 +348,23 @@ public class ReservationServiceImpl implements ReservationService {
             );
         }
 
+        ReservationStatus previousStatus = reservation.getStatus();
         reservation.setStatus(ReservationStatus.CANCELLED);
         reservationRepository.save(reservation);
+        Event event = reservation.getEvent();
+        statisticsRecorder.record(event.getOrganizer().getId(), event.getId(), new StatsDelta()
+                .reservations(previousStatus, ReservationStatus.CANCELLED, 1, reservation.getNumberOfSeats(),
+                        reservation.getTotalAmount()));
+
+        // Give the seats back to the event's counter, straight to the waitlist if anyone is waiting
+        eventRepository.releaseSeats(reservation.getEvent().getId(), reservation.getNumberOfSeats());
+        waitlistPromoter.promote(reservation.getEvent().getId());
+        eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(
+                reservation.getEvent().getId(), -reservation.getNumberOfSeats()));
     }
 
     @Override
+    @RetryOnOptimisticLock
     public void confirmReservation(UUID reservationId, User user) {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new NotFoundException("Reservation not found"));
@@ -136,6 +385,144 @@ public class ReservationServiceImpl implements ReservationService {
 
         reservation.setStatus(ReservationStatus.CONFIRMED);
         reservationRepository.save(reservation);
+        statisticsRecorder.record(event.getOrganizer().getId(), event.getId(), new StatsDelta()
+                .reservations(ReservationStatus.PENDING, ReservationStatus.CONFIRMED, 1,
+                        reservation.getNumberOfSeats(), reservation.getTotalAmount()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Reservation> getEventReservations(UUID eventId, ReservationStatus status, Pageable pageable,
+                                                   User user) {
+        requireOrganizerOrAdmin(eventId, user, "Only event organizer or admin can view its reservations");
+        return reservationRepository.findByEventIdWithUser(eventId, status, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportEventReservations(UUID eventId, ReservationStatus status, ReservationExportFormat format,
+                                        User user, OutputStream output) throws IOException {
+        requireOrganizerOrAdmin(eventId, user, "Only event organizer or admin can export its reservations");
+        // Projection rows go straight from the cursor to the output, so memory does not grow with the event
+        try (Stream<ReservationExportRow> rows = reservationRepository.streamExportRowsByEventId(eventId, status)) {
+            return ReservationExportWriter.write(rows, format, output);
+        }
+    }
+
+    @Override
+    @RetryOnOptimisticLock
+    public int confirmPendingReservations(PendingReservationFilter filter, User user) {
+        Event event = requireOrganizerOrAdmin(filter.eventId(), user,
+                "Only event organizer or admin can confirm reservations");
+
+        int confirmed = 0;
+        StatsDelta delta = new StatsDelta();
+        for (List<UUID> ids : pendingChunks(filter)) {
+            ReservationSeatTotal pending = reservationRepository.sumSeatsByIdsAndEventIdAndStatus(
+                    ids, filter.eventId(), ReservationStatus.PENDING);
+            int updated = reservationRepository.updateStatus(ids, filter.eventId(),
+                    ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+            // Statistics are moved for exactly the rows counted; if one changed in between, start over
+            if (updated != pending.getReservationCount()) {
+                throw new OptimisticLockingFailureException("Reservations changed during bulk confirmation");
+            }
+            confirmed += updated;
+            delta.reservations(ReservationStatus.PENDING, ReservationStatus.CONFIRMED, updated,
+                    pending.getSeatCount(), pending.getTotalAmount());
+        }
+
+        statisticsRecorder.record(event.getOrganizer().getId(), filter.eventId(), delta);
+        return confirmed;
+    }
+
+    @Override
+    @RetryOnOptimisticLock
+    public int rejectPendingReservations(PendingReservationFilter filter, User user) {
+        Event event = requireOrganizerOrAdmin(filter.eventId(), user,
+                "Only event organizer or admin can reject reservations");
+
+        int rejected = 0;
+        int releasedSeats = 0;
+        StatsDelta delta = new StatsDelta();
+        for (List<UUID> ids : pendingChunks(filter)) {
+            ReservationSeatTotal pending = reservationRepository.sumSeatsByIdsAndEventIdAndStatus(
+                    ids, filter.eventId(), ReservationStatus.PENDING);
+            int updated = reservationRepository.updateStatus(ids, filter.eventId(),
+                    ReservationStatus.PENDING, ReservationStatus.CANCELLED);
+            // Seats are released for exactly the rows counted; if one changed in between, start over
+            if (updated != pending.getReservationCount()) {
+                throw new OptimisticLockingFailureException("Reservations changed during bulk rejection");
+            }
+            rejected += updated;
+            releasedSeats += pending.getSeatCount().intValue();
+            delta.reservations(ReservationStatus.PENDING, ReservationStatus.CANCELLED, updated,
+                    pending.getSeatCount(), pending.getTotalAmount());
+        }
+        statisticsRecorder.record(event.getOrganizer().getId(), filter.eventId(), delta);
+
+        if (releasedSeats > 0) {
+            // One counter update for the whole rejection, then offer the seats to the waitlist
+            eventRepository.releaseSeats(filter.eventId(), releasedSeats);
+            waitlistPromoter.promote(filter.eventId());
+            eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(filter.eventId(), -releasedSeats));
+        }
+        return rejected;
+    }
+
+    /**
+     * PENDING reservation IDs selected by the filter, {@value #BULK_CHUNK_SIZE} at a time. Each chunk is
+     * read after the previous one was updated, so filter-based selection always picks up the next
+     * still-pending rows.
+     */
+    private Iterable<List<UUID>> pendingChunks(PendingReservationFilter filter) {
+        if (filter.reservationIds() != null) {
+            List<UUID> ids = List.copyOf(filter.reservationIds());
+            List<List<UUID>> chunks = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+                chunks.add(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())));
+            }
+            return chunks;
+        }
+
+        return () -> new Iterator<>() {
+            private List<UUID> next;
+            private List<UUID> previous;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    next = reservationRepository.findIdsByEventIdAndStatus(filter.eventId(),
+                            ReservationStatus.PENDING, filter.reservedBefore(), Limit.of(BULK_CHUNK_SIZE));
+                    // Rows that stayed PENDING after their update (changed concurrently) would come back forever
+                    if (next.equals(previous)) {
+                        next = List.of();
+                    }
+                }
+                return !next.isEmpty();
+            }
+
+            @Override
+            public List<UUID> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                previous = next;
+                next = null;
+                return previous;
+            }
+        };
+    }
+
+    private Event requireOrganizerOrAdmin(UUID eventId, User user, String message) {
+        Event event = eventRepository.findByIdWithOrganizer(eventId)
+                .orElseThrow(() -> new NotFoundException("Event not found"));
+
+        boolean isOrganizer = event.getOrganizer().getId().equals(user.getId());
+        boolean isAdmin = user.getRole().name().equals("ADMIN");
+        if (!isOrganizer && !isAdmin) {
+            throw new ForbiddenException(message);
+        }
+        return event;
     }
 
     @Override
@@ -144,6 +531,22 @@ public class ReservationServiceImpl implements ReservationService {
         return reservationRepository.findByUserIdOrderByReservationDateDesc(user.getId());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ClientBookingSummary getBookingSummary(User user) {
+        // Grouped in the database from the (user, status, amount) index: one row per status comes back,
+        // and only the user's own index entries are read, never the reservation rows
+        Map<ReservationStatus, Long> reservationsByStatus = new EnumMap<>(ReservationStatus.class);
+        BigDecimal totalSpent = BigDecimal.ZERO;
+        for (ReservationStatusTotal total : reservationRepository.sumByUserIdGroupByStatus(user.getId())) {
+            reservationsByStatus.put(total.getStatus(), total.getReservationCount());
+            if (total.getStatus() == ReservationStatus.CONFIRMED) {
+                totalSpent = total.getTotalAmount();
+            }
+        }
+        return new ClientBookingSummary(Collections.unmodifiableMap(reservationsByStatus), totalSpent);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Reservation> getUserReservations(User user) {
@@ -160,10 +563,7 @@ public class ReservationServiceImpl implements ReservationService {
     @Override
     @Transactional(readOnly = true)
     public Integer calculateTotalReservedSeats(UUID eventId) {
-        Integer result = reservationRepository.sumNumberOfSeatsByEventIdAndStatusNot(
-                eventId, ReservationStatus.CANCELLED
-        );
-        return result != null ? result : 0;
+        return eventRepository.findReservedSeatsById(eventId).orElse(0);
     }
 
     @Override
@@ -171,31 +571,4 @@ public class ReservationServiceImpl implements ReservationService {
     public Optional<Reservation> findById(UUID reservationId) {
         return reservationRepository.findById(reservationId);
     }
-
-    /**
-     * Generate unique reservation code in format EVT-XXXXX
-     * Uses uppercase alphanumeric characters
-     */
-    private String generateReservationCode() {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        String code;
-        int maxAttempts = 100;
-        int attempts = 0;
-
-        do {
-            StringBuilder sb = new StringBuilder("EVT-");
-            for (int i = 0; i < 5; i++) {
-                int index = ThreadLocalRandom.current().nextInt(chars.length());
-                sb.append(chars.charAt(index));
-            }
-            code = sb.toString();
-            attempts++;
-            
-            if (attempts >= maxAttempts) {
-                throw new ConflictException("Failed to generate unique reservation code");
-            }
-        } while (reservationRepository.findByReservationCode(code).isPresent());
-
-        return code;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,199 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.SeatHold;
+import com.xenplan.app.domain.event.SeatAvailabilityChangedEvent;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.SeatHoldRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases seat holds when they expire.
+ * <p>
+ * Pending expiries sit in a {@link DelayQueue} ordered by deadline, so a single thread sleeps until
+ * the next hold is due instead of polling the database. Holds already in the database are queued
+ * again when the application starts. An expiry that fails is queued again with a growing delay.
+ * <p>
+ * The queue only knows the holds placed on this node, so every node also sweeps the table for expired
+ * holds now and then; that releases holds of a node that went down. Whoever deletes a hold releases
+ * its seats, so the queue and the sweeps of several nodes never release the same hold twice.
+ */
+@Component
+public class SeatHoldExpiryQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldExpiryQueue.class);
+
+    private static final int SWEEP_BATCH_SIZE = 500;
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final SeatHoldRepository seatHoldRepository;
+    private final EventRepository eventRepository;
+    private final WaitlistPromoter waitlistPromoter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+
+    private volatile Thread worker;
+
+    public SeatHoldExpiryQueue(SeatHoldRepository seatHoldRepository, EventRepository eventRepository,
+                               WaitlistPromoter waitlistPromoter, ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.seatHoldRepository = seatHoldRepository;
+        this.eventRepository = eventRepository;
+        this.waitlistPromoter = waitlistPromoter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Release the hold's seats once its expiry time has passed (no-op if it is gone by then)
+     */
+    public void schedule(SeatHold hold) {
+        long delayNanos = Duration.between(LocalDateTime.now(), hold.getExpiresAt()).toNanos();
+        queue.add(new Expiry(hold.getId(), hold.getEvent().getId(), hold.getNumberOfSeats(),
+                System.nanoTime() + delayNanos, 0));
+    }
+
+    /**
+     * Release every hold that is already due; returns how many were released
+     */
+    public int expireDue() {
+        int released = 0;
+        Expiry expiry;
+        while ((expiry = queue.poll()) != null) {
+            if (releaseOrRetry(expiry)) {
+                released++;
+            }
+        }
+        return released;
+    }
+
+    @Scheduled(fixedDelayString = "${xenplan.reservations.hold-sweep-interval:PT1M}")
+    public void sweepOnSchedule() {
+        sweepExpired();
+    }
+
+    /**
+     * Release holds in the database that are past their expiry, whichever node placed them; returns how many
+     */
+    public int sweepExpired() {
+        int released = 0;
+        List<SeatHold> expired;
+        boolean failed = false;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            expired = transactionTemplate.execute(status ->
+                    seatHoldRepository.findExpiredWithEvent(now, Limit.of(SWEEP_BATCH_SIZE)));
+            for (SeatHold hold : expired) {
+                Expiry expiry = new Expiry(hold.getId(), hold.getEvent().getId(), hold.getNumberOfSeats(),
+                        System.nanoTime(), 0);
+                try {
+                    if (release(expiry)) {
+                        released++;
+                    }
+                } catch (RuntimeException e) {
+                    // Left in the table, so the next batch would read it again: retry it from the queue instead
+                    retryLater(expiry, e);
+                    failed = true;
+                }
+            }
+        } while (expired.size() == SWEEP_BATCH_SIZE && !failed);
+        return released;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        transactionTemplate.executeWithoutResult(status -> seatHoldRepository.findAllWithEvent().forEach(this::schedule));
+        worker = Thread.ofPlatform().name("seat-hold-expiry").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                releaseOrRetry(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Release the hold, or queue it again with a longer delay when that fails
+     */
+    private boolean releaseOrRetry(Expiry expiry) {
+        try {
+            return release(expiry);
+        } catch (RuntimeException e) {
+            retryLater(expiry, e);
+            return false;
+        }
+    }
+
+    private void retryLater(Expiry expiry, RuntimeException cause) {
+        Expiry retry = expiry.retry();
+        log.warn("Failed to release expired seat hold {}, retrying in {} ms", expiry.holdId(),
+                TimeUnit.NANOSECONDS.toMillis(retry.deadlineNanos() - System.nanoTime()), cause);
+        queue.add(retry);
+    }
+
+    private boolean release(Expiry expiry) {
+        Boolean released = transactionTemplate.execute(status -> {
+            if (seatHoldRepository.deleteHold(expiry.holdId()) == 0) {
+                // Already confirmed or released
+                return false;
+            }
+            eventRepository.releaseSeats(expiry.eventId(), expiry.seats());
+            waitlistPromoter.promote(expiry.eventId());
+            eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(expiry.eventId(), -expiry.seats()));
+            return true;
+        });
+        return Boolean.TRUE.equals(released);
+    }
+
+    private record Expiry(UUID holdId, UUID eventId, int seats, long deadlineNanos, int attempts) implements Delayed {
+
+        /**
+         * The same expiry due again after 1, 2, 4... seconds, at most {@link #MAX_RETRY_DELAY}
+         */
+        Expiry retry() {
+            long delayNanos = Math.min(TimeUnit.SECONDS.toNanos(1L << Math.min(attempts, 30)),
+                    MAX_RETRY_DELAY.toNanos());
+            return new Expiry(holdId, eventId, seats, System.nanoTime() + delayNanos, attempts + 1);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadlineNanos, ((Expiry) other).deadlineNanos);
+        }
+    }
+}
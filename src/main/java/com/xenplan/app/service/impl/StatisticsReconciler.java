@@ -0,0 +1,191 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.EventStats;
+import com.xenplan.app.domain.entity.OrganizerStats;
+import com.xenplan.app.domain.entity.PlatformStats;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.domain.enums.Role;
+import com.xenplan.app.repository.DashboardStatisticsRepository;
+import com.xenplan.app.repository.EventStatsRepository;
+import com.xenplan.app.repository.OrganizerStatsRepository;
+import com.xenplan.app.repository.PlatformStatsRepository;
+import com.xenplan.app.repository.StatsDelta;
+import com.xenplan.app.repository.projection.EventSalesTotal;
+import com.xenplan.app.repository.projection.OrganizerStatisticRow;
+import com.xenplan.app.repository.projection.PlatformStatisticRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Periodically recomputes the maintained statistics (platform, organizer and event counters) from the
+ * source tables, on one node at a time.
+ * <p>
+ * The source tables are counted and the counter rows read in one REPEATABLE READ snapshot, without
+ * locking anything. Every change writes its source rows and its counter delta in the same transaction,
+ * so within the snapshot the difference between the two is exactly the drift. Each correction is then
+ * added to its counter row in its own short transaction, like any other change: counter rows are only
+ * locked for one UPDATE, and changes committed after the snapshot are kept.
+ */
+@Component
+public class StatisticsReconciler {
+
+    static final String LEASE_NAME = "reconcile-statistics";
+
+    private final DashboardStatisticsRepository statisticsRepository;
+    private final PlatformStatsRepository platformStatsRepository;
+    private final OrganizerStatsRepository organizerStatsRepository;
+    private final EventStatsRepository eventStatsRepository;
+    private final StatisticsRecorder statisticsRecorder;
+    private final ClusterLease clusterLease;
+    private final TransactionTemplate snapshotTransaction;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration leaseDuration;
+
+    public StatisticsReconciler(DashboardStatisticsRepository statisticsRepository,
+                                PlatformStatsRepository platformStatsRepository,
+                                OrganizerStatsRepository organizerStatsRepository,
+                                EventStatsRepository eventStatsRepository,
+                                StatisticsRecorder statisticsRecorder, ClusterLease clusterLease,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${xenplan.statistics.reconcile-lease:PT30M}") Duration leaseDuration) {
+        this.statisticsRepository = statisticsRepository;
+        this.platformStatsRepository = platformStatsRepository;
+        this.organizerStatsRepository = organizerStatsRepository;
+        this.eventStatsRepository = eventStatsRepository;
+        this.statisticsRecorder = statisticsRecorder;
+        this.clusterLease = clusterLease;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Scheduled(fixedDelayString = "${xenplan.statistics.reconcile-interval:PT15M}")
+    public void reconcileOnLeader() {
+        if (clusterLease.tryAcquire(LEASE_NAME, leaseDuration)) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Correct every maintained counter by its drift from the source tables
+     */
+    public void reconcile() {
+        statisticsRecorder.createMissingShards();
+        Drift drift = snapshotTransaction.execute(status -> measureDrift());
+
+        if (!drift.platform().isEmpty()) {
+            // The platform totals are the sum of the shards, so one shard takes the whole correction
+            transactionTemplate.executeWithoutResult(status -> platformStatsRepository.apply(0, drift.platform()));
+        }
+        drift.organizers().forEach((organizerId, delta) -> transactionTemplate.executeWithoutResult(status -> {
+            if (organizerStatsRepository.apply(organizerId, delta) == 0) {
+                organizerStatsRepository.saveAndFlush(OrganizerStats.builder().organizerId(organizerId).build());
+                organizerStatsRepository.apply(organizerId, delta);
+            }
+        }));
+        drift.events().forEach((eventId, event) -> transactionTemplate.executeWithoutResult(status -> {
+            if (eventStatsRepository.apply(eventId, event.delta()) == 0) {
+                eventStatsRepository.saveAndFlush(
+                        EventStats.builder().eventId(eventId).organizerId(event.organizerId()).build());
+                eventStatsRepository.apply(eventId, event.delta());
+            }
+        }));
+    }
+
+    /**
+     * Counted values minus counter values, per counter row that drifted
+     */
+    private Drift measureDrift() {
+        StatsDelta platform = new StatsDelta();
+        for (PlatformStatisticRow row : statisticsRepository.countPlatformStatistics()) {
+            add(platform, row);
+        }
+        subtract(platform, platformStatsRepository.sumAll());
+
+        Map<UUID, StatsDelta> organizers = new HashMap<>();
+        for (OrganizerStatisticRow row : statisticsRepository.countOrganizerStatistics()) {
+            add(organizers.computeIfAbsent(row.getOrganizerId(), id -> new StatsDelta()), row);
+        }
+        for (OrganizerStats counters : organizerStatsRepository.findAllCopies()) {
+            subtract(organizers.computeIfAbsent(counters.getOrganizerId(), id -> new StatsDelta()), counters);
+        }
+        organizers.values().removeIf(delta -> !delta.touchesOrganizer());
+
+        Map<UUID, EventDrift> events = new HashMap<>();
+        for (EventSalesTotal row : statisticsRepository.countEventSales()) {
+            events.computeIfAbsent(row.getEventId(), id -> new EventDrift(row.getOrganizerId(), new StatsDelta()))
+                    .delta().reservations(ReservationStatus.CONFIRMED, 0, row.getSeatsSold(), row.getRevenue());
+        }
+        Set<UUID> eventsWithRow = new HashSet<>();
+        for (EventStats counters : eventStatsRepository.findAllCopies()) {
+            eventsWithRow.add(counters.getEventId());
+            events.computeIfAbsent(counters.getEventId(), id -> new EventDrift(counters.getOrganizerId(), new StatsDelta()))
+                    .delta().reservations(ReservationStatus.CONFIRMED, 0, -counters.getSeatsSold(),
+                            counters.getRevenue().negate());
+        }
+        // An unsold event without a counter row is kept, so the correction creates its row
+        events.entrySet().removeIf(entry -> !entry.getValue().delta().touchesOrganizer()
+                && eventsWithRow.contains(entry.getKey()));
+        return new Drift(platform, organizers, events);
+    }
+
+    private static void add(StatsDelta delta, PlatformStatisticRow row) {
+        switch (row.getSection()) {
+            case "USER" -> delta.users(Role.valueOf(row.getGroupKey()), false, row.getItemCount())
+                    .activeUsers(row.getDetailCount());
+            case "EVENT" -> delta.events(EventStatus.valueOf(row.getGroupKey()), row.getItemCount());
+            case "RESERVATION" -> delta.reservations(ReservationStatus.valueOf(row.getGroupKey()),
+                    row.getItemCount(), row.getDetailCount(), row.getAmount());
+            default -> throw new IllegalStateException("Unknown statistics section " + row.getSection());
+        }
+    }
+
+    private static void subtract(StatsDelta delta, PlatformStats platform) {
+        delta.users(Role.ADMIN, false, -platform.getAdmins())
+                .users(Role.ORGANIZER, false, -platform.getOrganizers())
+                .users(Role.CLIENT, false, -platform.getClients())
+                .activeUsers(-platform.getActiveUsers())
+                .events(EventStatus.DRAFT, -platform.getDraftEvents())
+                .events(EventStatus.PUBLISHED, -platform.getPublishedEvents())
+                .events(EventStatus.CANCELLED, -platform.getCancelledEvents())
+                .events(EventStatus.FINISHED, -platform.getFinishedEvents())
+                .reservations(ReservationStatus.PENDING, -platform.getPendingReservations(), 0, BigDecimal.ZERO)
+                .reservations(ReservationStatus.CONFIRMED, -platform.getConfirmedReservations(), 0,
+                        platform.getRevenue().negate())
+                .reservations(ReservationStatus.CANCELLED, -platform.getCancelledReservations(), 0, BigDecimal.ZERO)
+                .reservedSeats(-platform.getReservedSeats());
+    }
+
+    private static void subtract(StatsDelta delta, OrganizerStats counters) {
+        delta.events(EventStatus.DRAFT, -counters.getDraftEvents())
+                .events(EventStatus.PUBLISHED, -counters.getPublishedEvents())
+                .events(EventStatus.CANCELLED, -counters.getCancelledEvents())
+                .events(EventStatus.FINISHED, -counters.getFinishedEvents())
+                .reservations(ReservationStatus.PENDING, -counters.getPendingReservations(), 0, BigDecimal.ZERO)
+                .reservations(ReservationStatus.CONFIRMED, -counters.getConfirmedReservations(), 0,
+                        counters.getRevenue().negate())
+                .reservations(ReservationStatus.CANCELLED, -counters.getCancelledReservations(), 0, BigDecimal.ZERO)
+                .reservedSeats(-counters.getReservedSeats());
+    }
+
+    private record Drift(StatsDelta platform, Map<UUID, StatsDelta> organizers, Map<UUID, EventDrift> events) {
+    }
+
+    private record EventDrift(UUID organizerId, StatsDelta delta) {
+    }
+}
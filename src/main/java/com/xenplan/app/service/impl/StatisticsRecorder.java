@@ -0,0 +1,140 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.EventStats;
+import com.xenplan.app.domain.entity.OrganizerStats;
+import com.xenplan.app.domain.entity.PlatformStats;
+import com.xenplan.app.repository.EventStatsRepository;
+import com.xenplan.app.repository.OrganizerStatsRepository;
+import com.xenplan.app.repository.PlatformStatsRepository;
+import com.xenplan.app.repository.StatsDelta;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Applies the effect of a state change to the maintained statistics, in the transaction making the change.
+ * <p>
+ * Platform counters are split over {@value #SHARDS} rows and each transaction writes to one picked at
+ * random, so busy writers are not serialized on a single row. The shard is kept for the rest of the
+ * transaction: a transaction recording several changes never holds two shard rows, so two of them cannot
+ * deadlock by locking shards in opposite orders. An organizer's counters are one row, written only
+ * by changes to that organizer's events, and an event's sales are one row, written with its reservations
+ * like its seat counter. {@link StatisticsReconciler} recomputes all of them from the source tables to
+ * repair any drift.
+ */
+@Component
+public class StatisticsRecorder {
+
+    static final int SHARDS = 16;
+
+    private final PlatformStatsRepository platformStatsRepository;
+    private final OrganizerStatsRepository organizerStatsRepository;
+    private final EventStatsRepository eventStatsRepository;
+    private final TransactionTemplate newTransaction;
+    // Key of the current transaction's shard among its bound resources
+    private final Object shardKey = new Object();
+
+    public StatisticsRecorder(PlatformStatsRepository platformStatsRepository,
+                              OrganizerStatsRepository organizerStatsRepository,
+                              EventStatsRepository eventStatsRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.platformStatsRepository = platformStatsRepository;
+        this.organizerStatsRepository = organizerStatsRepository;
+        this.eventStatsRepository = eventStatsRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Add a delta to the platform counters and, for event and reservation changes, to the organizer's
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UUID organizerId, StatsDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+
+        int shard = transactionShard();
+        if (platformStatsRepository.apply(shard, delta) == 0) {
+            createMissingRow(() -> platformStatsRepository.saveAndFlush(PlatformStats.builder().shard(shard).build()));
+            platformStatsRepository.apply(shard, delta);
+        }
+
+        if (organizerId != null && delta.touchesOrganizer() && organizerStatsRepository.apply(organizerId, delta) == 0) {
+            createMissingRow(() -> organizerStatsRepository.saveAndFlush(
+                    OrganizerStats.builder().organizerId(organizerId).build()));
+            organizerStatsRepository.apply(organizerId, delta);
+        }
+    }
+
+    /**
+     * Record the creation of an event, with its sales row inserted in the same transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordNewEvent(UUID organizerId, UUID eventId, StatsDelta delta) {
+        record(organizerId, delta);
+        eventStatsRepository.save(EventStats.builder().eventId(eventId).organizerId(organizerId).build());
+    }
+
+    /**
+     * Record a change to an event's reservations: the delta goes to the platform and organizer counters,
+     * and its seats and revenue to the event's sales row
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UUID organizerId, UUID eventId, StatsDelta delta) {
+        record(organizerId, delta);
+        if (!delta.isEmpty()) {
+            eventStatsRepository.apply(eventId, delta);
+        }
+    }
+
+    /**
+     * Platform shard of the current transaction, picked on its first change
+     */
+    private int transactionShard() {
+        Integer shard = (Integer) TransactionSynchronizationManager.getResource(shardKey);
+        if (shard == null) {
+            shard = ThreadLocalRandom.current().nextInt(SHARDS);
+            TransactionSynchronizationManager.bindResource(shardKey, shard);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(shardKey);
+                }
+            });
+        }
+        return shard;
+    }
+
+    /**
+     * Create every platform shard row that does not exist yet
+     */
+    public void createMissingShards() {
+        for (int shard = 0; shard < SHARDS; shard++) {
+            int id = shard;
+            if (!platformStatsRepository.existsById(id)) {
+                createMissingRow(() -> platformStatsRepository.saveAndFlush(PlatformStats.builder().shard(id).build()));
+            }
+        }
+    }
+
+    /**
+     * Insert a zeroed row in its own short transaction, so the caller's transaction never fails on a duplicate
+     */
+    private void createMissingRow(Runnable insert) {
+        try {
+            newTransaction.executeWithoutResult(status -> insert.run());
+        } catch (DataIntegrityViolationException e) {
+            // Another transaction created the row at the same time; it exists now
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.xenplan.app.domain.enums.Role;
 import com.xenplan.app.domain.exception.ConflictException;
 import com.xenplan.app.domain.exception.ForbiddenException;
 import com.xenplan.app.domain.exception.NotFoundException;
+import com.xenplan.app.repository.StatsDelta;
 import com.xenplan.app.repository.UserRepository;
 import com.xenplan.app.service.UserService;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -22,10 +23,13 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final StatisticsRecorder statisticsRecorder;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           StatisticsRecorder statisticsRecorder) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.statisticsRecorder = statisticsRecorder;
     }
 
     @Override
@@ -51,7 +55,9 @@ public class UserServiceImpl implements UserService {
                 .registrationDate(LocalDateTime.now())
                 .build();
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        statisticsRecorder.record(null, new StatsDelta().users(Role.CLIENT, true, 1));
+        return saved;
     }
 
     @Override
@@ -90,6 +96,9 @@ public class UserServiceImpl implements UserService {
             throw new ForbiddenException("Only ADMIN can change user roles");
         }
 
+        Role previousRole = user.getRole();
+        boolean wasActive = Boolean.TRUE.equals(user.getActive());
+
         // Update fields
         if (userData.getFirstName() != null) {
             user.setFirstName(userData.getFirstName());
@@ -107,7 +116,9 @@ public class UserServiceImpl implements UserService {
             user.setActive(userData.getActive());
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        recordUserChange(previousRole, wasActive, saved);
+        return saved;
     }
 
     @Override
@@ -120,8 +131,10 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
+        boolean wasActive = Boolean.TRUE.equals(user.getActive());
         user.setActive(active);
         userRepository.save(user);
+        recordUserChange(user.getRole(), wasActive, user);
     }
 
     @Override
@@ -148,8 +161,10 @@ public class UserServiceImpl implements UserService {
             throw new ForbiddenException("Cannot assign ADMIN role through this interface");
         }
 
+        Role previousRole = user.getRole();
         user.setRole(newRole);
         userRepository.save(user);
+        recordUserChange(previousRole, Boolean.TRUE.equals(user.getActive()), user);
     }
 
     @Override
@@ -176,5 +191,13 @@ public class UserServiceImpl implements UserService {
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
     }
-}
 
+    /**
+     * Move the user from their previous role and active state to the current ones in the statistics
+     */
+    private void recordUserChange(Role previousRole, boolean wasActive, User user) {
+        statisticsRecorder.record(null, new StatsDelta()
+                .users(previousRole, wasActive, -1)
+                .users(user.getRole(), Boolean.TRUE.equals(user.getActive()), 1));
+    }
+}
@@ -0,0 +1,89 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.entity.Reservation;
+import com.xenplan.app.domain.entity.WaitlistEntry;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.ReservationRepository;
+import com.xenplan.app.repository.StatsDelta;
+import com.xenplan.app.repository.WaitlistEntryRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Turns the head of an event's waitlist into PENDING reservations when seats free up.
+ * <p>
+ * Runs in the transaction that freed the seats (cancellation, released or expired hold), so the seats
+ * never become visible to other bookers in between. Entries are promoted strictly in order: an entry
+ * that does not fit stops promotion instead of letting later, smaller entries jump the queue. Only the
+ * head of the waitlist is read, a few entries at a time.
+ */
+@Component
+public class WaitlistPromoter {
+
+    private static final int HEAD_SIZE = 20;
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationCodeAllocator reservationCodeAllocator;
+    private final StatisticsRecorder statisticsRecorder;
+
+    public WaitlistPromoter(WaitlistEntryRepository waitlistEntryRepository, EventRepository eventRepository,
+                            ReservationRepository reservationRepository,
+                            ReservationCodeAllocator reservationCodeAllocator,
+                            StatisticsRecorder statisticsRecorder) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.eventRepository = eventRepository;
+        this.reservationRepository = reservationRepository;
+        this.reservationCodeAllocator = reservationCodeAllocator;
+        this.statisticsRecorder = statisticsRecorder;
+    }
+
+    /**
+     * Promote waiting entries into the event's available seats; returns how many were promoted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int promote(UUID eventId) {
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null || event.getStatus() != EventStatus.PUBLISHED) {
+            return 0;
+        }
+
+        int promoted = 0;
+        int availableSeats = eventRepository.findAvailableSeatsById(eventId).orElse(0);
+        while (availableSeats > 0) {
+            List<WaitlistEntry> head = waitlistEntryRepository.findByEventIdOrderByCreatedAtAscIdAsc(eventId, Limit.of(HEAD_SIZE));
+            for (WaitlistEntry entry : head) {
+                int seats = entry.getNumberOfSeats();
+                if (seats > availableSeats || eventRepository.reserveSeats(eventId, seats) == 0) {
+                    return promoted;
+                }
+                if (waitlistEntryRepository.deleteEntry(entry.getId()) == 0) {
+                    // Promoted or withdrawn concurrently, give its seats back to the next entry
+                    eventRepository.releaseSeats(eventId, seats);
+                    continue;
+                }
+
+                Reservation reservation = reservationRepository.save(ReservationServiceImpl.newPendingReservation(
+                        event, seats, null, entry.getUser(), reservationCodeAllocator.nextCode(),
+                        "waitlist:" + entry.getId()));
+                statisticsRecorder.record(event.getOrganizer().getId(), eventId, new StatsDelta()
+                        .reservations(ReservationStatus.PENDING, 1, seats, reservation.getTotalAmount()));
+                availableSeats -= seats;
+                promoted++;
+            }
+            if (head.size() < HEAD_SIZE) {
+                break;
+            }
+        }
+        return promoted;
+    }
+}
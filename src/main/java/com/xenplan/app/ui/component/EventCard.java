@@ -12,8 +12,10 @@ import com.vaadin.flow.component.orderedlayout.FlexComponent.JustifyContentMode;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.RouterLink;
+import com.vaadin.flow.shared.Registration;
 import com.xenplan.app.domain.entity.Event;
 import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.service.SeatAvailabilityBroadcaster;
 import com.xenplan.app.ui.view.publicview.EventDetailsView;
 
 import java.math.BigDecimal;
@@ -24,7 +26,7 @@ public class EventCard extends VerticalLayout {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM, FormatStyle.SHORT);
 
-    public EventCard(Event event, Integer availableSeats) {
+    public EventCard(Event event, Integer availableSeats, SeatAvailabilityBroadcaster seatAvailabilityBroadcaster) {
         setPadding(true);
         setSpacing(true);
         setWidth("100%");
@@ -83,12 +85,22 @@ public class EventCard extends VerticalLayout {
 
         // Seats Row
         if (availableSeats != null) {
-            HorizontalLayout seatsRow = createDetailRow(VaadinIcon.TICKET, availableSeats + " seats available");
+            HorizontalLayout seatsRow = createDetailRow(VaadinIcon.TICKET, "");
             // Highlight color for seats text
             Span textSpan = (Span) seatsRow.getComponentAt(1);
-            textSpan.getStyle().set("color", availableSeats > 0 ? "var(--lumo-success-color)" : "var(--lumo-error-color)");
             textSpan.getStyle().set("font-weight", "500");
+            showAvailableSeats(textSpan, availableSeats);
             details.add(seatsRow);
+
+            // Follow pushed availability while the card is on screen
+            addAttachListener(attach -> {
+                Registration registration = seatAvailabilityBroadcaster.subscribe(event.getId(),
+                        seats -> attach.getUI().access(() -> showAvailableSeats(textSpan, seats)));
+                addDetachListener(detach -> {
+                    registration.remove();
+                    detach.unregisterListener();
+                });
+            });
         }
 
         add(details);
@@ -132,6 +144,11 @@ public class EventCard extends VerticalLayout {
         return row;
     }
 
+    private void showAvailableSeats(Span textSpan, int availableSeats) {
+        textSpan.setText(availableSeats + " seats available");
+        textSpan.getStyle().set("color", availableSeats > 0 ? "var(--lumo-success-color)" : "var(--lumo-error-color)");
+    }
+
     private String formatPrice(BigDecimal price) {
         return String.format("%.2f", price);
     }
@@ -11,6 +11,7 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.textfield.IntegerField;
 import com.vaadin.flow.component.textfield.TextArea;
 import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.entity.SeatHold;
 import com.xenplan.app.domain.entity.User;
 import com.xenplan.app.domain.exception.BusinessException;
 import com.xenplan.app.domain.exception.ConflictException;
@@ -18,19 +19,26 @@ import com.xenplan.app.service.EventService;
 import com.xenplan.app.service.ReservationService;
 
 import java.math.BigDecimal;
+import java.time.format.DateTimeFormatter;
 import java.util.function.Consumer;
 
 public class ReservationDialog extends Dialog {
 
+    private static final DateTimeFormatter HOLD_TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+
     private final Event event;
     private final User user;
     private final EventService eventService;
     private final ReservationService reservationService;
     private final IntegerField seatsField = new IntegerField("Number of Seats");
     private final TextArea commentField = new TextArea("Comment (Optional)");
-    private final Button confirmButton = new Button("Confirm Reservation");
+    private final Button confirmButton = new Button("Hold Seats");
     private final Button cancelButton = new Button("Cancel");
     private final Paragraph totalPriceInfo = new Paragraph();
+    private final Paragraph holdInfo = new Paragraph();
+    
+    // Seats are held first and only turned into a reservation on the second click
+    private SeatHold hold;
     
     private Consumer<Boolean> onReservationComplete;
 
@@ -46,6 +54,13 @@ public class ReservationDialog extends Dialog {
         setCloseOnOutsideClick(true);
         
         setupDialog();
+        
+        // Closing the dialog without confirming gives the held seats back straight away
+        addOpenedChangeListener(e -> {
+            if (!e.isOpened()) {
+                releaseHold();
+            }
+        });
     }
 
     private void setupDialog() {
@@ -91,9 +106,18 @@ public class ReservationDialog extends Dialog {
         totalPriceInfo.getStyle().set("margin-top", "1rem");
         updateTotalPrice(totalPriceInfo);
         
+        holdInfo.getStyle().set("color", "var(--lumo-success-text-color)");
+        holdInfo.setVisible(false);
+        
         // Buttons
         confirmButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
-        confirmButton.addClickListener(e -> handleReservation());
+        confirmButton.addClickListener(e -> {
+            if (hold == null) {
+                handleHold();
+            } else {
+                handleReservation();
+            }
+        });
         
         cancelButton.addClickListener(e -> close());
         
@@ -102,7 +126,7 @@ public class ReservationDialog extends Dialog {
         buttonLayout.setJustifyContentMode(com.vaadin.flow.component.orderedlayout.FlexComponent.JustifyContentMode.END);
         buttonLayout.setSpacing(true);
         
-        add(title, eventInfo, seatsInfo, priceInfo, formLayout, totalPriceInfo, buttonLayout);
+        add(title, eventInfo, seatsInfo, priceInfo, formLayout, totalPriceInfo, holdInfo, buttonLayout);
         
         // Store reference for update
         seatsField.addValueChangeListener(e -> updateTotalPrice(totalPriceInfo));
@@ -118,9 +142,8 @@ public class ReservationDialog extends Dialog {
         }
     }
 
-    private void handleReservation() {
+    private void handleHold() {
         Integer seats = seatsField.getValue();
-        String comment = commentField.getValue();
         
         if (seats == null || seats < 1 || seats > 10) {
             Notification.show("Please enter a valid number of seats (1-10)", 3000, Notification.Position.MIDDLE);
@@ -131,12 +154,38 @@ public class ReservationDialog extends Dialog {
         confirmButton.setEnabled(false);
         
         try {
-            reservationService.createReservation(
-                    event.getId(),
-                    seats,
+            hold = reservationService.holdSeats(event.getId(), seats, user);
+            
+            seatsField.setReadOnly(true);
+            holdInfo.setText("Your seats are held until " + hold.getExpiresAt().format(HOLD_TIME_FORMATTER)
+                    + ". Confirm before then to keep them.");
+            holdInfo.setVisible(true);
+            confirmButton.setText("Confirm Reservation");
+            
+        } catch (ConflictException e) {
+            Notification.show(e.getMessage(), 5000, Notification.Position.MIDDLE);
+            seatsField.setInvalid(true);
+        } catch (BusinessException e) {
+            Notification.show(e.getMessage(), 5000, Notification.Position.MIDDLE);
+        } catch (Exception e) {
+            Notification.show("An error occurred. Please try again.", 5000, Notification.Position.MIDDLE);
+        } finally {
+            confirmButton.setEnabled(true);
+        }
+    }
+
+    private void handleReservation() {
+        String comment = commentField.getValue();
+        
+        confirmButton.setEnabled(false);
+        
+        try {
+            reservationService.confirmSeatHold(
+                    hold.getId(),
                     comment != null && !comment.isEmpty() ? comment : null,
                     user
             );
+            hold = null;
             
             Notification.show("Reservation created successfully!", 5000, Notification.Position.MIDDLE);
             
@@ -147,8 +196,12 @@ public class ReservationDialog extends Dialog {
             close();
             
         } catch (ConflictException e) {
+            // The hold expired: start over from the seat count
             Notification.show(e.getMessage(), 5000, Notification.Position.MIDDLE);
-            seatsField.setInvalid(true);
+            hold = null;
+            seatsField.setReadOnly(false);
+            holdInfo.setVisible(false);
+            confirmButton.setText("Hold Seats");
         } catch (BusinessException e) {
             Notification.show(e.getMessage(), 5000, Notification.Position.MIDDLE);
         } catch (Exception e) {
@@ -158,6 +211,17 @@ public class ReservationDialog extends Dialog {
         }
     }
 
+    private void releaseHold() {
+        if (hold != null) {
+            try {
+                reservationService.releaseSeatHold(hold.getId(), user);
+            } catch (Exception e) {
+                // The expiry queue releases it anyway
+            }
+            hold = null;
+        }
+    }
+
     private String formatPrice(BigDecimal price) {
         return String.format("$%.2f", price);
     }
@@ -13,8 +13,9 @@ import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import com.xenplan.app.domain.enums.EventStatus;
-import com.xenplan.app.repository.EventRepository;
-import com.xenplan.app.repository.UserRepository;
+import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.service.DashboardStatisticsService;
+import com.xenplan.app.service.PlatformStatistics;
 import com.xenplan.app.ui.component.DashboardStatCard;
 import com.xenplan.app.ui.layout.MainLayout;
 import jakarta.annotation.security.RolesAllowed;
@@ -24,7 +25,7 @@ import jakarta.annotation.security.RolesAllowed;
 @PageTitle("Admin Dashboard | XenPlan")
 public class AdminDashboardView extends VerticalLayout {
 
-    public AdminDashboardView(UserRepository userRepository, EventRepository eventRepository) {
+    public AdminDashboardView(DashboardStatisticsService dashboardStatisticsService) {
         addClassName("admin-dashboard");
         setSizeFull();
         setDefaultHorizontalComponentAlignment(Alignment.CENTER);
@@ -40,10 +41,14 @@ public class AdminDashboardView extends VerticalLayout {
         Paragraph subtitle = new Paragraph("Real-time metrics and system performance.");
         subtitle.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.Margin.Top.NONE, LumoUtility.Margin.Bottom.LARGE);
 
-        String totalEvents = String.valueOf(eventRepository.count());
-        String publishedEvents = String.valueOf(eventRepository.findByStatusOrderByStartDateAsc(EventStatus.PUBLISHED).size());
-        String totalUsers = String.valueOf(userRepository.count());
-        String activeUsers = String.valueOf(userRepository.findAll().stream().filter(u -> Boolean.TRUE.equals(u.getActive())).count());
+        PlatformStatistics statistics = dashboardStatisticsService.getPlatformStatistics();
+        String totalEvents = String.valueOf(statistics.totalEvents());
+        String publishedEvents = String.valueOf(statistics.events(EventStatus.PUBLISHED));
+        String totalUsers = String.valueOf(statistics.totalUsers());
+        String activeUsers = String.valueOf(statistics.activeUsers());
+        String activeReservations = String.valueOf(statistics.reservations(ReservationStatus.PENDING)
+                + statistics.reservations(ReservationStatus.CONFIRMED));
+        String revenue = String.format("$%.2f", statistics.revenue());
 
         Div statsGrid = new Div();
         statsGrid.setWidthFull();
@@ -54,7 +59,9 @@ public class AdminDashboardView extends VerticalLayout {
             new DashboardStatCard("Total Events", totalEvents, VaadinIcon.CALENDAR, DashboardStatCard.ColorVariant.BLUE),
             new DashboardStatCard("Published", publishedEvents, VaadinIcon.CHECK_CIRCLE, DashboardStatCard.ColorVariant.GREEN),
             new DashboardStatCard("Total Users", totalUsers, VaadinIcon.USERS, DashboardStatCard.ColorVariant.PURPLE),
-            new DashboardStatCard("Active Accounts", activeUsers, VaadinIcon.USER_CHECK, DashboardStatCard.ColorVariant.RED)
+            new DashboardStatCard("Active Accounts", activeUsers, VaadinIcon.USER_CHECK, DashboardStatCard.ColorVariant.RED),
+            new DashboardStatCard("Active Reservations", activeReservations, VaadinIcon.TICKET, DashboardStatCard.ColorVariant.BLUE),
+            new DashboardStatCard("Revenue", revenue, VaadinIcon.WALLET, DashboardStatCard.ColorVariant.GREEN)
         );
 
         H2 actionsTitle = new H2("Management");
@@ -27,6 +27,7 @@ import jakarta.annotation.security.RolesAllowed;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Route(value = "admin/events", layout = MainLayout.class)
@@ -38,6 +39,7 @@ public class EventManagementView extends VerticalLayout {
     private final EventRepository eventRepository;
     private final User currentUser;
     private Grid<Event> eventsGrid;
+    private Map<UUID, Integer> availableSeats = Map.of();
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM, FormatStyle.SHORT);
 
@@ -102,6 +104,10 @@ public class EventManagementView extends VerticalLayout {
                 .setSortable(true)
                 .setAutoWidth(true);
         
+        eventsGrid.addColumn(e -> availableSeats.getOrDefault(e.getId(), 0) + " / " + e.getMaxCapacity())
+                .setHeader("Available Seats")
+                .setAutoWidth(true);
+        
         eventsGrid.addComponentColumn(event -> {
             Div div = new Div();
             div.setText(event.getStatus().name());
@@ -167,6 +173,7 @@ public class EventManagementView extends VerticalLayout {
     private void loadEvents() {
         // Admin can see all events - use findAllWithOrganizer to eagerly load organizer
         List<Event> events = eventRepository.findAllWithOrganizer();
+        availableSeats = eventService.calculateAvailableSeats(events.stream().map(Event::getId).toList());
         eventsGrid.setItems(events);
         
         if (events.isEmpty()) {
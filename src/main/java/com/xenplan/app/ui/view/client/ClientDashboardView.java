@@ -12,10 +12,9 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoUtility;
-import com.xenplan.app.domain.entity.Reservation;
 import com.xenplan.app.domain.entity.User;
-import com.xenplan.app.domain.enums.ReservationStatus;
 import com.xenplan.app.security.SecurityUtils;
+import com.xenplan.app.service.ClientBookingSummary;
 import com.xenplan.app.service.ReservationService;
 import com.xenplan.app.ui.component.DashboardStatCard;
 import com.xenplan.app.ui.layout.MainLayout;
@@ -23,7 +22,6 @@ import com.xenplan.app.ui.view.publicview.EventListView;
 import jakarta.annotation.security.RolesAllowed;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 @Route(value = "client/dashboard", layout = MainLayout.class)
 @RolesAllowed("CLIENT")
@@ -47,18 +45,10 @@ public class ClientDashboardView extends VerticalLayout {
         subtitle.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.Margin.Top.NONE, LumoUtility.Margin.Bottom.LARGE);
 
         User currentUser = SecurityUtils.getCurrentUser();
-        List<Reservation> reservations = reservationService.getReservationsByUser(currentUser);
-
-        long activeBookings = reservations.stream()
-                .filter(r -> r.getStatus() == ReservationStatus.CONFIRMED || r.getStatus() == ReservationStatus.PENDING)
-                .count();
-        
-        long totalBookings = reservations.size();
-        
-        BigDecimal totalSpent = reservations.stream()
-                .filter(r -> r.getStatus() == ReservationStatus.CONFIRMED)
-                .map(Reservation::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        ClientBookingSummary summary = reservationService.getBookingSummary(currentUser);
+        long activeBookings = summary.activeBookings();
+        long totalBookings = summary.totalBookings();
+        BigDecimal totalSpent = summary.totalSpent();
 
         Div statsGrid = new Div();
         statsGrid.setWidthFull();
@@ -0,0 +1,196 @@
+package com.xenplan.app.ui.view.organizer;
+
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.Key;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.html.H2;
+import com.vaadin.flow.component.html.H3;
+import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.component.icon.Icon;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.router.BeforeEnterEvent;
+import com.vaadin.flow.router.BeforeEnterObserver;
+import com.vaadin.flow.router.PageTitle;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.router.RouteParameters;
+import com.vaadin.flow.router.RouterLink;
+import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.exception.BusinessException;
+import com.xenplan.app.domain.exception.NotFoundException;
+import com.xenplan.app.service.CheckInResult;
+import com.xenplan.app.service.CheckInService;
+import com.xenplan.app.service.EventService;
+import com.xenplan.app.ui.layout.MainLayout;
+import com.xenplan.app.security.SecurityUtils;
+
+import jakarta.annotation.security.RolesAllowed;
+import java.util.UUID;
+
+/**
+ * Door scanner for one event: reservation codes are typed or scanned into the field and submitted with Enter
+ */
+@Route(value = "organizer/events/:eventId/check-in", layout = MainLayout.class)
+@PageTitle("Door Check-in | XenPlan")
+@RolesAllowed({"ORGANIZER", "ADMIN"})
+public class CheckInView extends VerticalLayout implements BeforeEnterObserver {
+
+    private final EventService eventService;
+    private final CheckInService checkInService;
+    private final TextField codeField = new TextField("Reservation code");
+    private final H3 resultLabel = new H3();
+    private final Paragraph counterLabel = new Paragraph();
+    private User currentUser;
+    private Event event;
+
+    public CheckInView(EventService eventService, CheckInService checkInService) {
+        this.eventService = eventService;
+        this.checkInService = checkInService;
+
+        setPadding(true);
+        setSpacing(true);
+        setWidthFull();
+    }
+
+    @Override
+    public void beforeEnter(BeforeEnterEvent beforeEnterEvent) {
+        currentUser = SecurityUtils.getCurrentUser();
+        try {
+            UUID eventId = UUID.fromString(beforeEnterEvent.getRouteParameters().get("eventId").orElseThrow());
+            event = eventService.findByIdWithOrganizer(eventId)
+                    .orElseThrow(() -> new NotFoundException("Event not found"));
+        } catch (Exception e) {
+            beforeEnterEvent.rerouteToError(NotFoundException.class);
+            return;
+        }
+
+        removeAll();
+        setupHeader();
+        setupScanner();
+        try {
+            showCounter(checkInService.openCheckIn(event.getId(), currentUser));
+        } catch (BusinessException e) {
+            codeField.setEnabled(false);
+            Notification.show(e.getMessage(), 5000, Notification.Position.MIDDLE);
+        }
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        codeField.focus();
+    }
+
+    private void setupHeader() {
+        HorizontalLayout titleLayout = new HorizontalLayout();
+        titleLayout.setWidthFull();
+        titleLayout.setAlignItems(FlexComponent.Alignment.CENTER);
+        titleLayout.setJustifyContentMode(FlexComponent.JustifyContentMode.BETWEEN);
+
+        VerticalLayout titleSection = new VerticalLayout();
+        titleSection.setSpacing(false);
+        titleSection.setPadding(false);
+
+        H2 title = new H2(event.getTitle());
+        title.getStyle().set("margin", "0 0 0.25rem 0");
+
+        Paragraph subtitle = new Paragraph("Scan tickets at the door");
+        subtitle.getStyle().set("color", "var(--lumo-secondary-text-color)");
+        subtitle.getStyle().set("margin", "0");
+
+        titleSection.add(title, subtitle);
+
+        RouterLink backLink = new RouterLink(EventReservationsView.class,
+                new RouteParameters("eventId", event.getId().toString()));
+        Button backButton = new Button("Reservations", new Icon(VaadinIcon.ARROW_LEFT));
+        backButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+        backLink.add(backButton);
+
+        titleLayout.add(titleSection, backLink);
+        add(titleLayout);
+    }
+
+    private void setupScanner() {
+        codeField.setPlaceholder("EVT-XXXXX");
+        codeField.setClearButtonVisible(true);
+        codeField.setWidth("20rem");
+        codeField.addKeyPressListener(Key.ENTER, e -> scan());
+
+        Button checkInButton = new Button("Check In", new Icon(VaadinIcon.CHECK));
+        checkInButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+        checkInButton.addClickListener(e -> scan());
+
+        Button closeButton = new Button("Close Check-in", new Icon(VaadinIcon.CLOSE));
+        closeButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+        closeButton.addClickListener(e -> close());
+
+        HorizontalLayout scanner = new HorizontalLayout(codeField, checkInButton, closeButton);
+        scanner.setAlignItems(FlexComponent.Alignment.BASELINE);
+
+        resultLabel.getStyle().set("margin", "0");
+        counterLabel.getStyle().set("color", "var(--lumo-secondary-text-color)");
+
+        add(scanner, resultLabel, counterLabel);
+    }
+
+    private void scan() {
+        String code = codeField.getValue();
+        if (code == null || code.isBlank()) {
+            return;
+        }
+        try {
+            CheckInResult result = checkInService.checkIn(event.getId(), code, currentUser);
+            showResult(code.trim().toUpperCase(), result);
+            showCounter(result);
+        } catch (BusinessException e) {
+            Notification.show(e.getMessage(), 5000, Notification.Position.MIDDLE);
+        }
+        codeField.clear();
+        codeField.focus();
+    }
+
+    private void close() {
+        try {
+            checkInService.closeCheckIn(event.getId(), currentUser);
+            Notification.show("Check-in closed, all scans saved", 3000, Notification.Position.MIDDLE);
+            codeField.setEnabled(false);
+        } catch (BusinessException e) {
+            Notification.show(e.getMessage(), 5000, Notification.Position.MIDDLE);
+        }
+    }
+
+    private void showResult(String code, CheckInResult result) {
+        String text;
+        String color;
+        switch (result.outcome()) {
+            case ADMITTED -> {
+                text = code + ": Admitted";
+                color = "var(--lumo-success-text-color)";
+            }
+            case ALREADY_CHECKED_IN -> {
+                text = code + ": Already checked in";
+                color = "var(--lumo-error-text-color)";
+            }
+            case NOT_CONFIRMED -> {
+                text = code + ": Reservation not confirmed";
+                color = "var(--lumo-error-text-color)";
+            }
+            default -> {
+                text = code + ": Unknown code";
+                color = "var(--lumo-error-text-color)";
+            }
+        }
+        resultLabel.setText(text);
+        resultLabel.getStyle().set("color", color);
+    }
+
+    private void showCounter(CheckInResult result) {
+        counterLabel.setText(String.format("%d of %d tickets checked in", result.checkedIn(), result.expected()));
+    }
+}
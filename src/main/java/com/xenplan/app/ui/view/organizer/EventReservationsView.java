@@ -0,0 +1,258 @@
+package com.xenplan.app.ui.view.organizer;
+
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.datetimepicker.DateTimePicker;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridVariant;
+import com.vaadin.flow.component.html.Anchor;
+import com.vaadin.flow.component.html.H2;
+import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.component.icon.Icon;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.router.BeforeEnterEvent;
+import com.vaadin.flow.router.BeforeEnterObserver;
+import com.vaadin.flow.router.PageTitle;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.router.RouteParameters;
+import com.vaadin.flow.router.RouterLink;
+import com.vaadin.flow.server.StreamResource;
+import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.entity.Reservation;
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.domain.exception.BusinessException;
+import com.xenplan.app.domain.exception.NotFoundException;
+import com.xenplan.app.service.EventService;
+import com.xenplan.app.service.PendingReservationFilter;
+import com.xenplan.app.service.ReservationExportFormat;
+import com.xenplan.app.service.ReservationService;
+import com.xenplan.app.ui.component.ConfirmDialog;
+import com.xenplan.app.ui.layout.MainLayout;
+import com.xenplan.app.security.SecurityUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import jakarta.annotation.security.RolesAllowed;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Organizer view of one event's reservations, with bulk confirm and reject of PENDING ones
+ */
+@Route(value = "organizer/events/:eventId/reservations", layout = MainLayout.class)
+@PageTitle("Event Reservations | XenPlan")
+@RolesAllowed({"ORGANIZER", "ADMIN"})
+public class EventReservationsView extends VerticalLayout implements BeforeEnterObserver {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM, FormatStyle.SHORT);
+    private static final Sort RESERVATION_ORDER = Sort.by("reservationDate", "id");
+
+    private final EventService eventService;
+    private final ReservationService reservationService;
+    private final ComboBox<ReservationStatus> statusFilter = new ComboBox<>("Status");
+    private final DateTimePicker reservedBeforeFilter = new DateTimePicker("Booked before");
+    private final Grid<Reservation> reservationsGrid = new Grid<>(Reservation.class, false);
+    private final Anchor csvExport = new Anchor();
+    private final Anchor ndjsonExport = new Anchor();
+    private User currentUser;
+    private Event event;
+
+    public EventReservationsView(EventService eventService, ReservationService reservationService) {
+        this.eventService = eventService;
+        this.reservationService = reservationService;
+
+        setPadding(true);
+        setSpacing(true);
+        setWidthFull();
+    }
+
+    @Override
+    public void beforeEnter(BeforeEnterEvent beforeEnterEvent) {
+        currentUser = SecurityUtils.getCurrentUser();
+        try {
+            UUID eventId = UUID.fromString(beforeEnterEvent.getRouteParameters().get("eventId").orElseThrow());
+            event = eventService.findByIdWithOrganizer(eventId)
+                    .orElseThrow(() -> new NotFoundException("Event not found"));
+        } catch (Exception e) {
+            beforeEnterEvent.rerouteToError(NotFoundException.class);
+            return;
+        }
+
+        removeAll();
+        setupHeader();
+        setupFilters();
+        setupGrid();
+        setupActions();
+        refresh();
+    }
+
+    private void setupHeader() {
+        HorizontalLayout titleLayout = new HorizontalLayout();
+        titleLayout.setWidthFull();
+        titleLayout.setAlignItems(FlexComponent.Alignment.CENTER);
+        titleLayout.setJustifyContentMode(FlexComponent.JustifyContentMode.BETWEEN);
+
+        VerticalLayout titleSection = new VerticalLayout();
+        titleSection.setSpacing(false);
+        titleSection.setPadding(false);
+
+        H2 title = new H2(event.getTitle());
+        title.getStyle().set("margin", "0 0 0.25rem 0");
+
+        Paragraph subtitle = new Paragraph("Review and confirm reservations");
+        subtitle.getStyle().set("color", "var(--lumo-secondary-text-color)");
+        subtitle.getStyle().set("margin", "0");
+
+        titleSection.add(title, subtitle);
+
+        RouterLink backLink = new RouterLink(MyEventsView.class);
+        Button backButton = new Button("My Events", new Icon(VaadinIcon.ARROW_LEFT));
+        backButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+        backLink.add(backButton);
+
+        RouterLink checkInLink = new RouterLink(CheckInView.class, new RouteParameters("eventId", event.getId().toString()));
+        Button checkInButton = new Button("Door Check-in", new Icon(VaadinIcon.QRCODE));
+        checkInButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+        checkInLink.add(checkInButton);
+
+        titleLayout.add(titleSection, new HorizontalLayout(checkInLink, backLink));
+        add(titleLayout);
+    }
+
+    private void setupFilters() {
+        statusFilter.setItems(ReservationStatus.values());
+        statusFilter.setValue(ReservationStatus.PENDING);
+        statusFilter.setClearButtonVisible(true);
+        statusFilter.setPlaceholder("All");
+        statusFilter.addValueChangeListener(e -> refresh());
+
+        reservedBeforeFilter.setHelperText("Limits \"all pending\" actions to older bookings");
+
+        setupExportLink(csvExport, "Export CSV");
+        setupExportLink(ndjsonExport, "Export NDJSON");
+
+        HorizontalLayout filters = new HorizontalLayout(statusFilter, reservedBeforeFilter, csvExport, ndjsonExport);
+        filters.setAlignItems(FlexComponent.Alignment.BASELINE);
+        add(filters);
+    }
+
+    private void setupGrid() {
+        reservationsGrid.setWidthFull();
+        reservationsGrid.setSelectionMode(Grid.SelectionMode.MULTI);
+        reservationsGrid.addThemeVariants(GridVariant.LUMO_ROW_STRIPES);
+
+        reservationsGrid.addColumn(Reservation::getReservationCode).setHeader("Code").setAutoWidth(true);
+        reservationsGrid.addColumn(r -> r.getUser().getFirstName() + " " + r.getUser().getLastName())
+                .setHeader("Client").setAutoWidth(true).setFlexGrow(1);
+        reservationsGrid.addColumn(r -> r.getUser().getEmail()).setHeader("Email").setAutoWidth(true).setFlexGrow(1);
+        reservationsGrid.addColumn(Reservation::getNumberOfSeats).setHeader("Seats").setAutoWidth(true);
+        reservationsGrid.addColumn(r -> "$" + r.getTotalAmount()).setHeader("Total").setAutoWidth(true);
+        reservationsGrid.addColumn(r -> r.getReservationDate().format(DATE_FORMATTER)).setHeader("Booked").setAutoWidth(true);
+        reservationsGrid.addColumn(r -> r.getStatus().name()).setHeader("Status").setAutoWidth(true);
+
+        add(reservationsGrid);
+    }
+
+    private void setupActions() {
+        Button confirmSelected = new Button("Confirm Selected", new Icon(VaadinIcon.CHECK));
+        confirmSelected.addThemeVariants(ButtonVariant.LUMO_PRIMARY, ButtonVariant.LUMO_SUCCESS);
+        confirmSelected.addClickListener(e -> applyToSelection(reservationService::confirmPendingReservations, "confirmed"));
+
+        Button rejectSelected = new Button("Reject Selected", new Icon(VaadinIcon.CLOSE));
+        rejectSelected.addThemeVariants(ButtonVariant.LUMO_ERROR);
+        rejectSelected.addClickListener(e -> applyToSelection(reservationService::rejectPendingReservations, "rejected"));
+
+        Button confirmAll = new Button("Confirm All Pending");
+        confirmAll.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+        confirmAll.addClickListener(e -> applyToAllPending(reservationService::confirmPendingReservations, "Confirm", "confirmed"));
+
+        Button rejectAll = new Button("Reject All Pending");
+        rejectAll.addThemeVariants(ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_ERROR);
+        rejectAll.addClickListener(e -> applyToAllPending(reservationService::rejectPendingReservations, "Reject", "rejected"));
+
+        add(new HorizontalLayout(confirmSelected, rejectSelected, confirmAll, rejectAll));
+    }
+
+    private void setupExportLink(Anchor link, String text) {
+        Button button = new Button(text, new Icon(VaadinIcon.DOWNLOAD));
+        button.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+        link.removeAll();
+        link.add(button);
+        link.getElement().setAttribute("download", true);
+    }
+
+    private void refresh() {
+        ReservationStatus status = statusFilter.getValue();
+        reservationsGrid.setItems(query -> reservationService.getEventReservations(event.getId(), status,
+                PageRequest.of(query.getPage(), query.getPageSize(), RESERVATION_ORDER), currentUser).stream());
+        csvExport.setHref(exportResource(status, ReservationExportFormat.CSV));
+        ndjsonExport.setHref(exportResource(status, ReservationExportFormat.NDJSON));
+    }
+
+    /**
+     * Download of the reservations shown by the status filter, written to the response as rows are read
+     */
+    private StreamResource exportResource(ReservationStatus status, ReservationExportFormat format) {
+        UUID eventId = event.getId();
+        User user = currentUser;
+        String fileName = "reservations-" + eventId + (status == null ? "" : "-" + status.name().toLowerCase())
+                + "." + format.getFileExtension();
+        StreamResource resource = new StreamResource(fileName, (output, session) ->
+                reservationService.exportEventReservations(eventId, status, format, user, output));
+        resource.setContentType(format.getContentType());
+        resource.setCacheTime(0);
+        return resource;
+    }
+
+    private void applyToSelection(BulkAction action, String verb) {
+        Set<Reservation> selected = reservationsGrid.getSelectedItems();
+        if (selected.isEmpty()) {
+            Notification.show("Select reservations first", 3000, Notification.Position.MIDDLE);
+            return;
+        }
+        run(PendingReservationFilter.builder()
+                .eventId(event.getId())
+                .reservationIds(selected.stream().map(Reservation::getId).toList())
+                .build(), action, verb);
+    }
+
+    private void applyToAllPending(BulkAction action, String title, String verb) {
+        String scope = reservedBeforeFilter.getValue() == null
+                ? "every PENDING reservation of this event"
+                : "every PENDING reservation booked before " + reservedBeforeFilter.getValue().format(DATE_FORMATTER);
+        ConfirmDialog dialog = new ConfirmDialog(title + " All Pending", "This applies to " + scope + ".");
+        dialog.setOnConfirm(confirmed -> {
+            if (confirmed) {
+                run(PendingReservationFilter.builder()
+                        .eventId(event.getId())
+                        .reservedBefore(reservedBeforeFilter.getValue())
+                        .build(), action, verb);
+            }
+        });
+        dialog.open();
+    }
+
+    private void run(PendingReservationFilter filter, BulkAction action, String verb) {
+        try {
+            int count = action.apply(filter, currentUser);
+            Notification.show(String.format("%d reservation(s) %s", count, verb), 3000, Notification.Position.MIDDLE);
+            reservationsGrid.deselectAll();
+            refresh();
+        } catch (BusinessException e) {
+            Notification.show(e.getMessage(), 5000, Notification.Position.MIDDLE);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BulkAction {
+        int apply(PendingReservationFilter filter, User user);
+    }
+}
@@ -32,6 +32,7 @@ import jakarta.annotation.security.RolesAllowed;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Route(value = "organizer/events", layout = MainLayout.class)
@@ -42,6 +43,7 @@ public class MyEventsView extends VerticalLayout {
     private final EventService eventService;
     private User currentUser;
     private Grid<Event> eventsGrid;
+    private Map<UUID, Integer> availableSeats = Map.of();
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM, FormatStyle.SHORT);
 
@@ -126,6 +128,7 @@ public class MyEventsView extends VerticalLayout {
         eventsGrid.addColumn(e -> e.getCategory().name()).setHeader("Category").setSortable(true).setAutoWidth(true);
         eventsGrid.addColumn(e -> e.getStartDate().format(DATE_FORMATTER)).setHeader("Start Date").setSortable(true).setAutoWidth(true);
         eventsGrid.addColumn(e -> e.getVenue() + ", " + e.getCity()).setHeader("Location").setSortable(true).setAutoWidth(true).setFlexGrow(1);
+        eventsGrid.addColumn(e -> availableSeats.getOrDefault(e.getId(), 0) + " / " + e.getMaxCapacity()).setHeader("Available Seats").setAutoWidth(true);
         
         eventsGrid.addComponentColumn(event -> {
             Div badge = new Div();
@@ -167,6 +170,15 @@ public class MyEventsView extends VerticalLayout {
                 layout.add(editLink);
             }
             
+            // Reservations (once bookable)
+            if (event.getStatus() != EventStatus.DRAFT) {
+                RouterLink reservationsLink = new RouterLink(EventReservationsView.class, new RouteParameters("eventId", event.getId().toString()));
+                Button reservationsButton = new Button(new Icon(VaadinIcon.TICKET));
+                reservationsButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY);
+                reservationsLink.add(reservationsButton);
+                layout.add(reservationsLink);
+            }
+            
             // Publish (Draft only)
             if (event.getStatus() == EventStatus.DRAFT) {
                 Button publishButton = new Button(new Icon(VaadinIcon.CHECK));
@@ -201,6 +213,7 @@ public class MyEventsView extends VerticalLayout {
         try {
             if (currentUser == null) return;
             List<Event> events = eventService.findByOrganizerId(currentUser.getId());
+            availableSeats = eventService.calculateAvailableSeats(events.stream().map(Event::getId).toList());
             eventsGrid.setItems(events);
         } catch (Exception e) {
             Notification.show("Error loading events: " + e.getMessage());
@@ -5,6 +5,7 @@ import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
@@ -14,8 +15,10 @@ import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import com.xenplan.app.domain.entity.User;
 import com.xenplan.app.domain.enums.EventStatus;
-import com.xenplan.app.repository.EventRepository;
 import com.xenplan.app.security.SecurityUtils;
+import com.xenplan.app.service.EventSales;
+import com.xenplan.app.service.EventService;
+import com.xenplan.app.service.OrganizerStatistics;
 import com.xenplan.app.ui.component.DashboardStatCard;
 import com.xenplan.app.ui.layout.MainLayout;
 import jakarta.annotation.security.RolesAllowed;
@@ -27,7 +30,9 @@ import java.util.Map;
 @PageTitle("Organizer Dashboard | XenPlan")
 public class OrganizerDashboardView extends VerticalLayout {
 
-    public OrganizerDashboardView(EventRepository eventRepository) {
+    private static final int TOP_EVENTS = 5;
+
+    public OrganizerDashboardView(EventService eventService) {
         addClassName("organizer-dashboard");
         setSizeFull();
         setDefaultHorizontalComponentAlignment(Alignment.CENTER);
@@ -44,11 +49,11 @@ public class OrganizerDashboardView extends VerticalLayout {
         subtitle.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.Margin.Top.NONE, LumoUtility.Margin.Bottom.LARGE);
 
         User currentUser = SecurityUtils.getCurrentUser();
-        long totalEvents = eventRepository.findByOrganizerOrderByCreatedAtDesc(currentUser).size();
-        long published = eventRepository.findByOrganizerOrderByCreatedAtDesc(currentUser).stream()
-                .filter(e -> e.getStatus() == EventStatus.PUBLISHED).count();
-        long drafts = eventRepository.findByOrganizerOrderByCreatedAtDesc(currentUser).stream()
-                .filter(e -> e.getStatus() == EventStatus.DRAFT).count();
+        OrganizerStatistics statistics = eventService.getOrganizerStatistics(currentUser.getId(), TOP_EVENTS);
+        long totalEvents = statistics.totalEvents();
+        long published = statistics.events(EventStatus.PUBLISHED);
+        long drafts = statistics.events(EventStatus.DRAFT);
+        String revenue = String.format("$%.2f", statistics.revenue());
 
         Div statsGrid = new Div();
         statsGrid.setWidthFull();
@@ -58,9 +63,34 @@ public class OrganizerDashboardView extends VerticalLayout {
         statsGrid.add(
             new DashboardStatCard("My Events", String.valueOf(totalEvents), VaadinIcon.CALENDAR_USER, DashboardStatCard.ColorVariant.BLUE),
             new DashboardStatCard("Live Now", String.valueOf(published), VaadinIcon.SIGNAL, DashboardStatCard.ColorVariant.GREEN),
-            new DashboardStatCard("Drafts", String.valueOf(drafts), VaadinIcon.EDIT, DashboardStatCard.ColorVariant.PURPLE)
+            new DashboardStatCard("Drafts", String.valueOf(drafts), VaadinIcon.EDIT, DashboardStatCard.ColorVariant.PURPLE),
+            new DashboardStatCard("Seats Sold", String.valueOf(statistics.reservedSeats()), VaadinIcon.TICKET, DashboardStatCard.ColorVariant.BLUE),
+            new DashboardStatCard("Revenue", revenue, VaadinIcon.WALLET, DashboardStatCard.ColorVariant.GREEN)
         );
 
+        H2 topEventsTitle = new H2("Top Events");
+        topEventsTitle.addClassNames(LumoUtility.FontSize.XLARGE, LumoUtility.Margin.Top.XLARGE);
+
+        VerticalLayout topEvents = new VerticalLayout();
+        topEvents.setPadding(false);
+        topEvents.setSpacing(false);
+        if (statistics.topEvents().isEmpty()) {
+            Paragraph empty = new Paragraph("No events yet.");
+            empty.addClassNames(LumoUtility.TextColor.SECONDARY);
+            topEvents.add(empty);
+        }
+        for (EventSales sales : statistics.topEvents()) {
+            Span name = new Span(sales.title());
+            name.addClassNames(LumoUtility.FontWeight.SEMIBOLD);
+            Span figures = new Span(sales.seatsSold() + " seats · " + String.format("$%.2f", sales.revenue()));
+            figures.addClassNames(LumoUtility.TextColor.SECONDARY);
+            HorizontalLayout row = new HorizontalLayout(name, figures);
+            row.setWidthFull();
+            row.setJustifyContentMode(JustifyContentMode.BETWEEN);
+            row.addClassNames(LumoUtility.Padding.Vertical.SMALL, LumoUtility.Border.BOTTOM, LumoUtility.BorderColor.CONTRAST_10);
+            topEvents.add(row);
+        }
+
         H2 actionsTitle = new H2("Quick Actions");
         actionsTitle.addClassNames(LumoUtility.FontSize.XLARGE, LumoUtility.Margin.Top.XLARGE);
 
@@ -77,7 +107,7 @@ public class OrganizerDashboardView extends VerticalLayout {
 
         HorizontalLayout actions = new HorizontalLayout(createBtn, myEventsBtn);
 
-        container.add(title, subtitle, statsGrid, actionsTitle, actions);
+        container.add(title, subtitle, statsGrid, topEventsTitle, topEvents, actionsTitle, actions);
         add(container);
     }
 }
\ No newline at end of file
@@ -11,20 +11,27 @@ import com.vaadin.flow.component.html.Paragraph;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.textfield.IntegerField;
 import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
+import com.vaadin.flow.shared.Registration;
 import com.xenplan.app.domain.entity.Event;
 import com.xenplan.app.domain.entity.User;
 import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.exception.BusinessException;
 import com.xenplan.app.domain.exception.NotFoundException;
+import com.xenplan.app.service.AdmissionService;
+import com.xenplan.app.service.AdmissionTicket;
 import com.xenplan.app.service.EventService;
 import com.xenplan.app.service.ReservationService;
+import com.xenplan.app.service.SeatAvailabilityBroadcaster;
 import com.xenplan.app.ui.component.ReservationDialog;
 import com.xenplan.app.ui.layout.MainLayout;
 import com.xenplan.app.security.SecurityUtils;
@@ -32,6 +39,7 @@ import com.xenplan.app.security.SecurityUtils;
 import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
+import java.util.Optional;
 import java.util.UUID;
 
 @Route(value = "events/:eventId", layout = MainLayout.class)
@@ -41,14 +49,33 @@ public class EventDetailsView extends VerticalLayout implements BeforeEnterObser
 
     private final EventService eventService;
     private final ReservationService reservationService;
+    private final AdmissionService admissionService;
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
     private Event event;
+    private Registration pollRegistration;
+    private Registration availabilityRegistration;
     private UUID eventId;
+    private int availableSeats;
+    private Span availabilityValue;
+    private User currentUser;
+    private Optional<Long> waitlistPosition = Optional.empty();
+    private VerticalLayout actionSection;
     
+    private static final int WAITING_ROOM_POLL_MILLIS = 2000;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM, FormatStyle.SHORT);
 
-    public EventDetailsView(EventService eventService, ReservationService reservationService) {
+    public EventDetailsView(EventService eventService, ReservationService reservationService,
+                            AdmissionService admissionService,
+                            SeatAvailabilityBroadcaster seatAvailabilityBroadcaster) {
         this.eventService = eventService;
         this.reservationService = reservationService;
+        this.admissionService = admissionService;
+        this.seatAvailabilityBroadcaster = seatAvailabilityBroadcaster;
+        
+        addDetachListener(e -> {
+            stopWaiting();
+            stopAvailabilityUpdates();
+        });
         
         setSizeFull();
         setPadding(false); // Remove default padding to control layout better
@@ -77,6 +104,7 @@ public class EventDetailsView extends VerticalLayout implements BeforeEnterObser
     }
 
     private void setupView() {
+        stopWaiting();
         removeAll();
 
         // 1. MAIN CONTAINER (Centers content and limits width)
@@ -178,8 +206,10 @@ public class EventDetailsView extends VerticalLayout implements BeforeEnterObser
         bookingCard.add(createDetailRow(VaadinIcon.CLOCK, "End", event.getEndDate().format(DATE_FORMATTER)));
         bookingCard.add(createDetailRow(VaadinIcon.MAP_MARKER, "Location", event.getVenue() + ", " + event.getCity()));
         
-        Integer availableSeats = eventService.calculateAvailableSeats(event.getId());
-        bookingCard.add(createDetailRow(VaadinIcon.GROUP, "Availability", availableSeats + " / " + event.getMaxCapacity() + " seats"));
+        availableSeats = eventService.calculateAvailableSeats(event.getId());
+        availabilityValue = new Span(formatAvailability());
+        bookingCard.add(createDetailRow(VaadinIcon.GROUP, "Availability", availabilityValue));
+        startAvailabilityUpdates();
 
         // Price Tag
         H1 priceTag = new H1("$" + event.getUnitPrice());
@@ -189,31 +219,104 @@ public class EventDetailsView extends VerticalLayout implements BeforeEnterObser
         bookingCard.add(priceTag);
 
         // Action Button
-        User currentUser = SecurityUtils.getCurrentUser();
+        currentUser = SecurityUtils.getCurrentUser();
+        waitlistPosition = currentUser != null && event.getStatus() == EventStatus.PUBLISHED
+                ? reservationService.getWaitlistPosition(eventId, currentUser)
+                : Optional.empty();
+        actionSection = new VerticalLayout();
+        actionSection.setPadding(false);
+        actionSection.setSpacing(true);
+        renderActions();
+        bookingCard.add(actionSection);
+
+        // Combine
+        splitLayout.add(leftColumn, bookingCard);
+        contentContainer.add(splitLayout);
+        add(contentContainer);
+    }
+
+    /**
+     * Fill the action section for the current availability, from state already on the page
+     */
+    private void renderActions() {
+        actionSection.removeAll();
+        Paragraph waitingInfo = new Paragraph();
         if (currentUser != null && event.getStatus() == EventStatus.PUBLISHED && availableSeats > 0) {
             Button reserveButton = new Button("Book Now", new Icon(VaadinIcon.TICKET));
             reserveButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY, ButtonVariant.LUMO_LARGE);
             reserveButton.setWidthFull();
-            reserveButton.addClickListener(e -> openReservationDialog(currentUser));
-            bookingCard.add(reserveButton);
+            reserveButton.addClickListener(e -> enterBooking(currentUser, reserveButton, waitingInfo));
+            waitingInfo.getStyle().set("color", "var(--lumo-secondary-text-color)");
+            waitingInfo.getStyle().set("text-align", "center");
+            waitingInfo.setVisible(false);
+            actionSection.add(reserveButton, waitingInfo);
         } else if (currentUser == null) {
             Button loginButton = new Button("Login to Book");
             loginButton.addThemeVariants(ButtonVariant.LUMO_CONTRAST, ButtonVariant.LUMO_LARGE);
             loginButton.setWidthFull();
             loginButton.addClickListener(e -> UI.getCurrent().navigate("login"));
-            bookingCard.add(loginButton);
+            actionSection.add(loginButton);
+        } else if (event.getStatus() == EventStatus.PUBLISHED) {
+            actionSection.add(createWaitlistSection(currentUser));
         } else {
             Button soldOutBtn = new Button("Sold Out");
             soldOutBtn.addThemeVariants(ButtonVariant.LUMO_ERROR);
             soldOutBtn.setWidthFull();
             soldOutBtn.setEnabled(false);
-            bookingCard.add(soldOutBtn);
+            actionSection.add(soldOutBtn);
+        }
+    }
+
+    /**
+     * Sold-out events: join the waitlist, or show the user's place on it
+     */
+    private VerticalLayout createWaitlistSection(User user) {
+        VerticalLayout section = new VerticalLayout();
+        section.setPadding(false);
+        section.setSpacing(true);
+
+        Paragraph info = new Paragraph();
+        info.getStyle().set("color", "var(--lumo-secondary-text-color)");
+        info.getStyle().set("text-align", "center");
+
+        if (waitlistPosition.isPresent()) {
+            info.setText(String.format("Sold out. You are number %d on the waitlist and will get a reservation " +
+                    "as soon as seats free up.", waitlistPosition.get()));
+            Button leaveButton = new Button("Leave Waitlist");
+            leaveButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+            leaveButton.setWidthFull();
+            leaveButton.addClickListener(e -> {
+                reservationService.leaveWaitlist(eventId, user);
+                waitlistPosition = Optional.empty();
+                renderActions();
+            });
+            section.add(info, leaveButton);
+            return section;
         }
 
-        // Combine
-        splitLayout.add(leftColumn, bookingCard);
-        contentContainer.add(splitLayout);
-        add(contentContainer);
+        info.setText("Sold out. Join the waitlist to get seats when they free up.");
+        IntegerField seatsField = new IntegerField("Seats");
+        seatsField.setMin(1);
+        seatsField.setMax(10);
+        seatsField.setValue(1);
+        seatsField.setStepButtonsVisible(true);
+        seatsField.setWidthFull();
+
+        Button joinButton = new Button("Join Waitlist", new Icon(VaadinIcon.CLOCK));
+        joinButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY, ButtonVariant.LUMO_LARGE);
+        joinButton.setWidthFull();
+        joinButton.addClickListener(e -> {
+            try {
+                reservationService.joinWaitlist(eventId, seatsField.getValue(), user);
+                Notification.show("You joined the waitlist", 3000, Notification.Position.MIDDLE);
+                waitlistPosition = reservationService.getWaitlistPosition(eventId, user);
+                renderActions();
+            } catch (BusinessException ex) {
+                Notification.show(ex.getMessage(), 5000, Notification.Position.MIDDLE);
+            }
+        });
+        section.add(info, seatsField, joinButton);
+        return section;
     }
 
     // --- Helper Methods for Styling ---
@@ -231,6 +334,10 @@ public class EventDetailsView extends VerticalLayout implements BeforeEnterObser
     }
 
     private HorizontalLayout createDetailRow(VaadinIcon icon, String label, String value) {
+        return createDetailRow(icon, label, new Span(value));
+    }
+
+    private HorizontalLayout createDetailRow(VaadinIcon icon, String label, Span val) {
         HorizontalLayout row = new HorizontalLayout();
         row.setWidthFull();
         row.setAlignItems(Alignment.CENTER);
@@ -248,7 +355,6 @@ public class EventDetailsView extends VerticalLayout implements BeforeEnterObser
         lbl.getStyle().set("font-size", "0.75rem");
         lbl.getStyle().set("color", "var(--lumo-secondary-text-color)");
         
-        Span val = new Span(value);
         val.getStyle().set("font-size", "0.95rem");
         val.getStyle().set("font-weight", "500");
         
@@ -257,6 +363,70 @@ public class EventDetailsView extends VerticalLayout implements BeforeEnterObser
         return row;
     }
 
+    /**
+     * Open the booking dialog once the waiting room lets the user in, polling for their turn until then
+     */
+    private void enterBooking(User user, Button reserveButton, Paragraph waitingInfo) {
+        AdmissionTicket ticket = admissionService.join(eventId, user);
+        if (ticket.admitted()) {
+            stopWaiting();
+            reserveButton.setEnabled(true);
+            waitingInfo.setVisible(false);
+            openReservationDialog(user);
+            return;
+        }
+
+        reserveButton.setEnabled(false);
+        waitingInfo.setText(String.format("You are number %d in line. Estimated wait: about %d seconds.",
+                ticket.position(), Math.max(1, ticket.estimatedWait().toSeconds())));
+        waitingInfo.setVisible(true);
+
+        if (pollRegistration == null) {
+            UI ui = UI.getCurrent();
+            ui.setPollInterval(WAITING_ROOM_POLL_MILLIS);
+            pollRegistration = ui.addPollListener(e -> enterBooking(user, reserveButton, waitingInfo));
+        }
+    }
+
+    private void stopWaiting() {
+        if (pollRegistration != null) {
+            pollRegistration.remove();
+            pollRegistration = null;
+            getUI().ifPresent(ui -> ui.setPollInterval(-1));
+        }
+    }
+
+    /**
+     * Keep the availability row current while the page is open; a sold-out change swaps the action section
+     */
+    private void startAvailabilityUpdates() {
+        stopAvailabilityUpdates();
+        UI ui = UI.getCurrent();
+        availabilityRegistration = seatAvailabilityBroadcaster.subscribe(eventId,
+                seats -> ui.access(() -> showAvailability(seats)));
+    }
+
+    private void stopAvailabilityUpdates() {
+        if (availabilityRegistration != null) {
+            availabilityRegistration.remove();
+            availabilityRegistration = null;
+        }
+    }
+
+    private void showAvailability(int seats) {
+        boolean soldOutChanged = (seats > 0) != (availableSeats > 0);
+        availableSeats = seats;
+        availabilityValue.setText(formatAvailability());
+        // Uses the pushed count only, so a flip near sell-out costs no reads; users in line keep their place
+        if (soldOutChanged && pollRegistration == null) {
+            renderActions();
+        }
+    }
+
+    private String formatAvailability() {
+        return availableSeats + " / " + event.getMaxCapacity() + " seats";
+    }
+
     private void openReservationDialog(User user) {
         ReservationDialog dialog = new ReservationDialog(event, user, eventService, reservationService);
         dialog.setOnReservationComplete(success -> {
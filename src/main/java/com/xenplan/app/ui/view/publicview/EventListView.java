@@ -3,6 +3,7 @@ package com.xenplan.app.ui.view.publicview;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.datepicker.DatePicker;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Paragraph;
@@ -11,18 +12,33 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.virtuallist.VirtualList;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.xenplan.app.domain.entity.Event;
 import com.xenplan.app.domain.enums.EventCategory;
 import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.service.EventFacetService;
+import com.xenplan.app.service.EventSearchCriteria;
 import com.xenplan.app.service.EventService;
+import com.xenplan.app.service.SeatAvailabilityBroadcaster;
 import com.xenplan.app.ui.component.EventCard;
 import com.xenplan.app.ui.layout.MainLayout;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Route(value = "", layout = MainLayout.class)
 @PageTitle("Events | XenPlan")
@@ -30,16 +46,27 @@ import java.util.stream.Collectors;
 public class EventListView extends VerticalLayout {
 
     private final EventService eventService;
+    private final EventFacetService eventFacetService;
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
     
-    // We use a Div with CSS Grid instead of VerticalLayout for the cards
-    private final Div eventsGrid = new Div();
+    private static final int CARDS_PER_ROW = 3;
+
+    // Each list item is one row of cards laid out with CSS Grid
+    private final VirtualList<List<EventListItem>> eventsList = new VirtualList<>();
+    private final VerticalLayout emptyState = new VerticalLayout();
+    private int rowCount;
     
     private final ComboBox<EventCategory> categoryFilter = new ComboBox<>();
     private final ComboBox<String> cityFilter = new ComboBox<>();
+    private final DatePicker fromDateFilter = new DatePicker();
+    private final DatePicker toDateFilter = new DatePicker();
     private final Button clearFiltersButton = new Button("Clear", new Icon(VaadinIcon.ERASER));
 
-    public EventListView(EventService eventService) {
+    public EventListView(EventService eventService, EventFacetService eventFacetService,
+                         SeatAvailabilityBroadcaster seatAvailabilityBroadcaster) {
         this.eventService = eventService;
+        this.eventFacetService = eventFacetService;
+        this.seatAvailabilityBroadcaster = seatAvailabilityBroadcaster;
         
         setSizeFull();
         setPadding(true);
@@ -101,34 +128,50 @@ public class EventListView extends VerticalLayout {
         filterBar.getStyle().set("margin-bottom", "1rem");
 
         // Category Filter
+        Map<EventCategory, Long> categoryCounts = eventFacetService.countPublishedByCategory();
         categoryFilter.setItems(EventCategory.values());
+        categoryFilter.setItemLabelGenerator(category ->
+                category.name() + " (" + categoryCounts.getOrDefault(category, 0L) + ")");
         categoryFilter.setPlaceholder("Category");
         categoryFilter.setPrefixComponent(new Icon(VaadinIcon.TAGS));
         categoryFilter.setClearButtonVisible(true);
         categoryFilter.addValueChangeListener(e -> applyFilters());
         
         // City Filter
-        List<String> cities = eventService.findAllPublished().stream()
-                .map(Event::getCity)
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
-        cityFilter.setItems(cities);
+        Map<String, Long> cityCounts = eventFacetService.countPublishedByCity();
+        cityFilter.setItems(cityCounts.keySet());
+        cityFilter.setItemLabelGenerator(city -> city + " (" + cityCounts.get(city) + ")");
         cityFilter.setPlaceholder("City");
         cityFilter.setPrefixComponent(new Icon(VaadinIcon.MAP_MARKER));
         cityFilter.setClearButtonVisible(true);
         cityFilter.addValueChangeListener(e -> applyFilters());
         
+        // Date Range Filter
+        fromDateFilter.setPlaceholder("From");
+        fromDateFilter.setClearButtonVisible(true);
+        fromDateFilter.addValueChangeListener(e -> {
+            toDateFilter.setMin(e.getValue());
+            applyFilters();
+        });
+        toDateFilter.setPlaceholder("To");
+        toDateFilter.setClearButtonVisible(true);
+        toDateFilter.addValueChangeListener(e -> {
+            fromDateFilter.setMax(e.getValue());
+            applyFilters();
+        });
+        
         // Button Styling
         clearFiltersButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
         clearFiltersButton.addClickListener(e -> {
             categoryFilter.clear();
             cityFilter.clear();
+            fromDateFilter.clear();
+            toDateFilter.clear();
             loadEvents();
         });
 
         // Add to bar
-        filterBar.add(categoryFilter, cityFilter);
+        filterBar.add(categoryFilter, cityFilter, fromDateFilter, toDateFilter);
         
         // Spacer to push the Clear button to the right
         Div spacer = new Div();
@@ -139,67 +182,91 @@ public class EventListView extends VerticalLayout {
     }
 
     private void setupEventsGrid() {
-        // CSS Grid Logic
-        eventsGrid.setWidthFull();
-        eventsGrid.getStyle().set("display", "grid");
-        // This creates a responsive grid: columns are at least 350px wide, and fill the space
-        eventsGrid.getStyle().set("grid-template-columns", "repeat(auto-fill, minmax(350px, 1fr))");
-        eventsGrid.getStyle().set("gap", "1.5rem"); // Space between cards
-        eventsGrid.getStyle().set("padding-bottom", "2rem");
-        
-        add(eventsGrid);
+        // Only the rows in the viewport are rendered; pages are fetched as the user scrolls
+        eventsList.setWidthFull();
+        eventsList.setRenderer(new ComponentRenderer<>(this::createRow));
+        eventsList.setDataProvider(DataProvider.fromCallbacks(this::fetchRows, query -> rowCount));
+
+        emptyState.setAlignItems(Alignment.CENTER);
+        emptyState.setPadding(true);
+
+        Icon icon = new Icon(VaadinIcon.SEARCH);
+        icon.setSize("48px");
+        icon.setColor("var(--lumo-secondary-text-color)");
+
+        Paragraph noEvents = new Paragraph("No events found. Try adjusting your filters.");
+        noEvents.getStyle().set("color", "var(--lumo-secondary-text-color)");
+
+        emptyState.add(icon, noEvents);
+
+        add(emptyState, eventsList);
+        expand(eventsList);
     }
 
     private void loadEvents() {
-        eventsGrid.removeAll();
-        
-        List<Event> events;
-        
-        if (categoryFilter.getValue() != null && cityFilter.getValue() != null) {
-            List<Event> categoryEvents = eventService.findByCategory(categoryFilter.getValue());
-            events = categoryEvents.stream()
-                    .filter(e -> e.getCity().equals(cityFilter.getValue()))
-                    .collect(Collectors.toList());
-        } else if (categoryFilter.getValue() != null) {
-            events = eventService.findByCategory(categoryFilter.getValue());
-        } else if (cityFilter.getValue() != null) {
-            events = eventService.findByCity(cityFilter.getValue());
-        } else {
-            events = eventService.findAllPublished();
-        }
-        
-        events = events.stream()
-                .filter(e -> e.getStatus() == EventStatus.PUBLISHED)
+        // Counted once per filter change; scrolling only fetches pages
+        long eventCount = eventService.countEvents(currentCriteria());
+        rowCount = (int) ((eventCount + CARDS_PER_ROW - 1) / CARDS_PER_ROW);
+
+        emptyState.setVisible(eventCount == 0);
+        eventsList.setVisible(eventCount > 0);
+        eventsList.getDataProvider().refreshAll();
+    }
+
+    /**
+     * Fetch the requested window of rows as one page of events, with their availability in one query
+     */
+    private Stream<List<EventListItem>> fetchRows(Query<List<EventListItem>, Void> query) {
+        Pageable rows = VaadinSpringDataHelpers.toSpringPageRequest(query);
+        Pageable events = PageRequest.of(rows.getPageNumber(), rows.getPageSize() * CARDS_PER_ROW);
+        List<Event> page = eventService.searchEvents(currentCriteria(), events)
+                .getContent();
+
+        Map<UUID, Integer> availableSeats = eventService.calculateAvailableSeats(
+                page.stream().map(Event::getId).collect(Collectors.toList()));
+        List<EventListItem> items = page.stream()
+                .map(e -> new EventListItem(e, availableSeats.getOrDefault(e.getId(), 0)))
                 .collect(Collectors.toList());
-        
-        if (events.isEmpty()) {
-            VerticalLayout emptyState = new VerticalLayout();
-            emptyState.setAlignItems(Alignment.CENTER);
-            emptyState.setPadding(true);
-            
-            Icon icon = new Icon(VaadinIcon.SEARCH);
-            icon.setSize("48px");
-            icon.setColor("var(--lumo-secondary-text-color)");
-            
-            Paragraph noEvents = new Paragraph("No events found. Try adjusting your filters.");
-            noEvents.getStyle().set("color", "var(--lumo-secondary-text-color)");
-            
-            emptyState.add(icon, noEvents);
-            // Span the empty state across all columns
-            emptyState.getStyle().set("grid-column", "1 / -1"); 
-            
-            eventsGrid.add(emptyState);
-        } else {
-            for (Event event : events) {
-                Integer availableSeats = eventService.calculateAvailableSeats(event.getId());
-                EventCard card = new EventCard(event, availableSeats);
-                // Card width is handled by the Grid now
-                eventsGrid.add(card);
-            }
+
+        List<List<EventListItem>> result = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += CARDS_PER_ROW) {
+            result.add(items.subList(i, Math.min(i + CARDS_PER_ROW, items.size())));
         }
+        return result.stream();
+    }
+
+    private Div createRow(List<EventListItem> row) {
+        Div rowLayout = new Div();
+        rowLayout.setWidthFull();
+        rowLayout.getStyle().set("display", "grid");
+        rowLayout.getStyle().set("grid-template-columns", "repeat(" + CARDS_PER_ROW + ", minmax(0, 1fr))");
+        rowLayout.getStyle().set("gap", "1.5rem"); // Space between cards
+        rowLayout.getStyle().set("padding-bottom", "1.5rem");
+        for (EventListItem item : row) {
+            rowLayout.add(new EventCard(item.event(), item.availableSeats(), seatAvailabilityBroadcaster));
+        }
+        return rowLayout;
     }
 
     private void applyFilters() {
         loadEvents();
     }
+
+    /**
+     * Published events matching the filter bar; the date range covers whole days
+     */
+    private EventSearchCriteria currentCriteria() {
+        LocalDate from = fromDateFilter.getValue();
+        LocalDate to = toDateFilter.getValue();
+        return EventSearchCriteria.builder()
+                .status(EventStatus.PUBLISHED)
+                .category(categoryFilter.getValue())
+                .city(cityFilter.getValue())
+                .startFrom(from != null ? from.atStartOfDay() : null)
+                .startTo(to != null ? to.plusDays(1).atStartOfDay() : null)
+                .build();
+    }
+
+    private record EventListItem(Event event, int availableSeats) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.event.EventChangedEvent;
+import com.xenplan.app.domain.enums.Role;
+import com.xenplan.app.domain.exception.ConflictException;
+import com.xenplan.app.service.impl.AdmissionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdmissionService Tests")
+class AdmissionServiceTest {
+
+    private AdmissionServiceImpl admissionService;
+    private UUID eventId;
+
+    @BeforeEach
+    void setUp() {
+        // One user per second for half an hour
+        admissionService = new AdmissionServiceImpl(1, Duration.ofMinutes(30), Duration.ofMinutes(10));
+        eventId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should admit everyone when no waiting room is open")
+    void testNoQueue() {
+        assertTrue(admissionService.join(eventId, client()).admitted());
+        assertDoesNotThrow(() -> admissionService.requireAdmission(eventId, client()));
+    }
+
+    @Test
+    @DisplayName("Should reject a rate that admits nobody")
+    void testInvalidRate() {
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> new AdmissionServiceImpl(0, Duration.ofMinutes(30), Duration.ofMinutes(10)));
+        assertTrue(error.getMessage().contains("xenplan.admission.rate-per-second"));
+    }
+
+    @Test
+    @DisplayName("Should let users in at the configured rate in arrival order")
+    void testQueuePositions() {
+        admissionService.openQueue(eventId);
+        User first = client();
+        User second = client();
+        User third = client();
+
+        assertTrue(admissionService.join(eventId, first).admitted());
+
+        AdmissionTicket secondTicket = admissionService.join(eventId, second);
+        assertFalse(secondTicket.admitted());
+        assertEquals(1, secondTicket.position());
+        assertTrue(secondTicket.estimatedWait().compareTo(Duration.ofSeconds(1)) <= 0);
+
+        AdmissionTicket thirdTicket = admissionService.join(eventId, third);
+        assertEquals(2, thirdTicket.position());
+
+        // Joining again keeps the place in line
+        assertEquals(1, admissionService.join(eventId, second).position());
+        assertThrows(ConflictException.class, () -> admissionService.requireAdmission(eventId, third));
+        assertDoesNotThrow(() -> admissionService.requireAdmission(eventId, first));
+    }
+
+    @Test
+    @DisplayName("Should open the waiting room when the publication commits")
+    void testQueueOpenedOnPublication() {
+        User first = client();
+        User second = client();
+
+        // Editing an event that is already published does not open a new waiting room
+        admissionService.onEventChanged(new EventChangedEvent(eventId, EventStatus.PUBLISHED));
+        admissionService.join(eventId, first);
+        assertTrue(admissionService.join(eventId, second).admitted());
+
+        admissionService.onEventChanged(EventChangedEvent.statusChange(eventId, EventStatus.PUBLISHED));
+        admissionService.join(eventId, first);
+        assertFalse(admissionService.join(eventId, second).admitted());
+
+        admissionService.onEventChanged(EventChangedEvent.statusChange(eventId, EventStatus.CANCELLED));
+        assertEquals(0, admissionService.queuedUsers(eventId));
+    }
+
+    @Test
+    @DisplayName("Should prune the slots of users admitted long ago")
+    void testAdmittedSlotsArePruned() throws InterruptedException {
+        // A thousand users per second, slots dropped 50ms after they pass
+        admissionService = new AdmissionServiceImpl(1000, Duration.ofMinutes(30), Duration.ofMillis(50));
+        admissionService.openQueue(eventId);
+        for (int i = 0; i < 5; i++) {
+            admissionService.join(eventId, client());
+        }
+        assertEquals(5, admissionService.queuedUsers(eventId));
+
+        Thread.sleep(100);
+        admissionService.join(eventId, client());
+
+        assertEquals(1, admissionService.queuedUsers(eventId));
+    }
+
+    private static User client() {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .role(Role.CLIENT)
+                .build();
+    }
+}
@@ -0,0 +1,273 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.entity.Reservation;
+import com.xenplan.app.domain.entity.SeatHold;
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.exception.ConflictException;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.ReservationRepository;
+import com.xenplan.app.repository.SeatHoldRepository;
+import com.xenplan.app.service.impl.BatchingReservationService;
+import com.xenplan.app.service.impl.ReservationCodeAllocator;
+import com.xenplan.app.service.impl.SeatHoldExpiryQueue;
+import com.xenplan.app.service.impl.StatisticsRecorder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchingReservationService Tests")
+class BatchingReservationServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationCodeAllocator reservationCodeAllocator;
+
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
+    @Mock
+    private SeatHoldExpiryQueue seatHoldExpiryQueue;
+
+    @Mock
+    private AdmissionService admissionService;
+
+    @Mock
+    private StatisticsRecorder statisticsRecorder;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should commit concurrent requests for one event together and reject what does not fit")
+    void testConcurrentRequestsShareOneBatch() throws Exception {
+        // Given - 5 seats left, three requests of 2 seats filling one batch
+        Event event = Event.builder()
+                .id(UUID.randomUUID())
+                .organizer(User.builder().id(UUID.randomUUID()).build())
+                .status(EventStatus.PUBLISHED)
+                .maxCapacity(100)
+                .reservedSeats(95)
+                .unitPrice(new BigDecimal("50.00"))
+                .build();
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(eventRepository.findAvailableSeatsById(event.getId())).thenReturn(Optional.of(5));
+        when(eventRepository.reserveSeats(event.getId(), 4)).thenReturn(1);
+        when(reservationCodeAllocator.nextCode()).thenReturn("EVT-AAAAA", "EVT-BBBBB");
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchingReservationService service = newService(Duration.ofSeconds(5), 3);
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        List<Future<Reservation>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User user = User.builder().id(UUID.randomUUID()).build();
+            results.add(executor.submit(() -> service.createReservation(event.getId(), 2, null, user)));
+        }
+
+        int reserved = 0;
+        int rejected = 0;
+        for (Future<Reservation> result : results) {
+            try {
+                assertEquals(new BigDecimal("100.00"), result.get().getTotalAmount());
+                reserved++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(ConflictException.class, e.getCause());
+                assertEquals("Only 1 seats available, requested 2", e.getCause().getMessage());
+                rejected++;
+            }
+        }
+        executor.shutdown();
+
+        // Then - one counter update and one insert batch for all of them
+        assertEquals(2, reserved);
+        assertEquals(1, rejected);
+        verify(eventRepository, times(1)).reserveSeats(event.getId(), 4);
+        verify(reservationRepository, times(1)).saveAll(anyList());
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject the batch instead of retrying when the event is no longer PUBLISHED")
+    void testEventCancelledDuringBatch() {
+        // Given - the event was cancelled after the batch read it, so the counter update never succeeds
+        Event event = Event.builder()
+                .id(UUID.randomUUID())
+                .organizer(User.builder().id(UUID.randomUUID()).build())
+                .status(EventStatus.PUBLISHED)
+                .maxCapacity(100)
+                .reservedSeats(0)
+                .unitPrice(new BigDecimal("50.00"))
+                .build();
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(eventRepository.findAvailableSeatsById(event.getId())).thenReturn(Optional.of(100));
+        when(eventRepository.reserveSeats(event.getId(), 2)).thenReturn(0);
+        when(eventRepository.findStatusById(event.getId())).thenReturn(Optional.of(EventStatus.CANCELLED));
+
+        BatchingReservationService service = newService(Duration.ZERO, 1);
+
+        // When / Then
+        ConflictException e = assertThrows(ConflictException.class,
+                () -> service.createReservation(event.getId(), 2, null, User.builder().id(UUID.randomUUID()).build()));
+        assertEquals("Event must be PUBLISHED to make reservations", e.getMessage());
+        verify(eventRepository, times(1)).reserveSeats(event.getId(), 2);
+        verify(reservationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should give up after a bounded number of lost capacity races")
+    void testCapacityRetriesAreBounded() {
+        // Given - every counter update loses to writers outside the batch
+        Event event = Event.builder()
+                .id(UUID.randomUUID())
+                .organizer(User.builder().id(UUID.randomUUID()).build())
+                .status(EventStatus.PUBLISHED)
+                .maxCapacity(100)
+                .reservedSeats(0)
+                .unitPrice(new BigDecimal("50.00"))
+                .build();
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(eventRepository.findAvailableSeatsById(event.getId())).thenReturn(Optional.of(100));
+        when(eventRepository.reserveSeats(event.getId(), 2)).thenReturn(0);
+        when(eventRepository.findStatusById(event.getId())).thenReturn(Optional.of(EventStatus.PUBLISHED));
+
+        BatchingReservationService service = newService(Duration.ZERO, 1);
+
+        // When / Then
+        assertThrows(ConflictException.class,
+                () -> service.createReservation(event.getId(), 2, null, User.builder().id(UUID.randomUUID()).build()));
+        verify(eventRepository, times(5)).reserveSeats(event.getId(), 2);
+        verify(reservationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should take seats for checkout holds and direct bookings in the same batch")
+    void testSeatHoldsShareTheBatch() throws Exception {
+        // Given - two holds and one direct booking arriving together
+        Event event = Event.builder()
+                .id(UUID.randomUUID())
+                .organizer(User.builder().id(UUID.randomUUID()).build())
+                .status(EventStatus.PUBLISHED)
+                .maxCapacity(100)
+                .reservedSeats(0)
+                .unitPrice(new BigDecimal("50.00"))
+                .build();
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(eventRepository.findAvailableSeatsById(event.getId())).thenReturn(Optional.of(100));
+        when(eventRepository.reserveSeats(event.getId(), 6)).thenReturn(1);
+        when(reservationCodeAllocator.nextCode()).thenReturn("EVT-AAAAA");
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(seatHoldRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchingReservationService service = newService(Duration.ofSeconds(5), 3);
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        Future<SeatHold> firstHold = executor.submit(() ->
+                service.holdSeats(event.getId(), 2, User.builder().id(UUID.randomUUID()).build()));
+        Future<SeatHold> secondHold = executor.submit(() ->
+                service.holdSeats(event.getId(), 3, User.builder().id(UUID.randomUUID()).build()));
+        Future<Reservation> booking = executor.submit(() ->
+                service.createReservation(event.getId(), 1, null, User.builder().id(UUID.randomUUID()).build()));
+
+        // Then - one counter update for all six seats; holds are queued for expiry
+        assertEquals(2, firstHold.get().getNumberOfSeats());
+        assertEquals(3, secondHold.get().getNumberOfSeats());
+        assertNotNull(firstHold.get().getExpiresAt());
+        assertEquals(new BigDecimal("50.00"), booking.get().getTotalAmount());
+        executor.shutdown();
+
+        verify(eventRepository, times(1)).reserveSeats(event.getId(), 6);
+        verify(seatHoldRepository, times(1)).saveAll(anyList());
+        verify(seatHoldExpiryQueue, times(2)).schedule(any());
+        verify(statisticsRecorder, times(1)).record(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should replay only the duplicate when a replayed key fails the batch commit")
+    void testConcurrentDuplicateKeyIsReplayed() throws Exception {
+        // Given - the first attempt of a keyed request commits elsewhere after this batch looked the key up
+        Event event = Event.builder()
+                .id(UUID.randomUUID())
+                .organizer(User.builder().id(UUID.randomUUID()).build())
+                .status(EventStatus.PUBLISHED)
+                .maxCapacity(100)
+                .reservedSeats(0)
+                .unitPrice(new BigDecimal("50.00"))
+                .build();
+        User replaying = User.builder().id(UUID.randomUUID()).build();
+        Reservation original = Reservation.builder()
+                .id(UUID.randomUUID())
+                .user(replaying)
+                .event(event)
+                .idempotencyKey("retry-key")
+                .build();
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(eventRepository.findAvailableSeatsById(event.getId())).thenReturn(Optional.of(100));
+        when(eventRepository.reserveSeats(eq(event.getId()), anyInt())).thenReturn(1);
+        when(reservationCodeAllocator.nextCode()).thenReturn("EVT-AAAAA", "EVT-BBBBB", "EVT-CCCCC");
+        when(reservationRepository.findByIdempotencyKeyIn(anyList()))
+                .thenReturn(List.of(), List.of(original));
+        when(reservationRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint "
+                        + "\"uk_reservations_idempotency_key\""))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchingReservationService service = newService(Duration.ofSeconds(5), 2);
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Reservation> replayed = executor.submit(() ->
+                service.createReservation(event.getId(), 2, null, replaying, "retry-key"));
+        Future<Reservation> other = executor.submit(() ->
+                service.createReservation(event.getId(), 2, null, User.builder().id(UUID.randomUUID()).build()));
+
+        // Then - the duplicate gets the original, the rest of the batch is written on the second run
+        assertSame(original, replayed.get());
+        assertEquals(new BigDecimal("100.00"), other.get().getTotalAmount());
+        executor.shutdown();
+        verify(eventRepository, times(1)).reserveSeats(event.getId(), 4);
+        verify(eventRepository, times(1)).reserveSeats(event.getId(), 2);
+        verify(reservationRepository, times(2)).saveAll(anyList());
+    }
+
+    private BatchingReservationService newService(Duration window, int maxBatchSize) {
+        return new BatchingReservationService(null, eventRepository, reservationRepository,
+                reservationCodeAllocator, seatHoldRepository, seatHoldExpiryQueue, Duration.ofMinutes(10),
+                admissionService, statisticsRecorder, eventPublisher, transactionManager, window, maxBatchSize);
+    }
+}
@@ -0,0 +1,105 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.service.impl.CheckInRoster;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CheckInRoster Tests")
+class CheckInRosterTest {
+
+    @Test
+    @DisplayName("Should pack valid codes losslessly and reject malformed ones")
+    void testPackAndUnpack() {
+        int packed = CheckInRoster.pack("EVT-A1Z09");
+        assertTrue(packed >= 0);
+        assertEquals("EVT-A1Z09", CheckInRoster.unpack(packed));
+        assertEquals(packed, CheckInRoster.pack(" evt-a1z09 "));
+        assertEquals("EVT-AAAAA", CheckInRoster.unpack(CheckInRoster.pack("EVT-AAAAA")));
+        assertEquals("EVT-99999", CheckInRoster.unpack(CheckInRoster.pack("EVT-99999")));
+
+        assertEquals(-1, CheckInRoster.pack(null));
+        assertEquals(-1, CheckInRoster.pack("EVT-A1Z0"));
+        assertEquals(-1, CheckInRoster.pack("ABC-A1Z09"));
+        assertEquals(-1, CheckInRoster.pack("EVT-A1Z0!"));
+    }
+
+    @Test
+    @DisplayName("Should admit each ticket once and count tickets checked in before loading")
+    void testCheckInOnce() {
+        int first = CheckInRoster.pack("EVT-AAAAB");
+        int second = CheckInRoster.pack("EVT-AAAAC");
+        BitSet alreadyCheckedIn = new BitSet();
+        alreadyCheckedIn.set(1);
+        CheckInRoster roster = new CheckInRoster(UUID.randomUUID(), new int[]{first, second}, 2, alreadyCheckedIn);
+
+        assertEquals(2, roster.getExpected());
+        assertEquals(1, roster.getCheckedIn());
+        assertTrue(roster.checkIn(first));
+        assertFalse(roster.checkIn(first));
+        assertFalse(roster.checkIn(second));
+        assertFalse(roster.checkIn(CheckInRoster.pack("EVT-AAAAD")));
+        assertEquals(2, roster.getCheckedIn());
+    }
+
+    @Test
+    @DisplayName("Should admit late tickets once and never tickets of the roster")
+    void testLateCheckIn() {
+        int onRoster = CheckInRoster.pack("EVT-AAAAB");
+        int late = CheckInRoster.pack("EVT-ZZZZZ");
+        CheckInRoster roster = new CheckInRoster(UUID.randomUUID(), new int[]{onRoster}, 1, new BitSet());
+
+        assertFalse(roster.contains(late));
+        assertTrue(roster.checkInLate(late));
+        assertTrue(roster.isLateCheckIn(late));
+        assertFalse(roster.checkInLate(late));
+        assertFalse(roster.checkInLate(onRoster));
+        assertEquals(2, roster.getExpected());
+        assertEquals(1, roster.getCheckedIn());
+    }
+
+    @Test
+    @DisplayName("Should admit each ticket exactly once under concurrent scanners")
+    void testConcurrentCheckIn() throws Exception {
+        int tickets = 50_000;
+        int[] codes = new int[tickets];
+        for (int i = 0; i < tickets; i++) {
+            codes[i] = i * 7;
+        }
+        CheckInRoster roster = new CheckInRoster(UUID.randomUUID(), codes, tickets, new BitSet());
+        AtomicInteger admitted = new AtomicInteger();
+
+        ExecutorService scanners = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(scanners.submit(() -> {
+                    for (int code : codes) {
+                        if (roster.checkIn(code)) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            scanners.shutdown();
+        }
+
+        assertEquals(tickets, admitted.get());
+        assertEquals(tickets, roster.getCheckedIn());
+        assertEquals(tickets, roster.getExpected());
+    }
+}
@@ -0,0 +1,149 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.entity.Reservation;
+import com.xenplan.app.domain.exception.ForbiddenException;
+import com.xenplan.app.repository.SchedulerLeaseRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.xenplan.app.service.impl.AdmissionServiceImpl;
+import com.xenplan.app.service.impl.CheckInServiceImpl;
+import com.xenplan.app.service.impl.CheckInWriter;
+import com.xenplan.app.service.impl.ClusterLease;
+import com.xenplan.app.service.impl.EventServiceImpl;
+import com.xenplan.app.service.impl.PublishedEventCatalog;
+import com.xenplan.app.service.impl.ReservationCodeAllocator;
+import com.xenplan.app.service.impl.ReservationServiceImpl;
+import com.xenplan.app.service.impl.SeatHoldExpiryQueue;
+import com.xenplan.app.service.impl.StatisticsRecorder;
+import com.xenplan.app.service.impl.WaitlistPromoter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = {
+        "xenplan.reservations.code-key=test-reservation-code-key"
+})
+@Import({ReservationServiceImpl.class, CheckInServiceImpl.class, CheckInWriter.class, AdmissionServiceImpl.class, ReservationCodeAllocator.class, SeatHoldExpiryQueue.class, WaitlistPromoter.class, EventServiceImpl.class, PublishedEventCatalog.class, ClusterLease.class, StatisticsRecorder.class})
+@DisplayName("CheckInService Integration Tests")
+class CheckInServiceIntegrationTest extends ServiceIntegrationTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CheckInService checkInService;
+
+    @Autowired
+    private CheckInServiceImpl checkInServiceImpl;
+
+    @Autowired
+    private CheckInWriter checkInWriter;
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Integration: Door check-in admits each confirmed ticket once")
+    void testDoorCheckIn() {
+        // Given - one confirmed and one pending reservation
+        Reservation confirmed = reservationService.createReservation(publishedEvent.getId(), 2, null, client);
+        reservationService.confirmReservation(confirmed.getId(), organizer);
+        Reservation pending = reservationService.createReservation(publishedEvent.getId(), 3, null, client);
+
+        CheckInResult opened = checkInService.openCheckIn(publishedEvent.getId(), organizer);
+        assertEquals(0, opened.checkedIn());
+        assertEquals(1, opened.expected());
+
+        // When / Then - first scan admits, repeats (in any case) do not
+        CheckInResult first = checkInService.checkIn(publishedEvent.getId(), confirmed.getReservationCode(), organizer);
+        assertEquals(CheckInResult.Outcome.ADMITTED, first.outcome());
+        assertEquals(1, first.checkedIn());
+        assertEquals(CheckInResult.Outcome.ALREADY_CHECKED_IN, checkInService.checkIn(publishedEvent.getId(),
+                confirmed.getReservationCode().toLowerCase(), organizer).outcome());
+        assertEquals(CheckInResult.Outcome.NOT_CONFIRMED,
+                checkInService.checkIn(publishedEvent.getId(), pending.getReservationCode(), organizer).outcome());
+        assertEquals(CheckInResult.Outcome.UNKNOWN_CODE,
+                checkInService.checkIn(publishedEvent.getId(), "not-a-code", organizer).outcome());
+        assertThrows(ForbiddenException.class,
+                () -> checkInService.checkIn(publishedEvent.getId(), confirmed.getReservationCode(), client));
+
+        // When - the pending reservation is confirmed after check-in opened
+        reservationService.confirmReservation(pending.getId(), organizer);
+        CheckInResult late = checkInService.checkIn(publishedEvent.getId(), pending.getReservationCode(), organizer);
+
+        // Then - it is admitted too, and both are written in one batch
+        assertEquals(CheckInResult.Outcome.ADMITTED, late.outcome());
+        assertEquals(2, late.checkedIn());
+        assertEquals(2, late.expected());
+        assertEquals(2, checkInWriter.flush());
+        assertNotNull(reservationRepository.findByReservationCode(confirmed.getReservationCode()).orElseThrow().getCheckedInAt());
+        assertNotNull(reservationRepository.findByReservationCode(pending.getReservationCode()).orElseThrow().getCheckedInAt());
+
+        // When - check-in is closed and opened again, the roster is rebuilt from the database
+        checkInService.closeCheckIn(publishedEvent.getId(), organizer);
+        CheckInResult reopened = checkInService.openCheckIn(publishedEvent.getId(), organizer);
+        assertEquals(2, reopened.checkedIn());
+        assertEquals(CheckInResult.Outcome.ALREADY_CHECKED_IN,
+                checkInService.checkIn(publishedEvent.getId(), confirmed.getReservationCode(), organizer).outcome());
+        checkInService.closeCheckIn(publishedEvent.getId(), organizer);
+    }
+
+    @Test
+    @DisplayName("Integration: Door check-in on another node goes through the database")
+    void testCheckInOnNodeWithoutLease() {
+        // Given - a confirmed ticket, and another node opened check-in for the event
+        Reservation confirmed = reservationService.createReservation(publishedEvent.getId(), 2, null, client);
+        reservationService.confirmReservation(confirmed.getId(), organizer);
+        ClusterLease otherNode = new ClusterLease(schedulerLeaseRepository, transactionManager);
+        assertTrue(otherNode.tryAcquire("check-in:" + publishedEvent.getId(), Duration.ofMinutes(1)));
+
+        // When - this node opens check-in and scans the ticket twice
+        CheckInResult opened = checkInService.openCheckIn(publishedEvent.getId(), organizer);
+        CheckInResult first = checkInService.checkIn(publishedEvent.getId(), confirmed.getReservationCode(), organizer);
+        CheckInResult second = checkInService.checkIn(publishedEvent.getId(), confirmed.getReservationCode(), organizer);
+
+        // Then - no roster is loaded, the database admits the ticket once
+        assertEquals(0, opened.checkedIn());
+        assertEquals(1, opened.expected());
+        assertEquals(CheckInResult.Outcome.ADMITTED, first.outcome());
+        assertEquals(1, first.checkedIn());
+        assertEquals(CheckInResult.Outcome.ALREADY_CHECKED_IN, second.outcome());
+        assertEquals(CheckInResult.Outcome.UNKNOWN_CODE,
+                checkInService.checkIn(publishedEvent.getId(), "EVT-AAAAA", organizer).outcome());
+        assertNotNull(reservationRepository.findByReservationCode(confirmed.getReservationCode()).orElseThrow().getCheckedInAt());
+        assertEquals(0, checkInWriter.flush());
+    }
+
+    @Test
+    @DisplayName("Integration: Door check-ins from other nodes are applied to the roster")
+    void testRosterSyncsCheckInsFromOtherNodes() {
+        // Given - this node loaded the roster of two confirmed tickets
+        Reservation first = reservationService.createReservation(publishedEvent.getId(), 2, null, client);
+        reservationService.confirmReservation(first.getId(), organizer);
+        Reservation second = reservationService.createReservation(publishedEvent.getId(), 1, null, client);
+        reservationService.confirmReservation(second.getId(), organizer);
+        checkInService.openCheckIn(publishedEvent.getId(), organizer);
+
+        // When - another node checked the first one in through the database
+        assertEquals(1, reservationRepository.markCheckedIn(publishedEvent.getId(), first.getReservationCode(), LocalDateTime.now()));
+        checkInServiceImpl.syncRosters();
+
+        // Then - the roster refuses it and still admits the other
+        assertEquals(CheckInResult.Outcome.ALREADY_CHECKED_IN,
+                checkInService.checkIn(publishedEvent.getId(), first.getReservationCode(), organizer).outcome());
+        CheckInResult admitted = checkInService.checkIn(publishedEvent.getId(), second.getReservationCode(), organizer);
+        assertEquals(CheckInResult.Outcome.ADMITTED, admitted.outcome());
+        assertEquals(2, admitted.checkedIn());
+        assertEquals(1, checkInWriter.flush());
+        checkInService.closeCheckIn(publishedEvent.getId(), organizer);
+    }
+}
@@ -0,0 +1,159 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.entity.OrganizerStats;
+import com.xenplan.app.domain.entity.Reservation;
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.enums.EventCategory;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.domain.enums.Role;
+import com.xenplan.app.repository.OrganizerStatsRepository;
+import com.xenplan.app.repository.PlatformStatsRepository;
+import com.xenplan.app.repository.StatsDelta;
+import com.xenplan.app.security.PasswordEncoderConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.xenplan.app.service.impl.AdmissionServiceImpl;
+import com.xenplan.app.service.impl.ClusterLease;
+import com.xenplan.app.service.impl.DashboardStatisticsServiceImpl;
+import com.xenplan.app.service.impl.EventServiceImpl;
+import com.xenplan.app.service.impl.PublishedEventCatalog;
+import com.xenplan.app.service.impl.ReservationCodeAllocator;
+import com.xenplan.app.service.impl.ReservationServiceImpl;
+import com.xenplan.app.service.impl.SeatHoldExpiryQueue;
+import com.xenplan.app.service.impl.StatisticsReconciler;
+import com.xenplan.app.service.impl.StatisticsRecorder;
+import com.xenplan.app.service.impl.UserServiceImpl;
+import com.xenplan.app.service.impl.WaitlistPromoter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = {
+        "xenplan.reservations.code-key=test-reservation-code-key"
+})
+@Import({ReservationServiceImpl.class, AdmissionServiceImpl.class, ReservationCodeAllocator.class, SeatHoldExpiryQueue.class, WaitlistPromoter.class, EventServiceImpl.class, PublishedEventCatalog.class, ClusterLease.class, DashboardStatisticsServiceImpl.class, StatisticsRecorder.class, StatisticsReconciler.class, UserServiceImpl.class, PasswordEncoderConfig.class})
+@DisplayName("DashboardStatisticsService Integration Tests")
+class DashboardStatisticsServiceIntegrationTest extends ServiceIntegrationTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DashboardStatisticsService dashboardStatisticsService;
+
+    @Autowired
+    private StatisticsReconciler statisticsReconciler;
+
+    @Autowired
+    private PlatformStatsRepository platformStatsRepository;
+
+    @Autowired
+    private OrganizerStatsRepository organizerStatsRepository;
+
+    @Test
+    @DisplayName("Integration: Platform statistics are maintained with every change")
+    void testPlatformStatistics() {
+        // Given - counters matching the rows created directly in setUp
+        statisticsReconciler.reconcile();
+
+        // When - one confirmed, one pending and one cancelled reservation, one deactivated user
+        Reservation confirmed = reservationService.createReservation(publishedEvent.getId(), 2, null, client);
+        reservationService.confirmReservation(confirmed.getId(), organizer);
+        reservationService.createReservation(publishedEvent.getId(), 3, null, client);
+        Reservation cancelled = reservationService.createReservation(publishedEvent.getId(), 4, null, client);
+        reservationService.cancelReservation(cancelled.getId(), client);
+        User inactive = userService.registerUser("Inactive", "Client", "inactive@test.com", "password123");
+        userService.setUserActive(inactive.getId(), false, User.builder().role(Role.ADMIN).build());
+
+        PlatformStatistics statistics = dashboardStatisticsService.getPlatformStatistics();
+
+        // Then
+        assertEquals(3, statistics.totalUsers());
+        assertEquals(Map.of(Role.ORGANIZER, 1L, Role.CLIENT, 2L), statistics.usersByRole());
+        assertEquals(2, statistics.activeUsers());
+        assertEquals(1, statistics.totalEvents());
+        assertEquals(1, statistics.events(EventStatus.PUBLISHED));
+        assertEquals(1, statistics.reservations(ReservationStatus.CONFIRMED));
+        assertEquals(1, statistics.reservations(ReservationStatus.PENDING));
+        assertEquals(1, statistics.reservations(ReservationStatus.CANCELLED));
+        assertEquals(5, statistics.reservedSeats());
+        assertEquals(0, new BigDecimal("100.00").compareTo(statistics.revenue()));
+
+        OrganizerStats organizerStats = organizerStatsRepository.findById(organizer.getId()).orElseThrow();
+        assertEquals(1, organizerStats.getPublishedEvents());
+        assertEquals(1, organizerStats.getPendingReservations());
+        assertEquals(5, organizerStats.getReservedSeats());
+        assertEquals(0, new BigDecimal("100.00").compareTo(organizerStats.getRevenue()));
+    }
+
+    @Test
+    @DisplayName("Integration: Reconciliation repairs drifted statistics")
+    void testStatisticsReconciliation() {
+        // Given - counters that drifted from the source tables
+        statisticsReconciler.reconcile();
+        platformStatsRepository.apply(5, new StatsDelta().users(Role.CLIENT, true, 7).events(EventStatus.DRAFT, 3));
+
+        // When
+        statisticsReconciler.reconcile();
+
+        // Then
+        PlatformStatistics statistics = dashboardStatisticsService.getPlatformStatistics();
+        assertEquals(Map.of(Role.ORGANIZER, 1L, Role.CLIENT, 1L), statistics.usersByRole());
+        assertEquals(2, statistics.activeUsers());
+        assertEquals(Map.of(EventStatus.PUBLISHED, 1L), statistics.eventsByStatus());
+        assertEquals(1, organizerStatsRepository.findById(organizer.getId()).orElseThrow().getPublishedEvents());
+    }
+
+    @Test
+    @DisplayName("Integration: Organizer statistics combine counters and per-event sales")
+    void testOrganizerStatistics() {
+        // Given - a second, unsold event and sales on the published one
+        statisticsReconciler.reconcile();
+        Event draft = eventService.createEvent(Event.builder()
+                .title("Unsold Draft")
+                .category(EventCategory.CONCERT)
+                .startDate(LocalDateTime.now().plusDays(20))
+                .endDate(LocalDateTime.now().plusDays(20).plusHours(2))
+                .venue("Hall")
+                .city("Rabat")
+                .maxCapacity(50)
+                .unitPrice(new BigDecimal("10.00"))
+                .build(), organizer);
+        Reservation confirmed = reservationService.createReservation(publishedEvent.getId(), 2, null, client);
+        reservationService.confirmReservation(confirmed.getId(), organizer);
+        reservationService.createReservation(publishedEvent.getId(), 3, null, client);
+        // Held seats are taken from the counter but are not sold
+        reservationService.holdSeats(publishedEvent.getId(), 4, client);
+
+        // When
+        OrganizerStatistics statistics = eventService.getOrganizerStatistics(organizer.getId(), 5);
+
+        // Then
+        assertEquals(2, statistics.totalEvents());
+        assertEquals(1, statistics.events(EventStatus.DRAFT));
+        assertEquals(1, statistics.events(EventStatus.PUBLISHED));
+        assertEquals(1, statistics.reservations(ReservationStatus.CONFIRMED));
+        assertEquals(5, statistics.reservedSeats());
+        assertEquals(2, statistics.topEvents().size());
+        EventSales best = statistics.topEvents().get(0);
+        assertEquals(publishedEvent.getId(), best.eventId());
+        assertEquals(5, best.seatsSold());
+        assertEquals(0, new BigDecimal("100.00").compareTo(best.revenue()));
+        EventSales unsold = statistics.topEvents().get(1);
+        assertEquals(draft.getId(), unsold.eventId());
+        assertEquals(0, unsold.seatsSold());
+        assertEquals(0, BigDecimal.ZERO.compareTo(unsold.revenue()));
+        assertEquals(1, eventService.getOrganizerStatistics(organizer.getId(), 1).topEvents().size());
+    }
+}
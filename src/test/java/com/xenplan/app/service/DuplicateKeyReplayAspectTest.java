@@ -0,0 +1,60 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.service.impl.DuplicateKeyReplayAspect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DuplicateKeyReplayAspect Tests")
+class DuplicateKeyReplayAspectTest {
+
+    private KeyedInsert target;
+    private KeyedInsert proxy;
+
+    @BeforeEach
+    void setUp() {
+        target = new KeyedInsert();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new DuplicateKeyReplayAspect());
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should replay once when the key constraint is violated")
+    void testReplaysDuplicateKey() {
+        target.violation = new DataIntegrityViolationException(
+                "could not execute statement", new RuntimeException("Unique index violation: PUBLIC.UK_ORDERS_KEY"));
+
+        assertEquals("original", proxy.insert());
+        assertEquals(2, target.attempts);
+    }
+
+    @Test
+    @DisplayName("Should not replay violations of other constraints")
+    void testOtherConstraintIsRethrown() {
+        target.violation = new DataIntegrityViolationException(
+                "could not execute statement", new RuntimeException("Check constraint violation: CK_ORDERS_SEATS"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> proxy.insert());
+        assertEquals(1, target.attempts);
+    }
+
+    static class KeyedInsert {
+
+        DataIntegrityViolationException violation;
+        int attempts;
+
+        @ReplayOnDuplicateKey(constraint = "uk_orders_key")
+        public String insert() {
+            attempts++;
+            if (attempts == 1) {
+                throw violation;
+            }
+            return "original";
+        }
+    }
+}
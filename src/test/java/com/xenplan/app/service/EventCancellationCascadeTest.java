@@ -0,0 +1,95 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.entity.EventCancellationJob;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.event.EventChangedEvent;
+import com.xenplan.app.repository.EventCancellationJobRepository;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.ReservationRepository;
+import com.xenplan.app.repository.WaitlistEntryRepository;
+import com.xenplan.app.service.impl.ClusterLease;
+import com.xenplan.app.service.impl.EventCancellationCascade;
+import com.xenplan.app.service.impl.StatisticsRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventCancellationCascade Tests")
+class EventCancellationCascadeTest {
+
+    @Mock
+    private EventCancellationJobRepository jobRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private StatisticsRecorder statisticsRecorder;
+
+    @Mock
+    private ClusterLease clusterLease;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EventCancellationCascade cascade;
+
+    @BeforeEach
+    void setUp() {
+        cascade = new EventCancellationCascade(jobRepository, reservationRepository, eventRepository,
+                waitlistEntryRepository, statisticsRecorder, clusterLease, transactionManager, 500,
+                Duration.ofMinutes(2));
+    }
+
+    @Test
+    @DisplayName("Should leave unfinished jobs to the lease holder")
+    void testSweepWithoutLease() {
+        when(clusterLease.tryAcquire(eq("event-cancellation"), any())).thenReturn(false);
+
+        cascade.sweep();
+        cascade.onEventCancelled(new EventChangedEvent(UUID.randomUUID(), EventStatus.CANCELLED));
+
+        verifyNoInteractions(jobRepository);
+    }
+
+    @Test
+    @DisplayName("Should resume unfinished jobs, failed ones included, on the lease holder")
+    void testSweepResumesUnfinishedJobs() {
+        // Given - a job left unfinished by a node that went down or a run that failed
+        UUID eventId = UUID.randomUUID();
+        when(clusterLease.tryAcquire(eq("event-cancellation"), any())).thenReturn(true);
+        when(jobRepository.findByCompletedAtIsNull())
+                .thenReturn(List.of(EventCancellationJob.builder().eventId(eventId).build()));
+        when(jobRepository.findById(eventId)).thenThrow(new IllegalStateException("database down"))
+                .thenReturn(Optional.empty());
+
+        // When - the first run fails, the next sweep starts it again
+        cascade.sweep();
+        verify(jobRepository, timeout(5000)).findById(eventId);
+        verify(jobRepository, after(200).times(1)).findById(eventId);
+        cascade.sweep();
+
+        // Then
+        verify(jobRepository, timeout(5000).times(2)).findById(eventId);
+    }
+}
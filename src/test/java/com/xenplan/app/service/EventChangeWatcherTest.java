@@ -0,0 +1,58 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.event.EventChangedEvent;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.projection.EventWatermark;
+import com.xenplan.app.service.impl.EventChangeWatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventChangeWatcher Tests")
+class EventChangeWatcherTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private EventChangeWatcher watcher;
+
+    @Test
+    @DisplayName("Should announce a remote change only when the watermark moves")
+    void testAnnouncesMovedWatermark() {
+        when(eventRepository.findWatermark()).thenReturn(
+                watermark(3, 7), watermark(3, 7), watermark(3, 8), watermark(2, 8));
+
+        watcher.poll();
+        watcher.poll();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        watcher.poll();
+        watcher.poll();
+        verify(eventPublisher, times(2)).publishEvent(EventChangedEvent.remote());
+    }
+
+    private static EventWatermark watermark(long eventCount, long versionSum) {
+        return new EventWatermark() {
+            @Override
+            public Long getEventCount() {
+                return eventCount;
+            }
+
+            @Override
+            public Long getVersionSum() {
+                return versionSum;
+            }
+        };
+    }
+}
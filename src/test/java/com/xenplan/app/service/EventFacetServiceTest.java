@@ -0,0 +1,64 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.enums.EventCategory;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.event.EventChangedEvent;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.projection.CityEventCount;
+import com.xenplan.app.service.impl.EventFacetServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventFacetService Tests")
+class EventFacetServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private EventFacetServiceImpl eventFacetService;
+
+    @Test
+    @DisplayName("Should refresh cached facet counts after a change on another node")
+    void testRefreshesAfterRemoteChange() {
+        // Given - counts cached from the first read
+        when(eventRepository.countByCity(EventStatus.PUBLISHED))
+                .thenReturn(List.of(cityCount("Rabat", 1)), List.of(cityCount("Rabat", 2)));
+        when(eventRepository.countByCategory(EventStatus.PUBLISHED)).thenReturn(List.of());
+        assertEquals(Map.of("Rabat", 1L), eventFacetService.countPublishedByCity());
+        assertEquals(Map.of("Rabat", 1L), eventFacetService.countPublishedByCity());
+
+        // When - another node published an event
+        eventFacetService.onEventChanged(EventChangedEvent.remote());
+
+        // Then - the next read recomputes them
+        assertEquals(Map.of("Rabat", 2L), eventFacetService.countPublishedByCity());
+        assertEquals(Map.<EventCategory, Long>of(), eventFacetService.countPublishedByCategory());
+        verify(eventRepository, times(2)).countByCity(EventStatus.PUBLISHED);
+    }
+
+    private static CityEventCount cityCount(String city, long eventCount) {
+        return new CityEventCount() {
+            @Override
+            public String getCity() {
+                return city;
+            }
+
+            @Override
+            public Long getEventCount() {
+                return eventCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,171 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.enums.EventCategory;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.event.EventChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.xenplan.app.service.impl.EventFacetServiceImpl;
+import com.xenplan.app.service.impl.EventServiceImpl;
+import com.xenplan.app.service.impl.PublishedEventCatalog;
+import com.xenplan.app.service.impl.StatisticsRecorder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import({EventServiceImpl.class, PublishedEventCatalog.class, EventFacetServiceImpl.class, StatisticsRecorder.class})
+@DisplayName("EventService Integration Tests")
+class EventServiceIntegrationTest extends ServiceIntegrationTest {
+
+    @Autowired
+    private EventFacetService eventFacetService;
+
+    @Autowired
+    private PublishedEventCatalog publishedEventCatalog;
+
+    @Test
+    @DisplayName("Integration: Page through published events")
+    void testSearchEventsPaged() {
+        // Given - four more published events in another city, one draft
+        for (int i = 1; i <= 4; i++) {
+            eventRepository.save(Event.builder()
+                    .title("Theatre " + i)
+                    .category(EventCategory.THEATRE)
+                    .startDate(LocalDateTime.now().plusDays(7 + i))
+                    .endDate(LocalDateTime.now().plusDays(7 + i).plusHours(2))
+                    .venue("Stage")
+                    .city("Other City")
+                    .maxCapacity(50)
+                    .unitPrice(new BigDecimal("20.00"))
+                    .status(i == 4 ? EventStatus.DRAFT : EventStatus.PUBLISHED)
+                    .organizer(organizer)
+                    .build());
+        }
+
+        // The test transaction never commits, so reload the catalog by hand
+        publishedEventCatalog.onEventChanged(EventChangedEvent.bulk(EventStatus.PUBLISHED));
+
+        EventSearchCriteria published = EventSearchCriteria.builder().status(EventStatus.PUBLISHED).build();
+
+        // When
+        Slice<Event> first = eventService.searchEvents(published, PageRequest.of(0, 2));
+        Slice<Event> second = eventService.searchEvents(published, PageRequest.of(1, 2));
+
+        // Then - ordered by start date, drafts excluded
+        assertEquals(List.of("Integration Test Concert", "Theatre 1"),
+                first.getContent().stream().map(Event::getTitle).toList());
+        assertTrue(first.hasNext());
+        assertEquals(List.of("Theatre 2", "Theatre 3"),
+                second.getContent().stream().map(Event::getTitle).toList());
+        assertFalse(second.hasNext());
+        assertEquals(4, eventService.countEvents(published));
+    }
+
+    @Test
+    @DisplayName("Integration: Search combines all filters in one query")
+    void testSearchEventsWithCombinedFilters() {
+        // Given
+        for (int i = 1; i <= 3; i++) {
+            eventRepository.save(Event.builder()
+                    .title("Theatre " + i)
+                    .category(EventCategory.THEATRE)
+                    .startDate(LocalDateTime.now().plusDays(10 * i))
+                    .endDate(LocalDateTime.now().plusDays(10 * i).plusHours(2))
+                    .venue("Stage")
+                    .city("Test City")
+                    .maxCapacity(50)
+                    .unitPrice(new BigDecimal(20 * i))
+                    .status(EventStatus.PUBLISHED)
+                    .organizer(organizer)
+                    .build());
+        }
+
+        // The test transaction never commits, so reload the catalog by hand
+        publishedEventCatalog.onEventChanged(EventChangedEvent.bulk(EventStatus.PUBLISHED));
+
+        // When - theatre in Test City, within the next 25 days, at most 30.00
+        EventSearchCriteria criteria = EventSearchCriteria.builder()
+                .status(EventStatus.PUBLISHED)
+                .category(EventCategory.THEATRE)
+                .city("Test City")
+                .startFrom(LocalDateTime.now())
+                .startTo(LocalDateTime.now().plusDays(25))
+                .maxPrice(new BigDecimal("30.00"))
+                .build();
+        Slice<Event> result = eventService.searchEvents(criteria, PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(List.of("Theatre 1"), result.getContent().stream().map(Event::getTitle).toList());
+        assertEquals(1, eventService.countEvents(criteria));
+        assertEquals(0, eventService.countEvents(EventSearchCriteria.builder()
+                .status(EventStatus.PUBLISHED).category(EventCategory.CONCERT).city("Other City").build()));
+    }
+
+    @Test
+    @DisplayName("Integration: Facet counts group published events")
+    void testFacetCounts() {
+        // Given - two published theatre events in another city, one draft
+        for (int i = 1; i <= 3; i++) {
+            eventRepository.save(Event.builder()
+                    .title("Theatre " + i)
+                    .category(EventCategory.THEATRE)
+                    .startDate(LocalDateTime.now().plusDays(7 + i))
+                    .endDate(LocalDateTime.now().plusDays(7 + i).plusHours(2))
+                    .venue("Stage")
+                    .city("Another City")
+                    .maxCapacity(50)
+                    .unitPrice(new BigDecimal("20.00"))
+                    .status(i == 3 ? EventStatus.DRAFT : EventStatus.PUBLISHED)
+                    .organizer(organizer)
+                    .build());
+        }
+
+        // When
+        Map<String, Long> byCity = eventFacetService.countPublishedByCity();
+        Map<EventCategory, Long> byCategory = eventFacetService.countPublishedByCategory();
+
+        // Then - cities ordered by name
+        assertEquals(List.of("Another City", "Test City"), List.copyOf(byCity.keySet()));
+        assertEquals(2L, byCity.get("Another City"));
+        assertEquals(1L, byCity.get("Test City"));
+        assertEquals(Map.of(EventCategory.CONCERT, 1L, EventCategory.THEATRE, 2L), byCategory);
+    }
+
+    @Test
+    @DisplayName("Integration: Ended events are marked FINISHED in one update")
+    void testMarkFinishedEvents() {
+        // Given - a published event that has ended
+        Event ended = eventRepository.save(Event.builder()
+                .title("Ended Concert")
+                .description("Test description")
+                .category(EventCategory.CONCERT)
+                .startDate(LocalDateTime.now().minusDays(2))
+                .endDate(LocalDateTime.now().minusDays(1))
+                .venue("Test Venue")
+                .city("Test City")
+                .maxCapacity(10)
+                .unitPrice(new BigDecimal("10.00"))
+                .organizer(organizer)
+                .status(EventStatus.PUBLISHED)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        // When
+        int finished = eventService.markFinishedEvents();
+
+        // Then - the upcoming event is left alone
+        assertEquals(1, finished);
+        assertEquals(EventStatus.FINISHED, eventRepository.findById(ended.getId()).orElseThrow().getStatus());
+        assertEquals(EventStatus.PUBLISHED, eventRepository.findById(publishedEvent.getId()).orElseThrow().getStatus());
+        assertEquals(0, eventService.markFinishedEvents());
+    }
+}
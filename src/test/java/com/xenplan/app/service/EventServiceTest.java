@@ -5,12 +5,17 @@ import com.xenplan.app.domain.entity.User;
 import com.xenplan.app.domain.enums.EventCategory;
 import com.xenplan.app.domain.enums.EventStatus;
 import com.xenplan.app.domain.enums.Role;
+import com.xenplan.app.domain.event.EventChangedEvent;
 import com.xenplan.app.domain.exception.ConflictException;
 import com.xenplan.app.domain.exception.ForbiddenException;
 import com.xenplan.app.domain.exception.NotFoundException;
 import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.OrganizerStatsRepository;
 import com.xenplan.app.repository.ReservationRepository;
+import com.xenplan.app.repository.projection.EventSeatAvailability;
 import com.xenplan.app.service.impl.EventServiceImpl;
+import com.xenplan.app.service.impl.PublishedEventCatalog;
+import com.xenplan.app.service.impl.StatisticsRecorder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,9 +23,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -38,6 +46,18 @@ class EventServiceTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private PublishedEventCatalog publishedEventCatalog;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StatisticsRecorder statisticsRecorder;
+
+    @Mock
+    private OrganizerStatsRepository organizerStatsRepository;
+
     @InjectMocks
     private EventServiceImpl eventService;
 
@@ -242,6 +262,7 @@ class EventServiceTest {
         // Then
         assertEquals(EventStatus.PUBLISHED, draftEvent.getStatus());
         verify(eventRepository).save(draftEvent);
+        verify(eventPublisher).publishEvent(EventChangedEvent.statusChange(draftEvent.getId(), EventStatus.PUBLISHED));
     }
 
     @Test
@@ -321,15 +342,14 @@ class EventServiceTest {
 
         assertTrue(exception.getMessage().contains("Cannot delete event with"));
         assertTrue(exception.getMessage().contains("existing reservation"));
-        verify(eventRepository, never()).delete(any());
+        verify(eventRepository, never()).delete(any(Event.class));
     }
 
     @Test
     @DisplayName("Should calculate available seats correctly")
     void testCalculateAvailableSeats() {
         // Given
-        when(eventRepository.findById(draftEvent.getId())).thenReturn(Optional.of(draftEvent));
-        when(reservationRepository.sumNumberOfSeatsByEventIdAndStatusNot(any(), any())).thenReturn(25);
+        when(eventRepository.findAvailableSeatsById(draftEvent.getId())).thenReturn(Optional.of(75));
 
         // When
         Integer available = eventService.calculateAvailableSeats(draftEvent.getId());
@@ -338,6 +358,23 @@ class EventServiceTest {
         assertEquals(75, available); // 100 capacity - 25 reserved
     }
 
+    @Test
+    @DisplayName("Should calculate available seats for several events in one query")
+    void testCalculateAvailableSeatsForSeveralEvents() {
+        // Given
+        UUID soldOutId = UUID.randomUUID();
+        when(eventRepository.findAvailableSeatsByIdIn(List.of(draftEvent.getId(), soldOutId)))
+                .thenReturn(List.of(availability(draftEvent.getId(), 75), availability(soldOutId, -2)));
+
+        // When
+        Map<UUID, Integer> available = eventService.calculateAvailableSeats(List.of(draftEvent.getId(), soldOutId));
+
+        // Then
+        assertEquals(75, available.get(draftEvent.getId()));
+        assertEquals(0, available.get(soldOutId)); // Never negative, even if capacity was lowered
+        verify(eventRepository, never()).findAvailableSeatsById(any());
+    }
+
     @Test
     @DisplayName("Should throw NotFoundException when event not found")
     void testUpdateEventNotFound() {
@@ -352,5 +389,18 @@ class EventServiceTest {
 
         assertEquals("Event not found", exception.getMessage());
     }
-}
 
+    private EventSeatAvailability availability(UUID eventId, int availableSeats) {
+        return new EventSeatAvailability() {
+            @Override
+            public UUID getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public Integer getAvailableSeats() {
+                return availableSeats;
+            }
+        };
+    }
+}
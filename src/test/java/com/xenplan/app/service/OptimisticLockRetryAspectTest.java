@@ -0,0 +1,58 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.service.impl.OptimisticLockRetryAspect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OptimisticLockRetryAspect Tests")
+class OptimisticLockRetryAspectTest {
+
+    private ConflictingUpdate target;
+    private ConflictingUpdate proxy;
+
+    @BeforeEach
+    void setUp() {
+        target = new ConflictingUpdate();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new OptimisticLockRetryAspect());
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should retry until the update stops conflicting")
+    void testRetriesTransientConflict() {
+        target.conflicts = 2;
+
+        assertEquals("updated", proxy.update());
+        assertEquals(3, target.attempts);
+    }
+
+    @Test
+    @DisplayName("Should give up after the maximum number of attempts")
+    void testGivesUpAfterMaxAttempts() {
+        target.conflicts = 5;
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> proxy.update());
+        assertEquals(3, target.attempts);
+    }
+
+    static class ConflictingUpdate {
+
+        int conflicts;
+        int attempts;
+
+        @RetryOnOptimisticLock
+        public String update() {
+            attempts++;
+            if (attempts <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException(Object.class, "id");
+            }
+            return "updated";
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.enums.EventCategory;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.event.EventChangedEvent;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.service.impl.PublishedEventCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PublishedEventCatalog Tests")
+class PublishedEventCatalogTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private PublishedEventCatalog catalog;
+
+    private Event concert;
+    private Event play;
+
+    @BeforeEach
+    void setUp() {
+        concert = event("Concert", EventCategory.CONCERT, "Casablanca", 2);
+        play = event("Play", EventCategory.THEATRE, "Rabat", 5);
+        when(eventRepository.findByStatusOrderByStartDateAsc(EventStatus.PUBLISHED))
+                .thenReturn(List.of(concert, play));
+    }
+
+    @Test
+    @DisplayName("Should load once and serve filtered reads from memory")
+    void testReadsServedFromSnapshot() {
+        assertEquals(2, catalog.findAll().size());
+        assertEquals(List.of("Concert"), titles(catalog.findByCategory(EventCategory.CONCERT)));
+        assertEquals(List.of("Play"), titles(catalog.findByCity("Rabat")));
+        assertTrue(catalog.findByCity("Tangier").isEmpty());
+
+        verify(eventRepository, times(1)).findByStatusOrderByStartDateAsc(EventStatus.PUBLISHED);
+    }
+
+    @Test
+    @DisplayName("Should insert newly published event in start date order")
+    void testPublishedEventIsInserted() {
+        catalog.findAll();
+        Event conference = event("Conference", EventCategory.CONFERENCE, "Casablanca", 3);
+        when(eventRepository.findById(conference.getId())).thenReturn(Optional.of(conference));
+
+        catalog.onEventChanged(new EventChangedEvent(conference.getId(), EventStatus.PUBLISHED));
+
+        assertEquals(List.of("Concert", "Conference", "Play"), titles(catalog.findAll()));
+        assertEquals(List.of("Concert", "Conference"), titles(catalog.findByCity("Casablanca")));
+    }
+
+    @Test
+    @DisplayName("Should drop cancelled event without reading it back")
+    void testCancelledEventIsRemoved() {
+        catalog.findAll();
+
+        catalog.onEventChanged(new EventChangedEvent(concert.getId(), EventStatus.CANCELLED));
+
+        assertEquals(List.of("Play"), titles(catalog.findAll()));
+        assertTrue(catalog.findByCategory(EventCategory.CONCERT).isEmpty());
+        verify(eventRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should move updated event between category and city indexes")
+    void testUpdatedEventIsReindexed() {
+        catalog.findAll();
+        Event moved = event("Concert", EventCategory.THEATRE, "Rabat", 2);
+        moved.setId(concert.getId());
+        when(eventRepository.findById(concert.getId())).thenReturn(Optional.of(moved));
+
+        catalog.onEventChanged(new EventChangedEvent(concert.getId(), EventStatus.PUBLISHED));
+
+        assertTrue(catalog.findByCategory(EventCategory.CONCERT).isEmpty());
+        assertTrue(catalog.findByCity("Casablanca").isEmpty());
+        assertEquals(List.of("Concert", "Play"), titles(catalog.findByCategory(EventCategory.THEATRE)));
+        assertEquals(List.of("Concert", "Play"), titles(catalog.findByCity("Rabat")));
+    }
+
+    @Test
+    @DisplayName("Should ignore a change older than the event in the snapshot")
+    void testOlderVersionIsIgnored() {
+        concert.setVersion(2L);
+        catalog.findAll();
+        Event stale = event("Stale Concert", EventCategory.CONCERT, "Casablanca", 2);
+        stale.setId(concert.getId());
+        stale.setVersion(1L);
+        when(eventRepository.findById(concert.getId())).thenReturn(Optional.of(stale));
+
+        catalog.onEventChanged(new EventChangedEvent(concert.getId(), EventStatus.PUBLISHED));
+
+        assertEquals(List.of("Concert", "Play"), titles(catalog.findAll()));
+    }
+
+    @Test
+    @DisplayName("Should reload when events changed on another node")
+    void testRemoteChangeReloads() {
+        catalog.findAll();
+        when(eventRepository.findByStatusOrderByStartDateAsc(EventStatus.PUBLISHED)).thenReturn(List.of(play));
+
+        catalog.onEventChanged(EventChangedEvent.remote());
+
+        assertEquals(List.of("Play"), titles(catalog.findAll()));
+    }
+
+    @Test
+    @DisplayName("Should keep only the organizer ID in the shared snapshot")
+    void testOrganizerIsDetached() {
+        User organizer = User.builder().id(UUID.randomUUID()).firstName("Lazy").build();
+        concert.setOrganizer(organizer);
+
+        User copied = catalog.findAll().get(0).getOrganizer();
+
+        assertNotSame(organizer, copied);
+        assertEquals(organizer.getId(), copied.getId());
+        assertNull(copied.getFirstName());
+    }
+
+    @Test
+    @DisplayName("Should apply search criteria on the indexed candidates")
+    void testFindByCriteria() {
+        EventSearchCriteria rabat = EventSearchCriteria.builder()
+                .status(EventStatus.PUBLISHED)
+                .city("Rabat")
+                .build();
+        EventSearchCriteria soon = EventSearchCriteria.builder()
+                .status(EventStatus.PUBLISHED)
+                .startTo(LocalDateTime.now().plusDays(3))
+                .build();
+        EventSearchCriteria concertsInRabat = EventSearchCriteria.builder()
+                .status(EventStatus.PUBLISHED)
+                .category(EventCategory.CONCERT)
+                .city("Rabat")
+                .build();
+
+        assertEquals(List.of("Play"), titles(catalog.find(rabat)));
+        assertEquals(List.of("Concert"), titles(catalog.find(soon)));
+        assertTrue(catalog.find(concertsInRabat).isEmpty());
+    }
+
+    private static List<String> titles(List<Event> events) {
+        return events.stream().map(Event::getTitle).toList();
+    }
+
+    private static Event event(String title, EventCategory category, String city, int daysAhead) {
+        return Event.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .category(category)
+                .startDate(LocalDateTime.now().plusDays(daysAhead))
+                .endDate(LocalDateTime.now().plusDays(daysAhead).plusHours(3))
+                .venue("Venue")
+                .city(city)
+                .maxCapacity(100)
+                .reservedSeats(0)
+                .unitPrice(new BigDecimal("50.00"))
+                .status(EventStatus.PUBLISHED)
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.repository.ReservationCodeCounterRepository;
+import com.xenplan.app.repository.ReservationRepository;
+import com.xenplan.app.service.impl.ReservationCodeAllocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReservationCodeAllocator Tests")
+class ReservationCodeAllocatorTest {
+
+    @Mock
+    private ReservationCodeCounterRepository counterRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReservationCodeAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        stubCounter(counterRepository);
+        allocator = new ReservationCodeAllocator(counterRepository, reservationRepository, transactionManager,
+                "test-reservation-code-key");
+    }
+
+    @AfterEach
+    void tearDown() {
+        allocator.stop();
+    }
+
+    @Test
+    @DisplayName("Should hand out distinct codes in EVT-XXXXX format")
+    void testCodesAreUnique() {
+        when(reservationRepository.findExistingReservationCodes(anyCollection())).thenReturn(List.of());
+
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            String code = allocator.nextCode();
+            assertTrue(code.matches("EVT-[A-Z0-9]{5}"), code);
+            codes.add(code);
+        }
+
+        assertEquals(10_000, codes.size());
+        // One counter increment per block of 100 codes plus the spare blocks, never a lookup per code
+        verify(counterRepository, atLeast(100)).incrementNextBlock(any());
+        verify(counterRepository, atMost(102)).incrementNextBlock(any());
+        verify(reservationRepository, never()).findByReservationCode(any());
+    }
+
+    @Test
+    @DisplayName("Should skip codes already used by existing reservations")
+    void testExistingCodesAreSkipped() {
+        when(reservationRepository.findExistingReservationCodes(anyCollection())).thenReturn(List.of());
+        String first = allocator.nextCode();
+        String second = allocator.nextCode();
+
+        // Same key, fresh counter: the first code is now taken
+        ReservationCodeCounterRepository freshCounter = mock(ReservationCodeCounterRepository.class);
+        stubCounter(freshCounter);
+        ReservationRepository takenFirst = mock(ReservationRepository.class);
+        when(takenFirst.findExistingReservationCodes(anyCollection())).thenReturn(List.of(first));
+        ReservationCodeAllocator restarted = new ReservationCodeAllocator(freshCounter, takenFirst,
+                transactionManager, "test-reservation-code-key");
+
+        assertEquals(second, restarted.nextCode());
+        restarted.stop();
+    }
+
+    @Test
+    @DisplayName("Should reserve blocks on the refiller thread, never on the caller's")
+    void testBlocksReservedOffTheCallerThread() {
+        when(reservationRepository.findExistingReservationCodes(anyCollection())).thenReturn(List.of());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return null;
+        });
+
+        for (int i = 0; i < 250; i++) {
+            allocator.nextCode();
+        }
+
+        assertEquals(Set.of("reservation-code-refill"), threads);
+    }
+
+    @Test
+    @DisplayName("Should hand out distinct codes to concurrent callers without losing blocks")
+    void testConcurrentCodesAreUnique() throws Exception {
+        when(reservationRepository.findExistingReservationCodes(anyCollection())).thenReturn(List.of());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(executor.submit(() -> {
+                List<String> codes = new ArrayList<>();
+                for (int i = 0; i < 1000; i++) {
+                    codes.add(allocator.nextCode());
+                }
+                return codes;
+            }));
+        }
+        Set<String> codes = new HashSet<>();
+        for (Future<List<String>> result : results) {
+            codes.addAll(result.get());
+        }
+        executor.shutdown();
+
+        assertEquals(8000, codes.size());
+        // Blocks are never lost: the 80 blocks used plus the spare ones
+        verify(counterRepository, atMost(82)).incrementNextBlock(any());
+    }
+
+    @Test
+    @DisplayName("Should refuse to start without a code key")
+    void testCodeKeyIsRequired() {
+        assertThrows(IllegalStateException.class, () -> new ReservationCodeAllocator(counterRepository,
+                reservationRepository, transactionManager, " "));
+    }
+
+    /**
+     * Each refill reads back the block it incremented to, as its own transaction would
+     */
+    private static void stubCounter(ReservationCodeCounterRepository counter) {
+        AtomicLong nextBlock = new AtomicLong();
+        ThreadLocal<Long> reserved = new ThreadLocal<>();
+        lenient().when(counter.incrementNextBlock(any())).thenAnswer(invocation -> {
+            reserved.set(nextBlock.incrementAndGet());
+            return 1;
+        });
+        lenient().when(counter.findNextBlockByName(any())).thenAnswer(invocation -> Optional.of(reserved.get()));
+    }
+}
@@ -1,115 +1,77 @@
 package com.xenplan.app.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.entity.EventCancellationJob;
 import com.xenplan.app.domain.entity.Reservation;
+import com.xenplan.app.domain.entity.SeatHold;
 import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.entity.WaitlistEntry;
 import com.xenplan.app.domain.enums.EventCategory;
 import com.xenplan.app.domain.enums.EventStatus;
 import com.xenplan.app.domain.enums.ReservationStatus;
 import com.xenplan.app.domain.enums.Role;
-import com.xenplan.app.repository.EventRepository;
-import com.xenplan.app.repository.ReservationRepository;
-import com.xenplan.app.repository.UserRepository;
-import org.junit.jupiter.api.BeforeEach;
+import com.xenplan.app.domain.event.EventChangedEvent;
+import com.xenplan.app.domain.exception.ConflictException;
+import com.xenplan.app.domain.exception.ForbiddenException;
+import com.xenplan.app.repository.EventCancellationJobRepository;
+import com.xenplan.app.repository.SchedulerLeaseRepository;
+import com.xenplan.app.repository.SeatHoldRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import com.xenplan.app.service.impl.AdmissionServiceImpl;
+import com.xenplan.app.service.impl.ClusterLease;
+import com.xenplan.app.service.impl.EventCancellationCascade;
 import com.xenplan.app.service.impl.EventServiceImpl;
+import com.xenplan.app.service.impl.PublishedEventCatalog;
+import com.xenplan.app.service.impl.ReservationCodeAllocator;
 import com.xenplan.app.service.impl.ReservationServiceImpl;
+import com.xenplan.app.service.impl.SeatHoldExpiryQueue;
+import com.xenplan.app.service.impl.StatisticsRecorder;
+import com.xenplan.app.service.impl.WaitlistPromoter;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-/**
- * Integration test using real database (H2 in-memory)
- * Tests the full flow with actual JPA operations
- */
-@DataJpaTest
 @TestPropertySource(properties = {
-        "spring.jpa.hibernate.ddl-auto=create-drop",
-        "spring.liquibase.enabled=false"
+        "xenplan.events.cancellation.chunk-size=2",
+        "xenplan.reservations.code-key=test-reservation-code-key"
 })
-@Import({ReservationServiceImpl.class, EventServiceImpl.class})
+@Import({ReservationServiceImpl.class, AdmissionServiceImpl.class, ReservationCodeAllocator.class, SeatHoldExpiryQueue.class, WaitlistPromoter.class, EventServiceImpl.class, PublishedEventCatalog.class, EventCancellationCascade.class, ClusterLease.class, StatisticsRecorder.class})
 @DisplayName("ReservationService Integration Tests")
-class ReservationServiceIntegrationTest {
+class ReservationServiceIntegrationTest extends ServiceIntegrationTest {
 
     @Autowired
     private ReservationService reservationService;
 
     @Autowired
-    private EventService eventService;
+    private SeatHoldRepository seatHoldRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private EventCancellationCascade eventCancellationCascade;
 
     @Autowired
-    private EventRepository eventRepository;
+    private EventCancellationJobRepository eventCancellationJobRepository;
 
     @Autowired
-    private ReservationRepository reservationRepository;
-
-    private User organizer;
-    private User client;
-    private Event publishedEvent;
-
-    @BeforeEach
-    void setUp() {
-        // Clean database
-        reservationRepository.deleteAll();
-        eventRepository.deleteAll();
-        userRepository.deleteAll();
-
-        // Create organizer
-        organizer = User.builder()
-                .firstName("Organizer")
-                .lastName("User")
-                .email("organizer@test.com")
-                .password("$2a$12$test")
-                .role(Role.ORGANIZER)
-                .active(true)
-                .registrationDate(LocalDateTime.now())
-                .build();
-        organizer = userRepository.save(organizer);
-
-        // Create client
-        client = User.builder()
-                .firstName("Client")
-                .lastName("User")
-                .email("client@test.com")
-                .password("$2a$12$test")
-                .role(Role.CLIENT)
-                .active(true)
-                .registrationDate(LocalDateTime.now())
-                .build();
-        client = userRepository.save(client);
+    private SchedulerLeaseRepository schedulerLeaseRepository;
 
-        // Create and publish event
-        Event event = Event.builder()
-                .title("Integration Test Concert")
-                .description("Test description")
-                .category(EventCategory.CONCERT)
-                .startDate(LocalDateTime.now().plusDays(7))
-                .endDate(LocalDateTime.now().plusDays(7).plusHours(3))
-                .venue("Test Venue")
-                .city("Test City")
-                .maxCapacity(100)
-                .unitPrice(new BigDecimal("50.00"))
-                .status(EventStatus.DRAFT)
-                .organizer(organizer)
-                .createdAt(LocalDateTime.now())
-                .build();
-        publishedEvent = eventRepository.save(event);
-        
-        // Publish the event
-        eventService.publishEvent(publishedEvent.getId(), organizer);
-        publishedEvent = eventRepository.findById(publishedEvent.getId()).orElseThrow();
-    }
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     @Test
     @DisplayName("Integration: Create and retrieve reservation")
@@ -121,6 +83,7 @@ class ReservationServiceIntegrationTest {
 
         // Then
         assertNotNull(reservation.getId());
+        assertEquals(7, reservation.getId().version()); // time-ordered key
         assertEquals(3, reservation.getNumberOfSeats());
         assertEquals(new BigDecimal("150.00"), reservation.getTotalAmount());
         assertEquals(ReservationStatus.PENDING, reservation.getStatus());
@@ -136,18 +99,26 @@ class ReservationServiceIntegrationTest {
     @Test
     @DisplayName("Integration: Multiple reservations affect capacity")
     void testMultipleReservationsAffectCapacity() {
-        // When - create multiple reservations
-        reservationService.createReservation(publishedEvent.getId(), 10, null, client);
-        reservationService.createReservation(publishedEvent.getId(), 20, null, client);
-        reservationService.createReservation(publishedEvent.getId(), 30, null, client);
+        // When - create multiple reservations (at most 10 seats each)
+        for (int i = 0; i < 6; i++) {
+            reservationService.createReservation(publishedEvent.getId(), 10, null, client);
+        }
 
         // Then - check available seats
         Integer available = eventService.calculateAvailableSeats(publishedEvent.getId());
         assertEquals(40, available); // 100 - 60 = 40
+        assertEquals(40, eventService.calculateAvailableSeats(List.of(publishedEvent.getId())).get(publishedEvent.getId()));
+
+        // Fill the remaining capacity
+        for (int i = 0; i < 4; i++) {
+            reservationService.createReservation(publishedEvent.getId(), 10, null, client);
+        }
+        assertEquals(0, eventService.calculateAvailableSeats(publishedEvent.getId()));
+        assertEquals(100, reservationService.calculateTotalReservedSeats(publishedEvent.getId()));
 
         // Try to reserve more than available
-        assertThrows(Exception.class, () -> {
-            reservationService.createReservation(publishedEvent.getId(), 50, null, client);
+        assertThrows(ConflictException.class, () -> {
+            reservationService.createReservation(publishedEvent.getId(), 1, null, client);
         });
     }
 
@@ -201,5 +172,242 @@ class ReservationServiceIntegrationTest {
         assertTrue(found.isPresent());
         assertEquals(reservation.getId(), found.get().getId());
     }
-}
 
+    @Test
+    @DisplayName("Integration: Held seats count against capacity until confirmed")
+    void testHoldAndConfirmSeats() {
+        // When
+        SeatHold hold = reservationService.holdSeats(publishedEvent.getId(), 4, client);
+
+        // Then - seats are taken while held
+        assertEquals(96, eventService.calculateAvailableSeats(publishedEvent.getId()));
+
+        // When - confirming does not take them a second time
+        Reservation reservation = reservationService.confirmSeatHold(hold.getId(), "Held", client);
+
+        // Then
+        assertEquals(4, reservation.getNumberOfSeats());
+        assertEquals(96, eventService.calculateAvailableSeats(publishedEvent.getId()));
+        assertFalse(seatHoldRepository.existsById(hold.getId()));
+
+        // When - confirm is retried
+        Reservation replay = reservationService.confirmSeatHold(hold.getId(), null, client);
+
+        // Then - same reservation, nothing booked again
+        assertEquals(reservation.getId(), replay.getId());
+        assertEquals(96, eventService.calculateAvailableSeats(publishedEvent.getId()));
+    }
+
+    @Test
+    @DisplayName("Integration: Replayed request with same idempotency key books only once")
+    void testIdempotentCreateReservation() {
+        // When
+        Reservation first = reservationService.createReservation(publishedEvent.getId(), 2, null, client, "req-1");
+        Reservation replay = reservationService.createReservation(publishedEvent.getId(), 2, null, client, "req-1");
+
+        // Then
+        assertEquals(first.getId(), replay.getId());
+        assertEquals("req-1", reservationRepository.findById(first.getId()).orElseThrow().getIdempotencyKey());
+        assertEquals(98, eventService.calculateAvailableSeats(publishedEvent.getId()));
+    }
+
+    @Test
+    @DisplayName("Integration: Cancellation promotes waitlist in order")
+    void testCancellationPromotesWaitlist() {
+        // Given - small event sold out, two users waiting
+        Event smallEvent = eventRepository.save(Event.builder()
+                .title("Small Venue Gig")
+                .category(EventCategory.CONCERT)
+                .startDate(LocalDateTime.now().plusDays(7))
+                .endDate(LocalDateTime.now().plusDays(7).plusHours(2))
+                .venue("Small Venue")
+                .city("Test City")
+                .maxCapacity(10)
+                .unitPrice(new BigDecimal("20.00"))
+                .status(EventStatus.PUBLISHED)
+                .organizer(organizer)
+                .build());
+        Reservation reservation = reservationService.createReservation(smallEvent.getId(), 10, null, client);
+        User second = userRepository.save(User.builder()
+                .firstName("Second")
+                .lastName("User")
+                .email("second@test.com")
+                .password("$2a$12$test")
+                .role(Role.CLIENT)
+                .active(true)
+                .registrationDate(LocalDateTime.now())
+                .build());
+        WaitlistEntry first = reservationService.joinWaitlist(smallEvent.getId(), 6, organizer);
+        reservationService.joinWaitlist(smallEvent.getId(), 2, second);
+        assertEquals(2L, reservationService.getWaitlistPosition(smallEvent.getId(), second).orElseThrow());
+
+        // When - 10 seats free up
+        reservationService.cancelReservation(reservation.getId(), client);
+
+        // Then - both promoted in the same transaction, 2 seats left
+        assertFalse(waitlistEntryRepository.existsById(first.getId()));
+        assertTrue(reservationService.getWaitlistPosition(smallEvent.getId(), second).isEmpty());
+        assertEquals(ReservationStatus.PENDING, reservationRepository
+                .findByIdempotencyKey("waitlist:" + first.getId()).orElseThrow().getStatus());
+        assertEquals(2, eventService.calculateAvailableSeats(smallEvent.getId()));
+    }
+
+    @Test
+    @DisplayName("Integration: Bulk confirm and reject of pending reservations")
+    void testBulkConfirmAndReject() {
+        // Given
+        Reservation first = reservationService.createReservation(publishedEvent.getId(), 2, null, client);
+        Reservation second = reservationService.createReservation(publishedEvent.getId(), 3, null, client);
+        Reservation third = reservationService.createReservation(publishedEvent.getId(), 4, null, client);
+        assertEquals(91, eventService.calculateAvailableSeats(publishedEvent.getId()));
+
+        // Then - clients cannot act on the event's reservations
+        assertThrows(ForbiddenException.class, () -> reservationService.confirmPendingReservations(
+                PendingReservationFilter.allOf(publishedEvent.getId()), client));
+
+        // When - reject two by ID, then confirm everything still pending
+        int rejected = reservationService.rejectPendingReservations(PendingReservationFilter.builder()
+                .eventId(publishedEvent.getId())
+                .reservationIds(List.of(first.getId(), second.getId()))
+                .build(), organizer);
+        int confirmed = reservationService.confirmPendingReservations(
+                PendingReservationFilter.allOf(publishedEvent.getId()), organizer);
+
+        // Then
+        assertEquals(2, rejected);
+        assertEquals(1, confirmed);
+        assertEquals(96, eventService.calculateAvailableSeats(publishedEvent.getId()));
+        assertEquals(ReservationStatus.CANCELLED, reservationRepository.findById(first.getId()).orElseThrow().getStatus());
+        assertEquals(ReservationStatus.CONFIRMED, reservationRepository.findById(third.getId()).orElseThrow().getStatus());
+        assertEquals(0, reservationService.getEventReservations(publishedEvent.getId(), ReservationStatus.PENDING,
+                PageRequest.of(0, 10), organizer).getNumberOfElements());
+    }
+
+    @Test
+    @DisplayName("Integration: Cancelling an event cancels its reservations in chunks")
+    void testEventCancellationCascade() {
+        // Given - 5 reservations, one already cancelled by its client, one confirmed
+        List<Reservation> reservations = new ArrayList<>();
+        for (int seats = 1; seats <= 5; seats++) {
+            reservations.add(reservationService.createReservation(publishedEvent.getId(), seats, null, client));
+        }
+        reservationService.cancelReservation(reservations.get(0).getId(), client);
+        reservationService.confirmReservation(reservations.get(1).getId(), organizer);
+        eventService.cancelEvent(publishedEvent.getId(), organizer);
+
+        // When - the job is recorded as on commit and run to the end, 2 reservations per chunk
+        eventCancellationCascade.recordCancellation(new EventChangedEvent(publishedEvent.getId(), EventStatus.CANCELLED));
+        eventCancellationCascade.resume(publishedEvent.getId());
+
+        // Then
+        EventCancellationJob job = eventCancellationJobRepository.findById(publishedEvent.getId()).orElseThrow();
+        assertNotNull(job.getCompletedAt());
+        assertEquals(4L, job.getCancelledReservations());
+        assertEquals(reservations.get(4).getId(), job.getLastReservationId());
+        for (Reservation reservation : reservations) {
+            assertEquals(ReservationStatus.CANCELLED,
+                    reservationRepository.findById(reservation.getId()).orElseThrow().getStatus());
+        }
+        assertEquals(0, eventRepository.findReservedSeatsById(publishedEvent.getId()).orElseThrow());
+
+        // Resuming a finished job does nothing
+        eventCancellationCascade.resume(publishedEvent.getId());
+        assertEquals(4L, eventCancellationJobRepository.findById(publishedEvent.getId()).orElseThrow()
+                .getCancelledReservations());
+    }
+
+    @Test
+    @DisplayName("Integration: Only one node holds a scheduler lease")
+    void testClusterLease() {
+        // Given - two application nodes
+        ClusterLease node = new ClusterLease(schedulerLeaseRepository, transactionManager);
+        ClusterLease otherNode = new ClusterLease(schedulerLeaseRepository, transactionManager);
+        String leaseName = "test-lease-" + UUID.randomUUID();
+
+        // When & Then - the holder renews, the other node waits for it to lapse
+        assertTrue(node.tryAcquire(leaseName, Duration.ofMinutes(1)));
+        assertFalse(otherNode.tryAcquire(leaseName, Duration.ofMinutes(1)));
+        // The holder stops renewing and its lease lapses
+        assertTrue(node.tryAcquire(leaseName, Duration.ofMillis(-1)));
+        assertTrue(otherNode.tryAcquire(leaseName, Duration.ofMinutes(1)));
+        assertFalse(node.tryAcquire(leaseName, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    @DisplayName("Integration: Booking summary is aggregated per status")
+    void testBookingSummary() {
+        // Given
+        Reservation confirmed = reservationService.createReservation(publishedEvent.getId(), 2, null, client);
+        reservationService.confirmReservation(confirmed.getId(), organizer);
+        Reservation secondConfirmed = reservationService.createReservation(publishedEvent.getId(), 1, null, client);
+        reservationService.confirmReservation(secondConfirmed.getId(), organizer);
+        reservationService.createReservation(publishedEvent.getId(), 3, null, client);
+        Reservation cancelled = reservationService.createReservation(publishedEvent.getId(), 4, null, client);
+        reservationService.cancelReservation(cancelled.getId(), client);
+
+        // When
+        ClientBookingSummary summary = reservationService.getBookingSummary(client);
+
+        // Then - only confirmed reservations count as spent
+        assertEquals(4, summary.totalBookings());
+        assertEquals(3, summary.activeBookings());
+        assertEquals(2, summary.reservations(ReservationStatus.CONFIRMED));
+        assertEquals(1, summary.reservations(ReservationStatus.CANCELLED));
+        assertEquals(0, new BigDecimal("150.00").compareTo(summary.totalSpent()));
+        assertEquals(0, reservationService.getBookingSummary(organizer).totalBookings());
+        assertEquals(0, BigDecimal.ZERO.compareTo(reservationService.getBookingSummary(organizer).totalSpent()));
+    }
+
+    @Test
+    @DisplayName("Integration: Reservations are exported as CSV and NDJSON")
+    void testExportEventReservations() throws Exception {
+        // Given - one confirmed reservation and one pending with a comment that needs quoting
+        Reservation confirmed = reservationService.createReservation(publishedEvent.getId(), 2, null, client);
+        reservationService.confirmReservation(confirmed.getId(), organizer);
+        Reservation pending = reservationService.createReservation(publishedEvent.getId(), 3,
+                "Aisle seats, \"front\" if possible", client);
+
+        // When
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        long csvRows = reservationService.exportEventReservations(publishedEvent.getId(), null,
+                ReservationExportFormat.CSV, organizer, csv);
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        long ndjsonRows = reservationService.exportEventReservations(publishedEvent.getId(), ReservationStatus.PENDING,
+                ReservationExportFormat.NDJSON, organizer, ndjson);
+
+        // Then - a header and one line per reservation, in booking order
+        assertEquals(2, csvRows);
+        String[] csvLines = csv.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, csvLines.length);
+        assertTrue(csvLines[0].startsWith("reservationCode,status,numberOfSeats"));
+        assertTrue(csvLines[1].startsWith(confirmed.getReservationCode() + ",CONFIRMED,2,100.00,"));
+        assertTrue(csvLines[2].endsWith(",Client,User,client@test.com,\"Aisle seats, \"\"front\"\" if possible\""));
+
+        assertEquals(1, ndjsonRows);
+        String[] jsonLines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, jsonLines.length);
+        JsonNode row = new ObjectMapper().readTree(jsonLines[0]);
+        assertEquals(pending.getReservationCode(), row.get("reservationCode").asText());
+        assertEquals(3, row.get("numberOfSeats").asInt());
+        assertEquals("Aisle seats, \"front\" if possible", row.get("comment").asText());
+
+        assertThrows(ForbiddenException.class, () -> reservationService.exportEventReservations(
+                publishedEvent.getId(), null, ReservationExportFormat.CSV, client, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    @DisplayName("Integration: Released hold gives seats back")
+    void testReleaseSeatHold() {
+        // Given
+        SeatHold hold = reservationService.holdSeats(publishedEvent.getId(), 3, client);
+        assertEquals(97, eventService.calculateAvailableSeats(publishedEvent.getId()));
+
+        // When - released twice (dialog closed, then expiry)
+        reservationService.releaseSeatHold(hold.getId(), client);
+        reservationService.releaseSeatHold(hold.getId(), client);
+
+        // Then - seats are given back exactly once
+        assertEquals(100, eventService.calculateAvailableSeats(publishedEvent.getId()));
+        assertEquals(0, seatHoldRepository.count());
+    }
+}
@@ -2,6 +2,7 @@ package com.xenplan.app.service;
 
 import com.xenplan.app.domain.entity.Event;
 import com.xenplan.app.domain.entity.Reservation;
+import com.xenplan.app.domain.entity.SeatHold;
 import com.xenplan.app.domain.entity.User;
 import com.xenplan.app.domain.enums.EventCategory;
 import com.xenplan.app.domain.enums.EventStatus;
@@ -12,7 +13,13 @@ import com.xenplan.app.domain.exception.ForbiddenException;
 import com.xenplan.app.domain.exception.NotFoundException;
 import com.xenplan.app.repository.EventRepository;
 import com.xenplan.app.repository.ReservationRepository;
+import com.xenplan.app.repository.SeatHoldRepository;
+import com.xenplan.app.repository.WaitlistEntryRepository;
+import com.xenplan.app.service.impl.ReservationCodeAllocator;
 import com.xenplan.app.service.impl.ReservationServiceImpl;
+import com.xenplan.app.service.impl.SeatHoldExpiryQueue;
+import com.xenplan.app.service.impl.StatisticsRecorder;
+import com.xenplan.app.service.impl.WaitlistPromoter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,6 +27,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -40,6 +49,30 @@ class ReservationServiceTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private ReservationCodeAllocator reservationCodeAllocator;
+
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
+    @Mock
+    private SeatHoldExpiryQueue seatHoldExpiryQueue;
+
+    @Mock
+    private AdmissionService admissionService;
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private WaitlistPromoter waitlistPromoter;
+
+    @Mock
+    private StatisticsRecorder statisticsRecorder;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ReservationServiceImpl reservationService;
 
@@ -117,8 +150,8 @@ class ReservationServiceTest {
     void testCreateReservationForPublishedEvent() {
         // Given
         when(eventRepository.findById(publishedEvent.getId())).thenReturn(Optional.of(publishedEvent));
-        when(reservationRepository.sumNumberOfSeatsByEventIdAndStatusNot(any(), any())).thenReturn(0);
-        when(reservationRepository.findByReservationCode(any())).thenReturn(Optional.empty());
+        when(eventRepository.reserveSeats(publishedEvent.getId(), 2)).thenReturn(1);
+        when(reservationCodeAllocator.nextCode()).thenReturn("EVT-K7Q2Z");
         when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
@@ -188,7 +221,8 @@ class ReservationServiceTest {
     void testCreateReservationExceedsCapacity() {
         // Given
         when(eventRepository.findById(publishedEvent.getId())).thenReturn(Optional.of(publishedEvent));
-        when(reservationRepository.sumNumberOfSeatsByEventIdAndStatusNot(any(), any())).thenReturn(99);
+        when(eventRepository.reserveSeats(publishedEvent.getId(), 5)).thenReturn(0);
+        when(eventRepository.findAvailableSeatsById(publishedEvent.getId())).thenReturn(Optional.of(1));
 
         // When/Then
         ConflictException exception = assertThrows(ConflictException.class, () -> {
@@ -236,6 +270,8 @@ class ReservationServiceTest {
         // Then
         assertEquals(ReservationStatus.CANCELLED, reservation.getStatus());
         verify(reservationRepository).save(reservation);
+        verify(eventRepository).releaseSeats(publishedEvent.getId(), 2);
+        verify(waitlistPromoter).promote(publishedEvent.getId());
     }
 
     @Test
@@ -314,8 +350,7 @@ class ReservationServiceTest {
     void testCalculateTotalReservedSeats() {
         // Given
         UUID eventId = publishedEvent.getId();
-        when(reservationRepository.sumNumberOfSeatsByEventIdAndStatusNot(eventId, ReservationStatus.CANCELLED))
-                .thenReturn(25);
+        when(eventRepository.findReservedSeatsById(eventId)).thenReturn(Optional.of(25));
 
         // When
         Integer total = reservationService.calculateTotalReservedSeats(eventId);
@@ -338,5 +373,106 @@ class ReservationServiceTest {
 
         assertEquals("Event not found", exception.getMessage());
     }
-}
 
+    @Test
+    @DisplayName("Should not join waitlist while enough seats are available")
+    void testJoinWaitlistWithSeatsAvailable() {
+        // Given
+        when(eventRepository.findById(publishedEvent.getId())).thenReturn(Optional.of(publishedEvent));
+        when(eventRepository.findAvailableSeatsById(publishedEvent.getId())).thenReturn(Optional.of(3));
+
+        // When & Then
+        ConflictException exception = assertThrows(ConflictException.class, () -> {
+            reservationService.joinWaitlist(publishedEvent.getId(), 2, testUser);
+        });
+
+        assertEquals("3 seats are available, book them directly", exception.getMessage());
+        verify(waitlistEntryRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a concurrent second join of the same waitlist")
+    void testJoinWaitlistConcurrentDuplicate() {
+        // Given - the lookup missed an entry inserted at the same time
+        when(eventRepository.findById(publishedEvent.getId())).thenReturn(Optional.of(publishedEvent));
+        when(eventRepository.findAvailableSeatsById(publishedEvent.getId())).thenReturn(Optional.of(0));
+        when(waitlistEntryRepository.findByEventIdAndUserId(publishedEvent.getId(), testUser.getId()))
+                .thenReturn(Optional.empty());
+        when(waitlistEntryRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("uk_waitlist_entries_event_user"));
+
+        // When & Then
+        ConflictException exception = assertThrows(ConflictException.class, () -> {
+            reservationService.joinWaitlist(publishedEvent.getId(), 2, testUser);
+        });
+
+        assertEquals("You are already on the waitlist for this event", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should return original reservation when idempotency key is replayed")
+    void testCreateReservationReplay() {
+        // Given
+        Reservation original = Reservation.builder()
+                .id(UUID.randomUUID())
+                .user(testUser)
+                .event(publishedEvent)
+                .numberOfSeats(2)
+                .idempotencyKey("req-1")
+                .build();
+        when(reservationRepository.findByIdempotencyKey("req-1")).thenReturn(Optional.of(original));
+
+        // When
+        Reservation reservation = reservationService.createReservation(
+                publishedEvent.getId(), 2, null, testUser, "req-1"
+        );
+
+        // Then - no capacity check and no insert
+        assertSame(original, reservation);
+        verify(eventRepository, never()).reserveSeats(any(), anyInt());
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject idempotency key used by another user")
+    void testCreateReservationReplayOtherUser() {
+        // Given
+        User otherUser = User.builder().id(UUID.randomUUID()).build();
+        Reservation original = Reservation.builder()
+                .id(UUID.randomUUID())
+                .user(otherUser)
+                .event(publishedEvent)
+                .numberOfSeats(2)
+                .build();
+        when(reservationRepository.findByIdempotencyKey("req-1")).thenReturn(Optional.of(original));
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> reservationService.createReservation(
+                publishedEvent.getId(), 2, null, testUser, "req-1"
+        ));
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject confirming an expired seat hold")
+    void testConfirmExpiredSeatHold() {
+        // Given
+        SeatHold hold = SeatHold.builder()
+                .id(UUID.randomUUID())
+                .user(testUser)
+                .event(publishedEvent)
+                .numberOfSeats(2)
+                .expiresAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+        when(seatHoldRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+
+        // When & Then
+        ConflictException exception = assertThrows(ConflictException.class, () -> {
+            reservationService.confirmSeatHold(hold.getId(), null, testUser);
+        });
+
+        assertEquals("Your seat hold has expired, please try again", exception.getMessage());
+        verify(seatHoldRepository, never()).deleteHold(any());
+        verify(reservationRepository, never()).save(any());
+    }
+}
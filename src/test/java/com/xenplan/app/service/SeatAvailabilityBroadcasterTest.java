@@ -0,0 +1,91 @@
+package com.xenplan.app.service;
+
+import com.vaadin.flow.shared.Registration;
+import com.xenplan.app.domain.event.SeatAvailabilityChangedEvent;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.service.impl.CoalescingSeatAvailabilityBroadcaster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatAvailabilityBroadcaster Tests")
+class SeatAvailabilityBroadcasterTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private CoalescingSeatAvailabilityBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new CoalescingSeatAvailabilityBroadcaster(eventRepository, Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.stop();
+    }
+
+    @Test
+    @DisplayName("Should coalesce a burst of seat changes into one read and one push per subscriber")
+    void testBurstIsCoalesced() throws Exception {
+        // Given - two pages showing the event
+        UUID eventId = UUID.randomUUID();
+        when(eventRepository.findAvailableSeatsById(eventId)).thenReturn(Optional.of(42));
+        CountDownLatch pushed = new CountDownLatch(2);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        broadcaster.subscribe(eventId, seats -> {
+            received.add(seats);
+            pushed.countDown();
+        });
+        broadcaster.subscribe(eventId, seats -> {
+            received.add(seats);
+            pushed.countDown();
+        });
+
+        // When - a burst of bookings within one interval
+        for (int i = 0; i < 50; i++) {
+            broadcaster.onSeatsChanged(new SeatAvailabilityChangedEvent(eventId, 1));
+        }
+
+        // Then
+        assertTrue(pushed.await(5, TimeUnit.SECONDS));
+        Thread.sleep(300);
+        assertEquals(List.of(42, 42), received);
+        verify(eventRepository, times(1)).findAvailableSeatsById(eventId);
+    }
+
+    @Test
+    @DisplayName("Should not read availability of events nobody is watching")
+    void testUnwatchedEventsAreIgnored() throws Exception {
+        // Given - the only page left before the change
+        UUID eventId = UUID.randomUUID();
+        Registration registration = broadcaster.subscribe(eventId, seats -> fail("Unsubscribed listener was called"));
+        registration.remove();
+
+        // When
+        broadcaster.onSeatsChanged(new SeatAvailabilityChangedEvent(eventId, -2));
+        broadcaster.onSeatsChanged(new SeatAvailabilityChangedEvent(UUID.randomUUID(), 3));
+
+        // Then
+        Thread.sleep(300);
+        verify(eventRepository, never()).findAvailableSeatsById(any());
+    }
+}
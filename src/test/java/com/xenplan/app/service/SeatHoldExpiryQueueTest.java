@@ -0,0 +1,125 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.entity.SeatHold;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.SeatHoldRepository;
+import com.xenplan.app.service.impl.SeatHoldExpiryQueue;
+import com.xenplan.app.service.impl.WaitlistPromoter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatHoldExpiryQueue Tests")
+class SeatHoldExpiryQueueTest {
+
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private WaitlistPromoter waitlistPromoter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should release only holds that are due and still present")
+    void testExpireDue() {
+        // Given
+        SeatHoldExpiryQueue queue = new SeatHoldExpiryQueue(seatHoldRepository, eventRepository, waitlistPromoter,
+                eventPublisher, transactionManager);
+        Event event = Event.builder().id(UUID.randomUUID()).build();
+        SeatHold expired = hold(event, 4, LocalDateTime.now().minusSeconds(5));
+        SeatHold confirmed = hold(event, 2, LocalDateTime.now().minusSeconds(1));
+        SeatHold active = hold(event, 3, LocalDateTime.now().plusMinutes(10));
+        queue.schedule(active);
+        queue.schedule(confirmed);
+        queue.schedule(expired);
+
+        when(seatHoldRepository.deleteHold(expired.getId())).thenReturn(1);
+        when(seatHoldRepository.deleteHold(confirmed.getId())).thenReturn(0);
+
+        // When
+        int released = queue.expireDue();
+
+        // Then
+        assertEquals(1, released);
+        verify(eventRepository).releaseSeats(event.getId(), 4);
+        verify(eventRepository, times(1)).releaseSeats(any(), anyInt());
+        verify(seatHoldRepository, never()).deleteHold(active.getId());
+        verify(waitlistPromoter).promote(event.getId());
+    }
+
+    @Test
+    @DisplayName("Should queue a failed expiry again instead of dropping it")
+    void testFailedExpiryIsRetried() throws Exception {
+        // Given - the first release fails
+        SeatHoldExpiryQueue queue = new SeatHoldExpiryQueue(seatHoldRepository, eventRepository, waitlistPromoter,
+                eventPublisher, transactionManager);
+        Event event = Event.builder().id(UUID.randomUUID()).build();
+        SeatHold expired = hold(event, 4, LocalDateTime.now().minusSeconds(5));
+        queue.schedule(expired);
+        when(seatHoldRepository.deleteHold(expired.getId()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+
+        // When
+        assertEquals(0, queue.expireDue());
+
+        // Then - due again after the backoff, and released then
+        Thread.sleep(1100);
+        assertEquals(1, queue.expireDue());
+        verify(eventRepository).releaseSeats(event.getId(), 4);
+    }
+
+    @Test
+    @DisplayName("Should release expired holds found in the database, whichever node placed them")
+    void testSweepExpired() {
+        // Given - a hold this node never queued, and one already released elsewhere
+        SeatHoldExpiryQueue queue = new SeatHoldExpiryQueue(seatHoldRepository, eventRepository, waitlistPromoter,
+                eventPublisher, transactionManager);
+        Event event = Event.builder().id(UUID.randomUUID()).build();
+        SeatHold orphaned = hold(event, 2, LocalDateTime.now().minusMinutes(3));
+        SeatHold gone = hold(event, 5, LocalDateTime.now().minusMinutes(2));
+        when(seatHoldRepository.findExpiredWithEvent(any(), any())).thenReturn(List.of(orphaned, gone));
+        when(seatHoldRepository.deleteHold(orphaned.getId())).thenReturn(1);
+        when(seatHoldRepository.deleteHold(gone.getId())).thenReturn(0);
+
+        // When
+        int released = queue.sweepExpired();
+
+        // Then
+        assertEquals(1, released);
+        verify(eventRepository).releaseSeats(event.getId(), 2);
+        verify(eventRepository, never()).releaseSeats(event.getId(), 5);
+    }
+
+    private static SeatHold hold(Event event, int seats, LocalDateTime expiresAt) {
+        return SeatHold.builder()
+                .id(UUID.randomUUID())
+                .event(event)
+                .numberOfSeats(seats)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
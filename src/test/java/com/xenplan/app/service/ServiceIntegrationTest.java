@@ -0,0 +1,103 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.entity.Event;
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.enums.EventCategory;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.enums.Role;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.ReservationRepository;
+import com.xenplan.app.repository.UserRepository;
+import com.xenplan.app.repository.WaitlistEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Integration test using real database (H2 in-memory)
+ * Every test starts with an organizer, a client and a published event; subclasses import the services they test
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.liquibase.enabled=false"
+})
+abstract class ServiceIntegrationTest {
+
+    @Autowired
+    protected EventService eventService;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    protected EventRepository eventRepository;
+
+    @Autowired
+    protected ReservationRepository reservationRepository;
+
+    protected User organizer;
+    protected User client;
+    protected Event publishedEvent;
+
+    @BeforeEach
+    void setUp() {
+        // Clean database
+        waitlistEntryRepository.deleteAll();
+        reservationRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+
+        // Create organizer
+        organizer = User.builder()
+                .firstName("Organizer")
+                .lastName("User")
+                .email("organizer@test.com")
+                .password("$2a$12$test")
+                .role(Role.ORGANIZER)
+                .active(true)
+                .registrationDate(LocalDateTime.now())
+                .build();
+        organizer = userRepository.save(organizer);
+
+        // Create client
+        client = User.builder()
+                .firstName("Client")
+                .lastName("User")
+                .email("client@test.com")
+                .password("$2a$12$test")
+                .role(Role.CLIENT)
+                .active(true)
+                .registrationDate(LocalDateTime.now())
+                .build();
+        client = userRepository.save(client);
+
+        // Create and publish event
+        Event event = Event.builder()
+                .title("Integration Test Concert")
+                .description("Test description")
+                .category(EventCategory.CONCERT)
+                .startDate(LocalDateTime.now().plusDays(7))
+                .endDate(LocalDateTime.now().plusDays(7).plusHours(3))
+                .venue("Test Venue")
+                .city("Test City")
+                .maxCapacity(100)
+                .unitPrice(new BigDecimal("50.00"))
+                .status(EventStatus.DRAFT)
+                .organizer(organizer)
+                .createdAt(LocalDateTime.now())
+                .build();
+        publishedEvent = eventRepository.save(event);
+
+        // Publish the event
+        eventService.publishEvent(publishedEvent.getId(), organizer);
+        publishedEvent = eventRepository.findById(publishedEvent.getId()).orElseThrow();
+    }
+}
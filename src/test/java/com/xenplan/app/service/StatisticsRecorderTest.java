@@ -0,0 +1,117 @@
+package com.xenplan.app.service;
+
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.enums.ReservationStatus;
+import com.xenplan.app.repository.EventStatsRepository;
+import com.xenplan.app.repository.OrganizerStatsRepository;
+import com.xenplan.app.repository.PlatformStatsRepository;
+import com.xenplan.app.repository.StatsDelta;
+import com.xenplan.app.service.impl.StatisticsRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatisticsRecorder Tests")
+class StatisticsRecorderTest {
+
+    @Mock
+    private PlatformStatsRepository platformStatsRepository;
+
+    @Mock
+    private OrganizerStatsRepository organizerStatsRepository;
+
+    @Mock
+    private EventStatsRepository eventStatsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StatisticsRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new StatisticsRecorder(platformStatsRepository, organizerStatsRepository, eventStatsRepository,
+                transactionManager);
+        when(platformStatsRepository.apply(anyInt(), any())).thenReturn(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write every change of one transaction to the same platform shard")
+    void testOneShardPerTransaction() {
+        when(organizerStatsRepository.apply(any(), any())).thenReturn(1);
+        Set<Integer> shardsUsed = new HashSet<>();
+        for (int transaction = 0; transaction < 20; transaction++) {
+            // Given - a transaction recording several changes, like a cancellation followed by promotions
+            TransactionSynchronizationManager.initSynchronization();
+            recorder.record(UUID.randomUUID(), new StatsDelta().events(EventStatus.FINISHED, 1));
+            recorder.record(UUID.randomUUID(), new StatsDelta()
+                    .reservations(ReservationStatus.CANCELLED, 1, 2, BigDecimal.ZERO));
+            recorder.record(UUID.randomUUID(), new StatsDelta()
+                    .reservations(ReservationStatus.PENDING, 1, 2, BigDecimal.ZERO));
+
+            // Then - one shard row for all three
+            ArgumentCaptor<Integer> shards = ArgumentCaptor.forClass(Integer.class);
+            verify(platformStatsRepository, times(3)).apply(shards.capture(), any());
+            assertEquals(1, new HashSet<>(shards.getAllValues()).size());
+            shardsUsed.addAll(shards.getAllValues());
+
+            // When - the transaction completes, the next one picks again
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+            TransactionSynchronizationManager.clearSynchronization();
+            clearInvocations(platformStatsRepository);
+        }
+
+        // Then - still spread over the shards across transactions
+        assertTrue(shardsUsed.size() > 1);
+    }
+
+    @Test
+    @DisplayName("Should add reservation changes to the event's sales row")
+    void testEventSales() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        UUID organizerId = UUID.randomUUID();
+        UUID eventId = UUID.randomUUID();
+        when(organizerStatsRepository.apply(any(), any())).thenReturn(1);
+        StatsDelta confirmation = new StatsDelta().reservations(ReservationStatus.PENDING, ReservationStatus.CONFIRMED,
+                1, 2, new BigDecimal("40.00"));
+
+        // When
+        recorder.recordNewEvent(organizerId, eventId, new StatsDelta().events(EventStatus.DRAFT, 1));
+        recorder.record(organizerId, eventId, confirmation);
+
+        // Then - the row is created with the event, and the confirmation adds its revenue to it
+        verify(eventStatsRepository).save(argThat(stats -> stats.getEventId().equals(eventId)
+                && stats.getOrganizerId().equals(organizerId)));
+        verify(eventStatsRepository).apply(eventId, confirmation);
+        verify(organizerStatsRepository).apply(organizerId, confirmation);
+    }
+}
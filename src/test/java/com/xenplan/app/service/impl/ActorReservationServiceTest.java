@@ -0,0 +1,190 @@
+package com.xenplan.app.service.impl;
+
+import com.xenplan.app.domain.entity.Reservation;
+import com.xenplan.app.domain.entity.SeatHold;
+import com.xenplan.app.domain.entity.User;
+import com.xenplan.app.domain.enums.EventStatus;
+import com.xenplan.app.domain.event.EventChangedEvent;
+import com.xenplan.app.domain.exception.ConflictException;
+import com.xenplan.app.repository.EventRepository;
+import com.xenplan.app.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActorReservationService Tests")
+class ActorReservationServiceTest {
+
+    @Mock
+    private ReservationServiceImpl delegate;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private ActorReservationService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        service = new ActorReservationService(delegate, eventRepository, reservationRepository, 10);
+        user = User.builder().id(UUID.randomUUID()).build();
+    }
+
+    @Test
+    @DisplayName("Should process requests for one event one at a time")
+    void testRequestsForOneEventAreSerialized() throws Exception {
+        // Given
+        UUID eventId = UUID.randomUUID();
+        when(eventRepository.findAvailableSeatsById(eventId)).thenReturn(Optional.of(1000));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(delegate.createReservation(eq(eventId), anyInt(), any(), any(), any())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            running.decrementAndGet();
+            return Reservation.builder().id(UUID.randomUUID()).build();
+        });
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Reservation>> results = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            results.add(executor.submit(() -> service.createReservation(eventId, 1, null, user)));
+        }
+        for (Future<Reservation> result : results) {
+            assertNotNull(result.get());
+        }
+        executor.shutdown();
+
+        // Then - never two at once, and the counter is read only when the actor starts
+        assertEquals(1, maxRunning.get());
+        verify(delegate, times(40)).createReservation(eq(eventId), anyInt(), any(), any(), any());
+        verify(eventRepository, times(1)).findAvailableSeatsById(eventId);
+    }
+
+    @Test
+    @DisplayName("Should run no more actors at once than allowed")
+    void testRunningActorsAreBounded() throws Exception {
+        // Given - one actor may run at a time
+        service = new ActorReservationService(delegate, eventRepository, reservationRepository, 1);
+        when(eventRepository.findAvailableSeatsById(any())).thenReturn(Optional.of(1000));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(delegate.createReservation(any(), anyInt(), any(), any(), any())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            running.decrementAndGet();
+            return Reservation.builder().id(UUID.randomUUID()).build();
+        });
+
+        // When - requests for 8 different events arrive together
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Reservation>> results = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            UUID eventId = new UUID(0, i % 8);
+            results.add(executor.submit(() -> service.createReservation(eventId, 1, null, user)));
+        }
+        for (Future<Reservation> result : results) {
+            assertNotNull(result.get());
+        }
+        executor.shutdown();
+
+        // Then - they were processed one event at a time
+        assertEquals(1, maxRunning.get());
+        verify(delegate, times(40)).createReservation(any(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should turn away requests that cannot fit without writing")
+    void testRequestThatCannotFitIsRejected() {
+        // Given - 3 seats left
+        UUID eventId = UUID.randomUUID();
+        when(eventRepository.findAvailableSeatsById(eventId)).thenReturn(Optional.of(3), Optional.of(1));
+        when(delegate.createReservation(eq(eventId), eq(2), any(), any(), any()))
+                .thenReturn(Reservation.builder().id(UUID.randomUUID()).build());
+        service.createReservation(eventId, 2, null, user);
+
+        // When & Then
+        ConflictException exception = assertThrows(ConflictException.class, () -> {
+            service.createReservation(eventId, 2, null, user);
+        });
+
+        assertEquals("Only 1 seats available, requested 2", exception.getMessage());
+        verify(delegate, times(1)).createReservation(eq(eventId), eq(2), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should replay a used idempotency key even when the event is sold out")
+    void testReplayBeforeCapacityCheck() {
+        // Given - the key already produced a reservation and no seats are left
+        UUID eventId = UUID.randomUUID();
+        Reservation original = Reservation.builder().id(UUID.randomUUID()).build();
+        when(delegate.findByIdempotencyKey("req-1", user)).thenReturn(Optional.of(original));
+
+        // When
+        Reservation replay = service.createReservation(eventId, 2, null, user, "req-1");
+
+        // Then - the original, without touching the actor or the counter
+        assertSame(original, replay);
+        verify(eventRepository, never()).findAvailableSeatsById(any());
+        verify(delegate, never()).createReservation(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should take checkout seat holds through the event's actor")
+    void testSeatHoldsGoThroughActor() {
+        // Given - 3 seats left
+        UUID eventId = UUID.randomUUID();
+        when(eventRepository.findAvailableSeatsById(eventId)).thenReturn(Optional.of(3), Optional.of(1));
+        when(delegate.holdSeats(eventId, 2, user)).thenReturn(SeatHold.builder().id(UUID.randomUUID()).build());
+        service.holdSeats(eventId, 2, user);
+
+        // When & Then - the second hold cannot fit and never reaches the database
+        ConflictException exception = assertThrows(ConflictException.class, () -> service.holdSeats(eventId, 2, user));
+        assertEquals("Only 1 seats available, requested 2", exception.getMessage());
+        verify(delegate, times(1)).holdSeats(eventId, 2, user);
+    }
+
+    @Test
+    @DisplayName("Should drop the actor of a cancelled event")
+    void testActorOfCancelledEventIsRemoved() throws Exception {
+        // Given
+        UUID eventId = UUID.randomUUID();
+        when(eventRepository.findAvailableSeatsById(eventId)).thenReturn(Optional.of(10));
+        when(delegate.createReservation(eq(eventId), eq(1), any(), any(), any()))
+                .thenReturn(Reservation.builder().id(UUID.randomUUID()).build());
+        service.createReservation(eventId, 1, null, user);
+        assertEquals(1, service.actorCount());
+
+        // When
+        service.onEventChanged(new EventChangedEvent(eventId, EventStatus.CANCELLED));
+
+        // Then - removed once its mailbox is drained
+        for (int i = 0; i < 100 && service.actorCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, service.actorCount());
+    }
+}
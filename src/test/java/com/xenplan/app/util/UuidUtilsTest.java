@@ -0,0 +1,54 @@
+package com.xenplan.app.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UuidUtils Tests")
+class UuidUtilsTest {
+
+    @Test
+    @DisplayName("Should lay out a version 7 UUID with the creation time first")
+    void testVersion7Layout() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidUtils.timeOrdered();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long timestamp = UuidUtils.timestampOf(uuid);
+        // The counter may borrow the next millisecond when it runs out
+        assertTrue(timestamp >= before && timestamp <= after + 1);
+        assertEquals(timestamp, uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    @DisplayName("Should keep IDs strictly increasing within the same millisecond")
+    void testMonotonicOrdering() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidUtils.timeOrdered());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            UUID previous = ids.get(i - 1);
+            UUID current = ids.get(i);
+            // Compared as unsigned, the way databases order UUID columns
+            assertTrue(Long.compareUnsigned(previous.getMostSignificantBits(), current.getMostSignificantBits()) < 0,
+                    previous + " should sort before " + current);
+        }
+        // Far more IDs than milliseconds elapsed, so many shared one
+        assertTrue(UuidUtils.timestampOf(ids.get(ids.size() - 1)) - UuidUtils.timestampOf(ids.get(0)) < ids.size());
+    }
+
+    @Test
+    @DisplayName("Should reject UUIDs of other versions")
+    void testTimestampOfRandomUuid() {
+        assertThrows(IllegalArgumentException.class, () -> UuidUtils.timestampOf(UUID.randomUUID()));
+    }
+}